@@ -1,6 +1,5 @@
 package com.capstone.cart;
 
-import com.capstone.domain.Product;
 import java.math.BigDecimal;
 
 public class CartItem {
@@ -11,16 +10,12 @@ public class CartItem {
 	private BigDecimal unitPrice;
 	private int quantity;
 
-	public CartItem(Product product, int quantity) {
-		this.id = product.getId();
-		this.title = product.getTitle();
-		this.imageUrl = product.getImageUrl();
-		this.unitPrice = product.getPrice();
-		try {
-			this.categoryName = (product.getCategory() != null) ? product.getCategory().getName() : null;
-		} catch (Exception ignored) {
-			this.categoryName = null;
-		}
+	public CartItem(CartProduct product, BigDecimal unitPrice, int quantity) {
+		this.id = product.id();
+		this.title = product.title();
+		this.imageUrl = product.imageUrl();
+		this.categoryName = product.categoryName();
+		this.unitPrice = unitPrice;
 		this.quantity = Math.max(1, quantity);
 	}
 
@@ -30,7 +25,6 @@ public class CartItem {
 	public String getCategoryName() { return categoryName; }
 	public BigDecimal getUnitPrice() { return unitPrice; }
 	public int getQuantity() { return quantity; }
-	public void setQuantity(int quantity) { this.quantity = Math.max(1, quantity); }
 
 	public BigDecimal getSubtotal() {
 		return unitPrice.multiply(BigDecimal.valueOf(quantity));
@@ -0,0 +1,297 @@
+package com.capstone.cart;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Cart Lines - compact, immutable content of one cart
+ *
+ * Three parallel primitive arrays hold the product ID, quantity and unit
+ * price snapshot (in cents, taken when the product was first added) of each
+ * line, in the order the products were added. Every change returns a new
+ * instance, so a {@link CartStore} can swap carts atomically and readers
+ * never see a half-applied update. The subtotal in cents and the number of
+ * units are carried along and adjusted by each change, so reading them
+ * never walks the lines.
+ *
+ * The binary form used for storage and externalization is a line count
+ * followed by {@value #BYTES_PER_LINE} bytes per line.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class CartLines implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final CartLines EMPTY = new CartLines(new long[0], new int[0], new long[0], 0, 0);
+
+    static final int BYTES_PER_LINE = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private long[] productIds;
+    private int[] quantities;
+    private long[] unitPriceCents;
+    private long subtotalCents;
+    private int totalQuantity;
+
+    /**
+     * Only for externalization; use {@link #EMPTY} instead
+     */
+    public CartLines() {
+        this(new long[0], new int[0], new long[0], 0, 0);
+    }
+
+    private CartLines(long[] productIds, int[] quantities, long[] unitPriceCents, long subtotalCents,
+                      int totalQuantity) {
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.unitPriceCents = unitPriceCents;
+        this.subtotalCents = subtotalCents;
+        this.totalQuantity = totalQuantity;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public boolean isEmpty() {
+        return productIds.length == 0;
+    }
+
+    public long productId(int index) {
+        return productIds[index];
+    }
+
+    public int quantity(int index) {
+        return quantities[index];
+    }
+
+    public long unitPriceCents(int index) {
+        return unitPriceCents[index];
+    }
+
+    /**
+     * @param productId product ID
+     * @return index of the product's line, or -1
+     */
+    public int indexOf(long productId) {
+        for (int i = 0; i < productIds.length; i++) {
+            if (productIds[i] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the product IDs in line order
+     */
+    public long[] productIds() {
+        return productIds.clone();
+    }
+
+    /**
+     * Add units of a product; a product already in the cart keeps its
+     * original price snapshot
+     *
+     * @param productId      product ID
+     * @param quantity       units to add, at least 1
+     * @param unitPriceCents unit price in cents for a new line
+     * @return the updated lines
+     */
+    public CartLines add(long productId, int quantity, long unitPriceCents) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        int index = indexOf(productId);
+        if (index >= 0) {
+            return withQuantity(productId, Math.addExact(quantities[index], quantity));
+        }
+        if (unitPriceCents < 0) {
+            throw new IllegalArgumentException("Unit price cannot be negative");
+        }
+        int size = size();
+        long[] ids = Arrays.copyOf(productIds, size + 1);
+        int[] counts = Arrays.copyOf(quantities, size + 1);
+        long[] prices = Arrays.copyOf(this.unitPriceCents, size + 1);
+        ids[size] = productId;
+        counts[size] = quantity;
+        prices[size] = unitPriceCents;
+        return new CartLines(ids, counts, prices,
+                Math.addExact(subtotalCents, Math.multiplyExact(unitPriceCents, quantity)),
+                Math.addExact(totalQuantity, quantity));
+    }
+
+    /**
+     * @param productId product ID
+     * @param quantity  new quantity, at least 1
+     * @return the updated lines, or these lines when the product is not in the cart
+     */
+    public CartLines withQuantity(long productId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        int index = indexOf(productId);
+        if (index < 0 || quantities[index] == quantity) {
+            return this;
+        }
+        int[] counts = quantities.clone();
+        counts[index] = quantity;
+        int delta = quantity - quantities[index];
+        return new CartLines(productIds, counts, unitPriceCents,
+                Math.addExact(subtotalCents, Math.multiplyExact(unitPriceCents[index], (long) delta)),
+                Math.addExact(totalQuantity, delta));
+    }
+
+    /**
+     * @param productId product ID
+     * @return the lines without the product, or these lines when it is not in the cart
+     */
+    public CartLines without(long productId) {
+        int index = indexOf(productId);
+        if (index < 0) {
+            return this;
+        }
+        if (size() == 1) {
+            return EMPTY;
+        }
+        return new CartLines(remove(productIds, index), remove(quantities, index), remove(unitPriceCents, index),
+                subtotalCents - unitPriceCents[index] * quantities[index], totalQuantity - quantities[index]);
+    }
+
+    /**
+     * @return sum of quantity times unit price over all lines, in cents
+     */
+    public long subtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * @return number of units over all lines
+     */
+    public int totalQuantity() {
+        return totalQuantity;
+    }
+
+    /**
+     * @return the binary form of these lines
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + size() * BYTES_PER_LINE);
+        buffer.putInt(size());
+        for (int i = 0; i < productIds.length; i++) {
+            buffer.putLong(productIds[i]).putInt(quantities[i]).putLong(unitPriceCents[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param bytes binary form written by {@link #toBytes()}, may be null
+     * @return the decoded lines
+     */
+    public static CartLines fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = buffer.getInt();
+        if (size < 0 || buffer.remaining() != size * BYTES_PER_LINE) {
+            throw new IllegalArgumentException("Malformed cart lines");
+        }
+        long[] ids = new long[size];
+        int[] counts = new int[size];
+        long[] prices = new long[size];
+        long subtotal = 0;
+        int units = 0;
+        for (int i = 0; i < size; i++) {
+            ids[i] = buffer.getLong();
+            counts[i] = buffer.getInt();
+            prices[i] = buffer.getLong();
+            if (counts[i] < 1 || prices[i] < 0) {
+                throw new IllegalArgumentException("Malformed cart lines");
+            }
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(prices[i], counts[i]));
+            units = Math.addExact(units, counts[i]);
+        }
+        return size == 0 ? EMPTY : new CartLines(ids, counts, prices, subtotal, units);
+    }
+
+    /**
+     * @param price price, e.g. 19.99
+     * @return the price in whole cents, rounded half up
+     */
+    public static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param cents amount in cents
+     * @return the amount with two decimals
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        byte[] bytes = toBytes();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        CartLines lines = fromBytes(bytes);
+        productIds = lines.productIds;
+        quantities = lines.quantities;
+        unitPriceCents = lines.unitPriceCents;
+        subtotalCents = lines.subtotalCents;
+        totalQuantity = lines.totalQuantity;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CartLines lines
+                && Arrays.equals(productIds, lines.productIds)
+                && Arrays.equals(quantities, lines.quantities)
+                && Arrays.equals(unitPriceCents, lines.unitPriceCents);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(productIds) + Arrays.hashCode(quantities)) + Arrays.hashCode(unitPriceCents);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("CartLines[");
+        for (int i = 0; i < productIds.length; i++) {
+            text.append(i > 0 ? ", " : "").append(productIds[i]).append('x').append(quantities[i])
+                    .append('@').append(fromCents(unitPriceCents[i]));
+        }
+        return text.append(']').toString();
+    }
+
+    // Private helper methods
+    private static long[] remove(long[] values, int index) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, result.length - index);
+        return result;
+    }
+}
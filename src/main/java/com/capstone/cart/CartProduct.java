@@ -0,0 +1,15 @@
+package com.capstone.cart;
+
+/**
+ * Cart Product - the product fields a cart line is displayed with
+ *
+ * @param id           product ID
+ * @param title        product title
+ * @param imageUrl     main image URL
+ * @param categoryName category name, or null
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record CartProduct(Long id, String title, String imageUrl, String categoryName) {
+}
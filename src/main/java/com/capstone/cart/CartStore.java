@@ -0,0 +1,45 @@
+package com.capstone.cart;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Cart Store - where carts live between requests
+ *
+ * A cart is addressed by a key (the user's login name) and stored as
+ * {@link CartLines}. Each update is applied atomically per cart: parallel
+ * requests for the same cart, e.g. several "add to cart" clicks in quick
+ * succession, are applied one after the other and none is lost.
+ *
+ * {@link InMemoryCartStore} keeps carts on the heap of one node;
+ * {@link JpaCartStore} keeps them in the database, so carts survive a
+ * restart and any node can serve any user. The property
+ * {@code app.cart.store} ({@code memory} or {@code database}) selects one.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public interface CartStore {
+
+    /**
+     * @param cartKey cart key
+     * @return the cart's lines, empty when there is no cart
+     */
+    CartLines get(String cartKey);
+
+    /**
+     * Atomically replace a cart's lines with a function of its current lines
+     *
+     * @param cartKey cart key
+     * @param change  function from the current lines to the new lines; may
+     *                be called again if the update has to be retried
+     * @return the new lines
+     */
+    CartLines update(String cartKey, UnaryOperator<CartLines> change);
+
+    /**
+     * Remove a cart
+     *
+     * @param cartKey cart key
+     */
+    void delete(String cartKey);
+}
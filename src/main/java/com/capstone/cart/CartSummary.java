@@ -2,41 +2,67 @@ package com.capstone.cart;
 
 import java.math.BigDecimal;
 
-public class CartSummary {
-	private BigDecimal subtotal = BigDecimal.ZERO;
-	private BigDecimal shipping = BigDecimal.ZERO;
-	private BigDecimal tax = BigDecimal.ZERO;
-	private BigDecimal total = BigDecimal.ZERO;
+/**
+ * Cart Summary - subtotal, shipping, tax and total of a cart
+ *
+ * All amounts are kept as long cents and derived from the cart's running
+ * subtotal by a few integer operations; they are turned into BigDecimal
+ * only when read. Shipping is a flat {@value #SHIPPING_CENTS} cents on a
+ * non-empty cart and tax is {@value #TAX_PERCENT}% of the subtotal, rounded
+ * half up to the cent.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class CartSummary {
 
-	public BigDecimal getSubtotal() {
-		return subtotal;
+	static final long SHIPPING_CENTS = 500;
+	static final long TAX_PERCENT = 5;
+
+	private final long subtotalCents;
+	private final long shippingCents;
+	private final long taxCents;
+
+	private CartSummary(long subtotalCents, long shippingCents, long taxCents) {
+		this.subtotalCents = subtotalCents;
+		this.shippingCents = shippingCents;
+		this.taxCents = taxCents;
 	}
 
-	public void setSubtotal(BigDecimal subtotal) {
-		this.subtotal = subtotal;
+	/**
+	 * @param subtotalCents cart subtotal in cents
+	 * @return the summary of a cart with that subtotal
+	 */
+	public static CartSummary of(long subtotalCents) {
+		if (subtotalCents < 0) {
+			throw new IllegalArgumentException("Subtotal cannot be negative");
+		}
+		long shipping = subtotalCents > 0 ? SHIPPING_CENTS : 0;
+		long tax = (Math.multiplyExact(subtotalCents, TAX_PERCENT) + 50) / 100;
+		return new CartSummary(subtotalCents, shipping, tax);
 	}
 
-	public BigDecimal getShipping() {
-		return shipping;
+	public long getSubtotalCents() {
+		return subtotalCents;
 	}
 
-	public void setShipping(BigDecimal shipping) {
-		this.shipping = shipping;
+	public long getTotalCents() {
+		return subtotalCents + shippingCents + taxCents;
 	}
 
-	public BigDecimal getTax() {
-		return tax;
+	public BigDecimal getSubtotal() {
+		return CartLines.fromCents(subtotalCents);
 	}
 
-	public void setTax(BigDecimal tax) {
-		this.tax = tax;
+	public BigDecimal getShipping() {
+		return CartLines.fromCents(shippingCents);
 	}
 
-	public BigDecimal getTotal() {
-		return total;
+	public BigDecimal getTax() {
+		return CartLines.fromCents(taxCents);
 	}
 
-	public void setTotal(BigDecimal total) {
-		this.total = total;
+	public BigDecimal getTotal() {
+		return CartLines.fromCents(getTotalCents());
 	}
 }
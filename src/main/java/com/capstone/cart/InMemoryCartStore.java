@@ -0,0 +1,50 @@
+package com.capstone.cart;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-Memory Cart Store - carts on the heap of a single node
+ *
+ * Updates run inside {@link ConcurrentHashMap#compute}, which locks only
+ * the one cart being changed. An emptied cart is removed from the map.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCartStore implements CartStore {
+
+    private final Map<String, CartLines> carts = new ConcurrentHashMap<>();
+
+    @Override
+    public CartLines get(String cartKey) {
+        return carts.getOrDefault(cartKey, CartLines.EMPTY);
+    }
+
+    @Override
+    public CartLines update(String cartKey, UnaryOperator<CartLines> change) {
+        CartLines updated = carts.compute(cartKey, (key, lines) -> {
+            CartLines result = change.apply(lines != null ? lines : CartLines.EMPTY);
+            return result.isEmpty() ? null : result;
+        });
+        return updated != null ? updated : CartLines.EMPTY;
+    }
+
+    @Override
+    public void delete(String cartKey) {
+        carts.remove(cartKey);
+    }
+
+    /**
+     * @return number of non-empty carts held
+     */
+    public int size() {
+        return carts.size();
+    }
+}
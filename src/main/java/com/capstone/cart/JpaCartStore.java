@@ -0,0 +1,93 @@
+package com.capstone.cart;
+
+import com.capstone.domain.Cart;
+import com.capstone.repository.CartRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.UnaryOperator;
+
+/**
+ * JPA Cart Store - carts as rows of the {@code carts} table
+ *
+ * An update reads the cart row with a pessimistic write lock, applies the
+ * change and writes the new lines back in the same transaction, so updates
+ * of one cart from any node are serialized by the database. The only race
+ * left is two requests creating the same cart at once: the second insert
+ * fails on the primary key and, unless it joined a caller's transaction,
+ * is retried against the row the first one created.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "database")
+public class JpaCartStore implements CartStore {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public JpaCartStore(CartRepository cartRepository, PlatformTransactionManager transactionManager) {
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CartLines get(String cartKey) {
+        return cartRepository.findById(cartKey)
+                .map(cart -> CartLines.fromBytes(cart.getLineData()))
+                .orElse(CartLines.EMPTY);
+    }
+
+    @Override
+    public CartLines update(String cartKey, UnaryOperator<CartLines> change) {
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> apply(cartKey, change));
+            } catch (DataIntegrityViolationException e) {
+                if (joined || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void delete(String cartKey) {
+        cartRepository.deleteById(cartKey);
+    }
+
+    // Private helper methods
+    private CartLines apply(String cartKey, UnaryOperator<CartLines> change) {
+        Cart cart = cartRepository.findForUpdate(cartKey).orElse(null);
+        CartLines current = cart != null ? CartLines.fromBytes(cart.getLineData()) : CartLines.EMPTY;
+        CartLines updated = change.apply(current);
+        if (updated.isEmpty()) {
+            if (cart != null) {
+                cartRepository.delete(cart);
+            }
+            return CartLines.EMPTY;
+        }
+        if (updated.equals(current)) {
+            return current;
+        }
+        if (cart == null) {
+            cart = new Cart(cartKey);
+        }
+        cart.setLineData(updated.toBytes());
+        cart.setUpdatedAt(LocalDateTime.now());
+        // Flush here so a duplicate insert fails inside the retry loop
+        cartRepository.saveAndFlush(cart);
+        return updated;
+    }
+}
@@ -0,0 +1,47 @@
+package com.capstone.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Catalog Cursor - position of the last product on a listing page
+ *
+ * Encoded as an opaque URL-safe token so that clients pass it back unchanged.
+ *
+ * @param key sort key of the last product (see {@link ProductSort#key}), or
+ *            its position in the results for relevance ordering
+ * @param id  ID of the last product
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record CatalogCursor(long key, long id) {
+
+    /**
+     * @return token to put in the next page link
+     */
+    public String encode() {
+        String raw = key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parse a token produced by {@link #encode()}. A token that cannot be
+     * parsed, e.g. an edited link, starts over at the first page.
+     *
+     * @param token cursor token, may be null or blank for the first page
+     * @return cursor or null for the first page
+     */
+    public static CatalogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            return new CatalogCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.capstone.catalog;
+
+import java.util.List;
+
+/**
+ * Catalog Page - one page of a keyset paginated listing
+ *
+ * @param items      items on this page
+ * @param nextCursor token for the following page, or null on the last page
+ * @param <T>        item type
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record CatalogPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 24;
+    public static final int MAX_SIZE = 60;
+
+    /**
+     * Apply the default and the cap to a requested page size
+     *
+     * @param requested requested page size, may be null
+     * @return page size between 1 and {@value #MAX_SIZE}
+     */
+    public static int clampSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
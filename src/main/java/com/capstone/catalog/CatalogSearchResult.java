@@ -0,0 +1,21 @@
+package com.capstone.catalog;
+
+import java.util.List;
+
+/**
+ * Catalog Search Result - one page of filtered products with their facet counts
+ *
+ * @param products   product cards on this page, in the requested order
+ * @param facets     counts to show next to each filter option
+ * @param totalCount number of products matching the filters
+ * @param nextCursor token for the following page, or null on the last page
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record CatalogSearchResult(List<ProductCard> products, FacetCounts facets, int totalCount, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.capstone.catalog;
+
+/**
+ * Category Node - read-only view of one category in a {@link CategoryTree}
+ *
+ * @param id           category ID
+ * @param name         category name
+ * @param description  category description
+ * @param imageUrl     category image URL
+ * @param parentId     parent category ID, or null for a root category
+ * @param depth        distance from the root (0 for root categories)
+ * @param active       whether the category and all its ancestors are active
+ * @param productCount active products in the category and all its subcategories
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record CategoryNode(Long id, String name, String description, String imageUrl, Long parentId,
+                           int depth, boolean active, int productCount) {
+
+    public boolean isRoot() {
+        return parentId == null;
+    }
+
+    CategoryNode withProductCount(int count) {
+        return count == productCount ? this
+                : new CategoryNode(id, name, description, imageUrl, parentId, depth, active, count);
+    }
+}
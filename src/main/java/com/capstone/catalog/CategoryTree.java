@@ -0,0 +1,237 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Category Tree - immutable snapshot of the whole category hierarchy
+ *
+ * Categories are stored in pre-order (children sorted by display order, then
+ * name), so the subtree of a category is the contiguous range between its own
+ * position and {@code subtreeEnds[position]}. Subtree membership, ancestor
+ * checks and breadcrumbs are array lookups; nothing touches the database or
+ * lazy entity associations once the snapshot is built.
+ *
+ * A snapshot never changes. Category or product count changes produce a new
+ * tree, which the owner publishes with a single reference swap.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class CategoryTree {
+
+    private static final Comparator<Category> DISPLAY_ORDER = Comparator
+            .comparing((Category category) -> category.getDisplayOrder() != null ? category.getDisplayOrder() : 0)
+            .thenComparing(Category::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    public static final CategoryTree EMPTY = of(List.of(), Map.of());
+
+    private final CategoryNode[] nodes;
+    private final int[] parents;
+    private final int[] subtreeEnds;
+    private final Map<Long, Integer> positions;
+    private final List<CategoryNode> visible;
+
+    private CategoryTree(CategoryNode[] nodes, int[] parents, int[] subtreeEnds, Map<Long, Integer> positions) {
+        this.nodes = nodes;
+        this.parents = parents;
+        this.subtreeEnds = subtreeEnds;
+        this.positions = positions;
+        this.visible = Arrays.stream(nodes).filter(CategoryNode::active).toList();
+    }
+
+    /**
+     * Build a snapshot
+     *
+     * @param categories every category, active or not; only parent IDs are read from associations
+     * @param productCounts active product count per category, excluding subcategories
+     * @return category tree
+     */
+    public static CategoryTree of(Collection<Category> categories, Map<Long, Integer> productCounts) {
+        Map<Long, Category> byId = new HashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), category);
+        }
+        Map<Long, List<Category>> childrenOf = new HashMap<>();
+        for (Category category : categories) {
+            Long parentId = parentId(category);
+            childrenOf.computeIfAbsent(byId.containsKey(parentId) ? parentId : null, id -> new ArrayList<>())
+                    .add(category);
+        }
+        childrenOf.values().forEach(children -> children.sort(DISPLAY_ORDER));
+
+        List<CategoryNode> order = new ArrayList<>(categories.size());
+        List<Integer> parentPositions = new ArrayList<>(categories.size());
+        List<Integer> ends = new ArrayList<>(categories.size());
+        for (Category root : childrenOf.getOrDefault(null, List.of())) {
+            visit(root, -1, true, childrenOf, order, parentPositions, ends);
+        }
+
+        CategoryNode[] nodes = order.toArray(new CategoryNode[0]);
+        int[] parents = parentPositions.stream().mapToInt(Integer::intValue).toArray();
+        int[] subtreeEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            positions.put(nodes[i].id(), i);
+        }
+        return new CategoryTree(nodes, parents, subtreeEnds, Map.copyOf(positions)).withProductCounts(productCounts);
+    }
+
+    /**
+     * @param productCounts active product count per category, excluding subcategories
+     * @return a tree with the same structure and the given counts rolled up to every ancestor
+     */
+    public CategoryTree withProductCounts(Map<Long, Integer> productCounts) {
+        int[] totals = rollUp(productCounts);
+        CategoryNode[] counted = new CategoryNode[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            counted[i] = nodes[i].withProductCount(totals[i]);
+        }
+        return new CategoryTree(counted, parents, subtreeEnds, positions);
+    }
+
+    /**
+     * @return active categories in display order, each followed by its subcategories
+     */
+    public List<CategoryNode> categories() {
+        return visible;
+    }
+
+    /**
+     * @return active root categories in display order
+     */
+    public List<CategoryNode> roots() {
+        return visible.stream().filter(CategoryNode::isRoot).toList();
+    }
+
+    /**
+     * @param categoryId category ID
+     * @return the category, or null when it does not exist
+     */
+    public CategoryNode get(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position != null ? nodes[position] : null;
+    }
+
+    /**
+     * @param categoryId category ID
+     * @return active direct subcategories in display order
+     */
+    public List<CategoryNode> children(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+        List<CategoryNode> children = new ArrayList<>();
+        for (int i = position + 1; i < subtreeEnds[position]; i = subtreeEnds[i]) {
+            if (nodes[i].active()) {
+                children.add(nodes[i]);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * @param categoryId category ID
+     * @return the path from the root category down to the category, or an empty list
+     */
+    public List<CategoryNode> breadcrumb(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+        List<CategoryNode> path = new ArrayList<>();
+        for (int i = position; i >= 0; i = parents[i]) {
+            path.add(0, nodes[i]);
+        }
+        return path;
+    }
+
+    /**
+     * @param categoryIds category IDs
+     * @return the given categories together with every category below them
+     */
+    public Set<Long> subtreeIds(Collection<Long> categoryIds) {
+        Set<Long> subtree = new LinkedHashSet<>(categoryIds);
+        for (Long categoryId : categoryIds) {
+            Integer position = positions.get(categoryId);
+            if (position != null) {
+                for (int i = position; i < subtreeEnds[position]; i++) {
+                    subtree.add(nodes[i].id());
+                }
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * @param ancestorId possible ancestor
+     * @param categoryId category to test
+     * @return true when the category is the ancestor itself or lies in its subtree
+     */
+    public boolean isAncestorOrSelf(Long ancestorId, Long categoryId) {
+        Integer ancestor = positions.get(ancestorId);
+        Integer category = positions.get(categoryId);
+        return ancestor != null && category != null && ancestor <= category && category < subtreeEnds[ancestor];
+    }
+
+    /**
+     * Add the count of every category to each of its ancestors
+     *
+     * @param counts count per category, excluding subcategories
+     * @return count per category including subcategories; categories totalling zero are omitted
+     */
+    public Map<Long, Integer> rollUpCounts(Map<Long, Integer> counts) {
+        int[] totals = rollUp(counts);
+        Map<Long, Integer> rolledUp = new HashMap<>(counts);
+        for (int i = 0; i < nodes.length; i++) {
+            if (totals[i] > 0) {
+                rolledUp.put(nodes[i].id(), totals[i]);
+            }
+        }
+        return rolledUp;
+    }
+
+    // Private helper methods
+    private int[] rollUp(Map<Long, Integer> counts) {
+        int[] totals = new int[nodes.length];
+        // Children come after their parent in pre-order, so a reverse pass sees them first
+        for (int i = nodes.length - 1; i >= 0; i--) {
+            totals[i] += counts.getOrDefault(nodes[i].id(), 0);
+            if (parents[i] >= 0) {
+                totals[parents[i]] += totals[i];
+            }
+        }
+        return totals;
+    }
+
+    private static void visit(Category category, int parent, boolean parentActive,
+                              Map<Long, List<Category>> childrenOf, List<CategoryNode> order,
+                              List<Integer> parentPositions, List<Integer> ends) {
+        int position = order.size();
+        int depth = parent < 0 ? 0 : order.get(parent).depth() + 1;
+        boolean active = parentActive && !Boolean.FALSE.equals(category.getIsActive());
+        order.add(new CategoryNode(category.getId(), category.getName(), category.getDescription(),
+                category.getImageUrl(), parent < 0 ? null : order.get(parent).id(), depth, active, 0));
+        parentPositions.add(parent);
+        ends.add(position + 1);
+        for (Category child : childrenOf.getOrDefault(category.getId(), List.of())) {
+            visit(child, position, active, childrenOf, order, parentPositions, ends);
+        }
+        ends.set(position, order.size());
+    }
+
+    private static Long parentId(Category category) {
+        // Reading the ID of a lazy proxy does not initialize it
+        return category.getParentCategory() != null ? category.getParentCategory().getId() : null;
+    }
+}
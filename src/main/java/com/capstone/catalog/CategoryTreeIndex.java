@@ -0,0 +1,109 @@
+package com.capstone.catalog;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Product;
+import com.capstone.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Category Tree Index - holder of the current {@link CategoryTree}
+ *
+ * The tree is built together with the product indexes and replaced as a
+ * whole whenever a category changes. Product changes only adjust the product
+ * counts. Readers call {@link #current()} and keep using the snapshot they
+ * got, so a page is rendered from one consistent tree without any query.
+ * It is rebuilt before the other indexes, which may read category paths.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CategoryTreeIndex implements ProductIndex {
+
+    private final CategoryRepository categoryRepository;
+
+    private final Map<Long, Long> productCategories = new HashMap<>();
+    private final Map<Long, Integer> productCounts = new HashMap<>();
+    private volatile CategoryTree tree = CategoryTree.EMPTY;
+
+    @Autowired
+    public CategoryTreeIndex(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * @return the current snapshot
+     */
+    public CategoryTree current() {
+        return tree;
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<Product> products) {
+        productCategories.clear();
+        productCounts.clear();
+        for (Product product : products) {
+            Long categoryId = categoryId(product);
+            if (product.getId() != null && categoryId != null) {
+                productCategories.put(product.getId(), categoryId);
+                productCounts.merge(categoryId, 1, Integer::sum);
+            }
+        }
+        tree = CategoryTree.of(categoryRepository.findAll(), Map.copyOf(productCounts));
+    }
+
+    @Override
+    public synchronized void update(Product product) {
+        Long categoryId = categoryId(product);
+        Long previous = categoryId != null
+                ? productCategories.put(product.getId(), categoryId)
+                : productCategories.remove(product.getId());
+        if (!Objects.equals(previous, categoryId)) {
+            uncount(previous);
+            if (categoryId != null) {
+                productCounts.merge(categoryId, 1, Integer::sum);
+            }
+            tree = tree.withProductCounts(Map.copyOf(productCounts));
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long productId) {
+        Long previous = productCategories.remove(productId);
+        if (previous != null) {
+            uncount(previous);
+            tree = tree.withProductCounts(Map.copyOf(productCounts));
+        }
+    }
+
+    /**
+     * Reload the category structure, after the current transaction commits
+     */
+    public void categoriesChanged() {
+        AfterCommit.run(this::reload);
+    }
+
+    // Private helper methods
+    private synchronized void reload() {
+        tree = CategoryTree.of(categoryRepository.findAll(), Map.copyOf(productCounts));
+    }
+
+    private void uncount(Long categoryId) {
+        if (categoryId != null) {
+            productCounts.computeIfPresent(categoryId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static Long categoryId(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
+}
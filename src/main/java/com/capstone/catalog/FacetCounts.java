@@ -0,0 +1,45 @@
+package com.capstone.catalog;
+
+import java.util.Map;
+
+/**
+ * Facet Counts - number of products behind each filter option
+ *
+ * Every count applies all selected filters except the one of its own facet,
+ * so it tells the shopper how many products the option would show when
+ * selected (or added to the selection, for categories).
+ *
+ * @param categories   product count per category ID
+ * @param priceBuckets product count per price bucket
+ * @param minRatings   product count per minimum rating (1 to 4 stars and up)
+ * @param inStock      products with stock on hand
+ * @param featured     featured products
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record FacetCounts(Map<Long, Integer> categories, Map<PriceBucket, Integer> priceBuckets,
+                          Map<Integer, Integer> minRatings, int inStock, int featured) {
+
+    public static final FacetCounts EMPTY = new FacetCounts(Map.of(), Map.of(), Map.of(), 0, 0);
+
+    public int categoryCount(Long categoryId) {
+        return categories.getOrDefault(categoryId, 0);
+    }
+
+    public int priceBucketCount(PriceBucket bucket) {
+        return priceBuckets.getOrDefault(bucket, 0);
+    }
+
+    public int minRatingCount(Integer stars) {
+        return minRatings.getOrDefault(stars, 0);
+    }
+
+    /**
+     * @param counts replacement category counts
+     * @return the same counts with the given per-category numbers
+     */
+    public FacetCounts withCategories(Map<Long, Integer> counts) {
+        return new FacetCounts(counts, priceBuckets, minRatings, inStock, featured);
+    }
+}
@@ -0,0 +1,66 @@
+package com.capstone.catalog;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Facet Filter - catalog filters chosen by the shopper
+ *
+ * Values inside one facet are OR-ed (any of the selected categories) and
+ * the facets are AND-ed together. A null or empty value leaves that facet
+ * unrestricted.
+ *
+ * @param categoryIds  categories to include
+ * @param minPrice     lowest price to include
+ * @param maxPrice     highest price to include
+ * @param minRating    minimum average rating in whole stars (1 to 5)
+ * @param inStockOnly  only products with stock on hand
+ * @param featuredOnly only featured products
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record FacetFilter(Set<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice,
+                          Integer minRating, boolean inStockOnly, boolean featuredOnly) {
+
+    /**
+     * Filter that matches every product
+     */
+    public static final FacetFilter NONE = new FacetFilter(Set.of(), null, null, null, false, false);
+
+    public FacetFilter {
+        categoryIds = categoryIds == null ? Set.of() : Set.copyOf(categoryIds);
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Min price cannot be greater than max price");
+        }
+        if (minRating != null && (minRating < 1 || minRating > 5)) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+
+    /**
+     * @return true when the filter restricts the price
+     */
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /**
+     * @return true when the filter selects at most one category and nothing
+     *         else, i.e. the listing is a whole category or the whole catalog
+     */
+    public boolean isPlainListing() {
+        return categoryIds.size() <= 1 && !hasPriceRange() && minRating == null && !inStockOnly && !featuredOnly;
+    }
+
+    /**
+     * @param ids replacement category selection
+     * @return the same filter selecting the given categories
+     */
+    public FacetFilter withCategoryIds(Set<Long> ids) {
+        return new FacetFilter(ids, minPrice, maxPrice, minRating, inStockOnly, featuredOnly);
+    }
+}
@@ -0,0 +1,440 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Product;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet Index - bitmap based catalog filtering
+ *
+ * Every indexed product gets a dense ordinal, and every facet value keeps a
+ * bitmap of the ordinals having that value: one per category, price bucket
+ * and minimum rating, plus in-stock and featured. A combination of filters
+ * is answered by OR-ing the bitmaps selected within a facet and AND-ing the
+ * facets together; the counts shown next to each option come from the same
+ * bitmaps, so filtering and counting never query the database. Sort keys are
+ * kept per ordinal as well, so a page is selected with a heap bounded by the
+ * page size and only that page has to be loaded.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class FacetIndex implements ProductIndex {
+
+    static final int MAX_RATING = 5;
+    private static final int PAGE_CAPACITY = 1_000;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] productIds = new long[64];
+    private long[] priceCents = new long[64];
+    private long[] ratingKeys = new long[64];
+    private long[] viewCounts = new long[64];
+    private long[] createdKeys = new long[64];
+    private int nextOrdinal;
+
+    private final BitSet live = new BitSet();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<PriceBucket, BitSet> byPrice = new EnumMap<>(PriceBucket.class);
+    private final BitSet[] byMinRating = new BitSet[MAX_RATING + 1];
+    private final BitSet inStock = new BitSet();
+    private final BitSet featured = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FacetIndex() {
+        for (PriceBucket bucket : PriceBucket.values()) {
+            byPrice.put(bucket, new BitSet());
+        }
+        for (int stars = 1; stars <= MAX_RATING; stars++) {
+            byMinRating[stars] = new BitSet();
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            productIds = new long[Math.max(64, products.size())];
+            priceCents = new long[productIds.length];
+            ratingKeys = new long[productIds.length];
+            viewCounts = new long[productIds.length];
+            createdKeys = new long[productIds.length];
+            nextOrdinal = 0;
+            live.clear();
+            byCategory.clear();
+            byPrice.values().forEach(BitSet::clear);
+            for (int stars = 1; stars <= MAX_RATING; stars++) {
+                byMinRating[stars].clear();
+            }
+            inStock.clear();
+            featured.clear();
+            for (Product product : products) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Product product) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(product.getId());
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void viewsAdded(Map<Long, Long> views) {
+        lock.writeLock().lock();
+        try {
+            views.forEach((productId, added) -> {
+                Integer ordinal = ordinals.get(productId);
+                if (ordinal != null) {
+                    viewCounts[ordinal] += added;
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply filters to a set of candidate products, count every facet option
+     * and select one page of the matches
+     *
+     * @param candidates product IDs to filter in relevance order (text search
+     *                   results), or null for the whole catalog
+     * @param filter selected filters
+     * @param sort page order; relevance keeps the candidate order
+     * @param after last product of the previous page, or null for the first page
+     * @param limit page size (capped at {@value #PAGE_CAPACITY})
+     * @return product IDs on the page, facet counts and the next page cursor
+     */
+    public Result page(List<Long> candidates, FacetFilter filter, ProductSort sort, CatalogCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            Selection selection = select(candidates, filter);
+            BitSet matches = selection.matches();
+            FacetCounts counts = count(selection);
+            int size = Math.max(1, Math.min(limit, PAGE_CAPACITY));
+            List<Long> ids = new ArrayList<>(size);
+            CatalogCursor next = sort == ProductSort.RELEVANCE && candidates != null
+                    ? pageInCandidateOrder(candidates, matches, after, size, ids)
+                    : pageBySortKey(matches, sort == ProductSort.RELEVANCE ? ProductSort.NEWEST : sort, after, size, ids);
+            return new Result(ids, counts, matches.cardinality(), next);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count every facet option without selecting a page, for listings whose
+     * page comes from elsewhere (see {@link ProductRankings})
+     *
+     * @param candidates product IDs to filter, or null for the whole catalog
+     * @param filter selected filters
+     * @return facet option counts
+     */
+    public FacetCounts counts(List<Long> candidates, FacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            return count(select(candidates, filter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of products currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Private helper methods (callers hold the lock)
+    private Selection select(List<Long> candidates, FacetFilter filter) {
+        return new Selection(
+                candidates == null ? (BitSet) live.clone() : toBitSet(candidates),
+                categoryBits(filter),
+                priceBits(filter),
+                filter.minRating() != null ? byMinRating[filter.minRating()] : null,
+                filter.inStockOnly() ? inStock : null,
+                filter.featuredOnly() ? featured : null);
+    }
+
+    private FacetCounts count(Selection s) {
+        Map<Long, Integer> categoryCounts = new LinkedHashMap<>();
+        BitSet withoutCategories = and(s.base(), s.prices(), s.ratings(), s.stock(), s.featured());
+        byCategory.forEach((categoryId, bits) -> {
+            int count = intersectionCount(withoutCategories, bits);
+            if (count > 0) {
+                categoryCounts.put(categoryId, count);
+            }
+        });
+        Map<PriceBucket, Integer> priceCounts = new EnumMap<>(PriceBucket.class);
+        BitSet withoutPrices = and(s.base(), s.categories(), s.ratings(), s.stock(), s.featured());
+        byPrice.forEach((bucket, bits) -> priceCounts.put(bucket, intersectionCount(withoutPrices, bits)));
+        Map<Integer, Integer> ratingCounts = new LinkedHashMap<>();
+        BitSet withoutRatings = and(s.base(), s.categories(), s.prices(), s.stock(), s.featured());
+        for (int stars = MAX_RATING - 1; stars >= 1; stars--) {
+            ratingCounts.put(stars, intersectionCount(withoutRatings, byMinRating[stars]));
+        }
+        int inStockCount = intersectionCount(and(s.base(), s.categories(), s.prices(), s.ratings(), s.featured()), inStock);
+        int featuredCount = intersectionCount(and(s.base(), s.categories(), s.prices(), s.ratings(), s.stock()), featured);
+        return new FacetCounts(categoryCounts, priceCounts, ratingCounts, inStockCount, featuredCount);
+    }
+
+    private void add(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        int ordinal = ordinals.computeIfAbsent(product.getId(), id -> allocate(id));
+        long cents = toCents(product.getPrice());
+        priceCents[ordinal] = cents;
+        ratingKeys[ordinal] = ProductSort.RATING.key(product);
+        viewCounts[ordinal] = ProductSort.POPULAR.key(product);
+        createdKeys[ordinal] = ProductSort.NEWEST.key(product);
+        live.set(ordinal);
+        if (product.getCategory() != null && product.getCategory().getId() != null) {
+            byCategory.computeIfAbsent(product.getCategory().getId(), id -> new BitSet()).set(ordinal);
+        }
+        byPrice.get(PriceBucket.of(cents)).set(ordinal);
+        int stars = product.getAverageRating() != null ? Math.min(MAX_RATING, product.getAverageRating().intValue()) : 0;
+        for (int i = 1; i <= stars; i++) {
+            byMinRating[i].set(ordinal);
+        }
+        if (product.getStockQuantity() != null && product.getStockQuantity() > 0) {
+            inStock.set(ordinal);
+        }
+        if (Boolean.TRUE.equals(product.getIsFeatured())) {
+            featured.set(ordinal);
+        }
+    }
+
+    private int allocate(Long productId) {
+        if (nextOrdinal == productIds.length) {
+            productIds = Arrays.copyOf(productIds, nextOrdinal * 2);
+            priceCents = Arrays.copyOf(priceCents, nextOrdinal * 2);
+            ratingKeys = Arrays.copyOf(ratingKeys, nextOrdinal * 2);
+            viewCounts = Arrays.copyOf(viewCounts, nextOrdinal * 2);
+            createdKeys = Arrays.copyOf(createdKeys, nextOrdinal * 2);
+        }
+        productIds[nextOrdinal] = productId;
+        return nextOrdinal++;
+    }
+
+    private void clear(int ordinal) {
+        // The ordinal stays reserved for the product so a later update reuses it
+        live.clear(ordinal);
+        byCategory.values().removeIf(bits -> {
+            bits.clear(ordinal);
+            return bits.isEmpty();
+        });
+        byPrice.values().forEach(bits -> bits.clear(ordinal));
+        for (int stars = 1; stars <= MAX_RATING; stars++) {
+            byMinRating[stars].clear(ordinal);
+        }
+        inStock.clear(ordinal);
+        featured.clear(ordinal);
+    }
+
+    private BitSet categoryBits(FacetFilter filter) {
+        if (filter.categoryIds().isEmpty()) {
+            return null;
+        }
+        BitSet bits = new BitSet();
+        for (Long categoryId : filter.categoryIds()) {
+            BitSet category = byCategory.get(categoryId);
+            if (category != null) {
+                bits.or(category);
+            }
+        }
+        return bits;
+    }
+
+    private BitSet priceBits(FacetFilter filter) {
+        if (!filter.hasPriceRange()) {
+            return null;
+        }
+        long min = filter.minPrice() != null ? filter.minPrice().movePointRight(2).setScale(0, RoundingMode.CEILING).longValue() : 0;
+        long max = filter.maxPrice() != null ? filter.maxPrice().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : Long.MAX_VALUE;
+        BitSet bits = new BitSet();
+        for (PriceBucket bucket : PriceBucket.values()) {
+            if (bucket.getMaxCents() <= min || bucket.getMinCents() > max) {
+                continue;
+            }
+            BitSet bucketBits = byPrice.get(bucket);
+            if (bucket.getMinCents() >= min && bucket.getMaxCents() - 1 <= max) {
+                bits.or(bucketBits);
+            } else {
+                // Range boundary falls inside this bucket: check the exact prices of its members
+                for (int ordinal = bucketBits.nextSetBit(0); ordinal >= 0; ordinal = bucketBits.nextSetBit(ordinal + 1)) {
+                    if (priceCents[ordinal] >= min && priceCents[ordinal] <= max) {
+                        bits.set(ordinal);
+                    }
+                }
+            }
+        }
+        return bits;
+    }
+
+    private BitSet toBitSet(List<Long> candidates) {
+        BitSet bits = new BitSet();
+        for (Long productId : candidates) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null && live.get(ordinal)) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private CatalogCursor pageInCandidateOrder(List<Long> candidates, BitSet matches, CatalogCursor after,
+                                               int limit, List<Long> ids) {
+        // The cursor key is the position in the candidate list
+        int lastPosition = -1;
+        for (int position = after == null ? 0 : (int) after.key() + 1; position < candidates.size(); position++) {
+            Integer ordinal = ordinals.get(candidates.get(position));
+            if (ordinal != null && matches.get(ordinal)) {
+                if (ids.size() == limit) {
+                    return new CatalogCursor(lastPosition, ids.get(limit - 1));
+                }
+                ids.add(candidates.get(position));
+                lastPosition = position;
+            }
+        }
+        return null;
+    }
+
+    private CatalogCursor pageBySortKey(BitSet matches, ProductSort sort, CatalogCursor after, int limit, List<Long> ids) {
+        Comparator<Integer> order = Comparator.comparingLong(ordinal -> sortKey(ordinal, sort));
+        if (!sort.isAscending()) {
+            order = order.reversed();
+        }
+        order = order.thenComparingLong(ordinal -> productIds[ordinal]);
+
+        // Keep the best limit + 1 ordinals after the cursor; the worst kept one sits on top
+        int capacity = limit + 1;
+        PriorityQueue<Integer> best = new PriorityQueue<>(capacity, order.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            if (after != null && compareToCursor(ordinal, sort, after) <= 0) {
+                continue;
+            }
+            best.offer(ordinal);
+            if (best.size() > capacity) {
+                best.poll();
+            }
+        }
+        Integer[] page = best.toArray(new Integer[0]);
+        Arrays.sort(page, order);
+        int size = Math.min(page.length, limit);
+        for (int i = 0; i < size; i++) {
+            ids.add(productIds[page[i]]);
+        }
+        if (page.length <= limit) {
+            return null;
+        }
+        int last = page[size - 1];
+        return new CatalogCursor(sortKey(last, sort), productIds[last]);
+    }
+
+    private int compareToCursor(int ordinal, ProductSort sort, CatalogCursor cursor) {
+        int byKey = Long.compare(sortKey(ordinal, sort), cursor.key());
+        if (byKey != 0) {
+            return sort.isAscending() ? byKey : -byKey;
+        }
+        return Long.compare(productIds[ordinal], cursor.id());
+    }
+
+    private long sortKey(int ordinal, ProductSort sort) {
+        return switch (sort) {
+            case PRICE_LOW, PRICE_HIGH -> priceCents[ordinal];
+            case RATING -> ratingKeys[ordinal];
+            case POPULAR -> viewCounts[ordinal];
+            case NEWEST, RELEVANCE -> createdKeys[ordinal];
+        };
+    }
+
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static int intersectionCount(BitSet a, BitSet b) {
+        BitSet intersection = (BitSet) a.clone();
+        intersection.and(b);
+        return intersection.cardinality();
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Bitmaps selected by a filter; null means the facet is not restricted
+     */
+    private record Selection(BitSet base, BitSet categories, BitSet prices, BitSet ratings,
+                             BitSet stock, BitSet featured) {
+
+        BitSet matches() {
+            return and(base, categories, prices, ratings, stock, featured);
+        }
+    }
+
+    /**
+     * One page of filtered product IDs with the facet counts for the same filters
+     *
+     * @param productIds product IDs on the page
+     * @param counts     facet option counts
+     * @param totalCount number of products matching the filters
+     * @param next       cursor for the following page, or null on the last page
+     */
+    public record Result(List<Long> productIds, FacetCounts counts, int totalCount, CatalogCursor next) {
+    }
+}
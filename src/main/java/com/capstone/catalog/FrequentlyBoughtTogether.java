@@ -0,0 +1,261 @@
+package com.capstone.catalog;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Product;
+import com.capstone.repository.OrderItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Frequently Bought Together - "customers also bought" from order history
+ *
+ * Keeps a sparse, symmetric co-occurrence matrix: for every product a
+ * {@link LongIntMap} row counting the orders that contained it together
+ * with each other product. The matrix is rebuilt from all order lines once
+ * the application is ready, splitting the orders over parallel workers and
+ * merging their partial matrices, and then updated incrementally when a
+ * checkout commits.
+ *
+ * Lookups never touch the matrix: after every change the {@value #TOP_K}
+ * strongest neighbours of each affected product are published as an
+ * immutable array, so a product page or cart reads one map entry.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class FrequentlyBoughtTogether implements ProductIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrequentlyBoughtTogether.class);
+
+    static final int TOP_K = 10;
+
+    private final OrderItemRepository orderItemRepository;
+    private final Object lock = new Object();
+    private Map<Long, LongIntMap> rows = new HashMap<>();
+    private final Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FrequentlyBoughtTogether(OrderItemRepository orderItemRepository) {
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    /**
+     * Rebuild the matrix from every order line
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildFromHistory() {
+        long start = System.nanoTime();
+        List<long[]> baskets = baskets(orderItemRepository.findOrderProductPairs());
+        Matrix matrix = baskets.parallelStream().collect(Matrix::new, Matrix::addBasket, Matrix::merge);
+        synchronized (lock) {
+            rows = matrix.rows;
+            neighbours.clear();
+            for (Map.Entry<Long, LongIntMap> row : rows.entrySet()) {
+                publish(row.getKey(), row.getValue());
+            }
+        }
+        logger.info("Built co-occurrence matrix over {} orders and {} products in {} ms",
+                baskets.size(), neighbours.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Count the products of an order as bought together once it commits
+     *
+     * @param productIds products of one order
+     */
+    public void recordOrder(Collection<Long> productIds) {
+        long[] basket = distinct(productIds);
+        if (basket.length < 2) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                Matrix.count(rows, basket);
+                for (long productId : basket) {
+                    publish(productId, rows.get(productId));
+                }
+            }
+        });
+    }
+
+    /**
+     * @param productId product
+     * @param limit     maximum number of products
+     * @return products most often bought together with it, strongest first
+     */
+    public List<Long> alsoBought(Long productId, int limit) {
+        Neighbours top = productId != null ? neighbours.get(productId) : null;
+        if (top == null) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>(Math.min(limit, top.ids.length));
+        for (int i = 0; i < top.ids.length && result.size() < limit; i++) {
+            result.add(top.ids[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Combine the neighbour lists of several products, e.g. a cart, by adding
+     * up their co-occurrence counts
+     *
+     * @param productIds products already chosen; never recommended back
+     * @param limit      maximum number of products
+     * @return products most often bought together with the given ones, strongest first
+     */
+    public List<Long> alsoBought(Collection<Long> productIds, int limit) {
+        Set<Long> chosen = new LinkedHashSet<>(productIds);
+        LongIntMap scores = new LongIntMap();
+        for (Long productId : chosen) {
+            Neighbours top = productId != null ? neighbours.get(productId) : null;
+            if (top != null) {
+                for (int i = 0; i < top.ids.length; i++) {
+                    if (!chosen.contains(top.ids[i])) {
+                        scores.add(top.ids[i], top.counts[i]);
+                    }
+                }
+            }
+        }
+        Neighbours best = Neighbours.top(scores, limit);
+        List<Long> result = new ArrayList<>(best.ids.length);
+        for (long id : best.ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        // The matrix comes from order history, see rebuildFromHistory
+    }
+
+    @Override
+    public void update(Product product) {
+        // Product details do not affect co-occurrence
+    }
+
+    @Override
+    public void remove(Long productId) {
+        synchronized (lock) {
+            LongIntMap row = rows.remove(productId);
+            neighbours.remove(productId);
+            if (row == null) {
+                return;
+            }
+            // The matrix is symmetric, so the row lists every product that points back
+            row.forEach((otherId, count) -> {
+                LongIntMap other = rows.get(otherId);
+                if (other != null) {
+                    other.remove(productId);
+                    publish(otherId, other);
+                }
+            });
+        }
+    }
+
+    // Private helper methods
+    private void publish(long productId, LongIntMap row) {
+        if (row == null || row.isEmpty()) {
+            neighbours.remove(productId);
+        } else {
+            neighbours.put(productId, Neighbours.top(row, TOP_K));
+        }
+    }
+
+    private static List<long[]> baskets(List<Object[]> pairs) {
+        List<long[]> baskets = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        Object currentOrder = null;
+        for (Object[] pair : pairs) {
+            if (currentOrder != null && !currentOrder.equals(pair[0])) {
+                addBasket(baskets, current);
+                current.clear();
+            }
+            currentOrder = pair[0];
+            current.add((Long) pair[1]);
+        }
+        addBasket(baskets, current);
+        return baskets;
+    }
+
+    private static void addBasket(List<long[]> baskets, List<Long> productIds) {
+        long[] basket = distinct(productIds);
+        if (basket.length >= 2) {
+            baskets.add(basket);
+        }
+    }
+
+    private static long[] distinct(Collection<Long> productIds) {
+        return productIds.stream().filter(id -> id != null && id > 0).mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    /**
+     * Partial co-occurrence matrix built by one parallel worker
+     */
+    private static final class Matrix {
+        private final Map<Long, LongIntMap> rows = new HashMap<>();
+
+        private void addBasket(long[] basket) {
+            count(rows, basket);
+        }
+
+        private static void count(Map<Long, LongIntMap> rows, long[] basket) {
+            for (long productId : basket) {
+                LongIntMap row = rows.computeIfAbsent(productId, id -> new LongIntMap());
+                for (long otherId : basket) {
+                    if (otherId != productId) {
+                        row.add(otherId, 1);
+                    }
+                }
+            }
+        }
+
+        private void merge(Matrix other) {
+            other.rows.forEach((productId, row) -> {
+                LongIntMap existing = rows.putIfAbsent(productId, row);
+                if (existing != null) {
+                    existing.addAll(row);
+                }
+            });
+        }
+    }
+
+    /**
+     * Strongest neighbours of a product, in parallel arrays sorted by count
+     * (highest first) and then by product ID
+     */
+    private record Neighbours(long[] ids, int[] counts) {
+
+        private static Neighbours top(LongIntMap row, int limit) {
+            long[][] entries = new long[row.size()][];
+            int[] next = {0};
+            row.forEach((id, count) -> entries[next[0]++] = new long[] {id, count});
+            Arrays.sort(entries, (a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+            int size = Math.min(limit, entries.length);
+            long[] ids = new long[size];
+            int[] counts = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = entries[i][0];
+                counts[i] = (int) entries[i][1];
+            }
+            return new Neighbours(ids, counts);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.capstone.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Long Int Map - open addressing hash map from positive long keys to int counts
+ *
+ * Keys and values live in two parallel primitive arrays probed linearly, so
+ * a sparse row of a co-occurrence matrix costs about 12 bytes per entry
+ * instead of two boxed objects and a node. Key 0 marks an empty slot, which
+ * is why only positive keys (database IDs) are accepted. Not thread safe.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+final class LongIntMap {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Add to the count of a key, creating it at zero first
+     *
+     * @param key   positive key
+     * @param delta amount to add
+     * @return new count
+     */
+    int add(long key, int delta) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        int slot = slot(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return values[slot];
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return delta;
+    }
+
+    /**
+     * @param key key
+     * @return count of the key, 0 when absent
+     */
+    int get(long key) {
+        if (key <= 0) {
+            return 0;
+        }
+        int slot = slot(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    /**
+     * Remove a key, shifting later entries of its probe run back so lookups
+     * never need tombstones
+     *
+     * @param key key
+     * @return removed count, 0 when absent
+     */
+    int remove(long key) {
+        if (key <= 0) {
+            return 0;
+        }
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+        int removed = values[slot];
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry into the gap unless its home lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Add every count of another map to this one
+     *
+     * @param other map to merge in
+     */
+    void addAll(LongIntMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != 0) {
+                add(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Visit every entry, in no particular order
+     *
+     * @param consumer entry consumer
+     */
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the keys in ascending order
+     */
+    long[] keys() {
+        long[] result = new long[size];
+        int[] next = {0};
+        forEach((key, value) -> result[next[0]++] = key);
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Private helper methods
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        // Fibonacci hashing spreads sequential IDs over the table
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> text.append(text.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return text.append('}').toString();
+    }
+
+    /**
+     * Receives the entries of a {@link LongIntMap}
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+}
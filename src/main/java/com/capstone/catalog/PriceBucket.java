@@ -0,0 +1,72 @@
+package com.capstone.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Bucket - fixed price ranges offered as catalog facets
+ *
+ * Bounds are in cents; the lower bound is inclusive and the upper bound
+ * exclusive, so every price falls into exactly one bucket.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public enum PriceBucket {
+
+    UNDER_25("Under $25", 0, 2_500),
+    FROM_25_TO_100("$25 to $100", 2_500, 10_000),
+    FROM_100_TO_500("$100 to $500", 10_000, 50_000),
+    FROM_500_TO_1000("$500 to $1,000", 50_000, 100_000),
+    OVER_1000("$1,000 & above", 100_000, Long.MAX_VALUE);
+
+    private final String label;
+    private final long minCents;
+    private final long maxCents;
+
+    PriceBucket(String label, long minCents, long maxCents) {
+        this.label = label;
+        this.minCents = minCents;
+        this.maxCents = maxCents;
+    }
+
+    /**
+     * Find the bucket a price falls into
+     *
+     * @param cents price in cents
+     * @return matching bucket
+     */
+    public static PriceBucket of(long cents) {
+        for (PriceBucket bucket : values()) {
+            if (cents < bucket.maxCents) {
+                return bucket;
+            }
+        }
+        return OVER_1000;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    long getMinCents() {
+        return minCents;
+    }
+
+    long getMaxCents() {
+        return maxCents;
+    }
+
+    /**
+     * @return lower bound as a price, for building filter links
+     */
+    public BigDecimal getMinPrice() {
+        return BigDecimal.valueOf(minCents, 2);
+    }
+
+    /**
+     * @return highest price in the bucket, or null when the bucket is open ended
+     */
+    public BigDecimal getMaxPrice() {
+        return maxCents == Long.MAX_VALUE ? null : BigDecimal.valueOf(maxCents - 1, 2);
+    }
+}
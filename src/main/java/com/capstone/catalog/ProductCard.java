@@ -0,0 +1,48 @@
+package com.capstone.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Product Card - the fields a product tile in a listing needs
+ *
+ * Fetched with a constructor projection, so listings never load the
+ * description, the category and seller associations or put entities into
+ * the persistence context.
+ *
+ * @param id            product ID
+ * @param title         product title
+ * @param price         current price
+ * @param originalPrice price before discount, or null
+ * @param imageUrl      main image URL
+ * @param averageRating average review rating (0 to 5)
+ * @param inStock       whether stock is on hand
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record ProductCard(Long id, String title, BigDecimal price, BigDecimal originalPrice, String imageUrl,
+                          BigDecimal averageRating, boolean inStock) {
+
+    /**
+     * Projection constructor used by the product repository
+     */
+    public ProductCard(Long id, String title, BigDecimal price, BigDecimal originalPrice, String imageUrl,
+                       BigDecimal averageRating, Integer stockQuantity) {
+        this(id, title, price, originalPrice, imageUrl, averageRating, stockQuantity != null && stockQuantity > 0);
+    }
+
+    public boolean hasDiscount() {
+        return originalPrice != null && price != null && originalPrice.compareTo(price) > 0;
+    }
+
+    /**
+     * @return average rating rounded to whole stars (0 to 5)
+     */
+    public int stars() {
+        if (averageRating == null) {
+            return 0;
+        }
+        return Math.max(0, Math.min(5, averageRating.setScale(0, RoundingMode.HALF_UP).intValue()));
+    }
+}
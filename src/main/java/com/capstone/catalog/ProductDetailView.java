@@ -0,0 +1,89 @@
+package com.capstone.catalog;
+
+import com.capstone.review.ReviewSummary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Product Detail View - everything the product details page shows about a product
+ *
+ * Read in a fixed number of statements (see
+ * {@link com.capstone.repository.ProductRepositoryCustom#findDetailView}) and
+ * cached as one unit, so rendering the page never touches a lazy association.
+ * The stock in the cache is replaced with the live count on every read (see
+ * {@link #withStock}).
+ * The category is kept as an ID; its breadcrumb comes from the in-memory
+ * category tree, which is always current.
+ *
+ * @param id            product ID
+ * @param title         product title
+ * @param description   product description
+ * @param price         current price
+ * @param originalPrice price before discount, or null
+ * @param imageUrl      main image URL
+ * @param images        gallery images in display order
+ * @param stockQuantity units in stock
+ * @param lowStock      whether the inventory record flags the product as low on stock
+ * @param categoryId    category ID
+ * @param sellerName    display name of the seller
+ * @param viewCount     views as of the last flushed batch
+ * @param createdAt     when the product was listed
+ * @param ratings       rating overview from the product's running aggregates
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record ProductDetailView(Long id, String title, String description, BigDecimal price,
+                                BigDecimal originalPrice, String imageUrl, List<Image> images,
+                                int stockQuantity, boolean lowStock, Long categoryId, String sellerName,
+                                int viewCount, LocalDateTime createdAt, ReviewSummary ratings) {
+
+    /**
+     * @param units units that can be reserved right now
+     * @return the same view with the given stock
+     */
+    public ProductDetailView withStock(int units) {
+        return new ProductDetailView(id, title, description, price, originalPrice, imageUrl, images, units,
+                lowStock, categoryId, sellerName, viewCount, createdAt, ratings);
+    }
+
+    public boolean inStock() {
+        return stockQuantity > 0;
+    }
+
+    public boolean hasDiscount() {
+        return originalPrice != null && price != null && originalPrice.compareTo(price) > 0;
+    }
+
+    /**
+     * @return discount in whole percent, 0 without a discount
+     */
+    public BigDecimal discountPercentage() {
+        if (!hasDiscount()) {
+            return BigDecimal.ZERO;
+        }
+        return originalPrice.subtract(price)
+                .divide(originalPrice, 2, RoundingMode.HALF_UP)
+                .multiply(new BigDecimal("100"));
+    }
+
+    public BigDecimal averageRating() {
+        return ratings.averageRating();
+    }
+
+    public int reviewCount() {
+        return ratings.reviewCount();
+    }
+
+    /**
+     * One gallery image
+     *
+     * @param url     image URL
+     * @param altText alternative text, or null
+     */
+    public record Image(String url, String altText) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Product Index - in-memory read model over the product catalog
+ *
+ * Implementations are rebuilt from the active catalog when the application
+ * starts and are kept current by {@link ProductIndexUpdater} whenever the
+ * product service creates, updates or deletes a product, and whenever
+ * buffered page views are written.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public interface ProductIndex {
+
+    /**
+     * Replace the whole index content
+     *
+     * @param products active products with their category loaded
+     */
+    void rebuild(Collection<Product> products);
+
+    /**
+     * Add or refresh a single active product
+     *
+     * @param product active product
+     */
+    void update(Product product);
+
+    /**
+     * Drop a product from the index
+     *
+     * @param productId product ID
+     */
+    void remove(Long productId);
+
+    /**
+     * Add written page views to the view counts of indexed products;
+     * indexes that do not use view counts ignore them
+     *
+     * @param views views added per product ID
+     */
+    default void viewsAdded(Map<Long, Long> views) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.capstone.catalog;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Product;
+import com.capstone.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product Index Updater
+ *
+ * Builds every {@link ProductIndex} from the active catalog once the
+ * application is ready (after the data initializer has run) and forwards
+ * product changes and written view counts to them. Changes made inside a
+ * transaction are applied only after it commits, so a rolled back update
+ * never reaches the indexes.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class ProductIndexUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIndexUpdater.class);
+
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+
+    @Autowired
+    public ProductIndexUpdater(ProductRepository productRepository, List<ProductIndex> indexes) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Rebuild all indexes from the active products
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        long start = System.nanoTime();
+        List<Product> products = productRepository.findActiveProductsWithCategory();
+        for (ProductIndex index : indexes) {
+            index.rebuild(products);
+        }
+        logger.info("Built {} product indexes over {} products in {} ms",
+                indexes.size(), products.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Propagate a created or updated product to all indexes
+     *
+     * @param product saved product
+     */
+    public void productChanged(Product product) {
+        AfterCommit.run(() -> {
+            for (ProductIndex index : indexes) {
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    index.update(product);
+                } else {
+                    index.remove(product.getId());
+                }
+            }
+        });
+    }
+
+    /**
+     * Propagate page views written by the {@link ViewCountBuffer} to all indexes
+     *
+     * @param views views added per product ID
+     */
+    public void viewsFlushed(Map<Long, Long> views) {
+        AfterCommit.run(() -> {
+            for (ProductIndex index : indexes) {
+                index.viewsAdded(views);
+            }
+        });
+    }
+
+    /**
+     * Remove a product from all indexes
+     *
+     * @param productId product ID
+     */
+    public void productRemoved(Long productId) {
+        AfterCommit.run(() -> {
+            for (ProductIndex index : indexes) {
+                index.remove(productId);
+            }
+        });
+    }
+}
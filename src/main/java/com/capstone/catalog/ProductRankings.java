@@ -0,0 +1,341 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Product Rankings - pre-sorted product IDs per category
+ *
+ * For the whole catalog, for every category and for the featured products
+ * this index keeps the active product IDs already ordered by each sort
+ * (newest, price both ways, rating, popularity) in plain {@code long[]}
+ * arrays. Listing the first page - or the page after a cursor - is a binary
+ * search followed by an array slice, whatever the category size.
+ *
+ * Rankings are immutable snapshots: readers never lock, and a product change
+ * builds new arrays for the few rankings it touches (one insert or removal
+ * with {@link System#arraycopy}) and publishes them in a single volatile write.
+ * Written page views move products within the popularity order the same
+ * way; a flush touching more than {@value #INCREMENTAL_LIMIT} products sorts
+ * every ranking again instead.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class ProductRankings implements ProductIndex {
+
+    static final ProductSort[] SORTS = {
+            ProductSort.NEWEST, ProductSort.PRICE_LOW, ProductSort.PRICE_HIGH, ProductSort.RATING, ProductSort.POPULAR
+    };
+    private static final int POPULAR_SORT = Arrays.asList(SORTS).indexOf(ProductSort.POPULAR);
+    // Beyond this many moved products, one sort is cheaper than an array copy per product
+    static final int INCREMENTAL_LIMIT = 64;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    @Override
+    public synchronized void rebuild(Collection<Product> products) {
+        entries.clear();
+        for (Product product : products) {
+            if (product.getId() != null) {
+                Entry entry = Entry.of(product);
+                entries.put(entry.id(), entry);
+            }
+        }
+        snapshot = Snapshot.of(entries.values());
+    }
+
+    @Override
+    public synchronized void update(Product product) {
+        Snapshot current = snapshot;
+        Entry previous = entries.get(product.getId());
+        Entry entry = Entry.of(product);
+        if (entry.equals(previous)) {
+            return;
+        }
+        Snapshot removed = previous != null ? current.without(previous) : current;
+        entries.put(entry.id(), entry);
+        snapshot = removed.with(entry);
+    }
+
+    @Override
+    public synchronized void remove(Long productId) {
+        Entry previous = entries.remove(productId);
+        if (previous != null) {
+            snapshot = snapshot.without(previous);
+        }
+    }
+
+    @Override
+    public synchronized void viewsAdded(Map<Long, Long> views) {
+        Snapshot current = snapshot;
+        int moved = 0;
+        for (Map.Entry<Long, Long> view : views.entrySet()) {
+            Entry previous = entries.get(view.getKey());
+            if (previous == null || view.getValue() == 0) {
+                continue;
+            }
+            Entry entry = previous.withViews(view.getValue());
+            entries.put(entry.id(), entry);
+            if (++moved <= INCREMENTAL_LIMIT) {
+                current = current.without(previous).with(entry);
+            }
+        }
+        snapshot = moved <= INCREMENTAL_LIMIT ? current : Snapshot.of(entries.values());
+    }
+
+    /**
+     * Read one page of a ranking
+     *
+     * @param categoryId category, or null for the whole catalog
+     * @param sort ordering; relevance is treated as newest
+     * @param after last product of the previous page, or null for the first page
+     * @param limit page size
+     * @return product IDs on the page with the cursor of the next one
+     */
+    public Slice page(Long categoryId, ProductSort sort, CatalogCursor after, int limit) {
+        Snapshot current = snapshot;
+        Ranking ranking = categoryId == null ? current.all() : current.categories().getOrDefault(categoryId, Ranking.EMPTY);
+        return ranking.slice(sort == ProductSort.RELEVANCE ? ProductSort.NEWEST : sort, after, limit);
+    }
+
+    /**
+     * @param limit maximum number of products
+     * @return newest featured product IDs
+     */
+    public List<Long> featured(int limit) {
+        return snapshot.featured().slice(ProductSort.NEWEST, null, limit).productIds();
+    }
+
+    /**
+     * One page of ranked product IDs
+     *
+     * @param productIds product IDs on the page
+     * @param next       cursor for the following page, or null on the last page
+     * @param totalCount number of products in the ranking
+     */
+    public record Slice(List<Long> productIds, CatalogCursor next, int totalCount) {
+    }
+
+    /**
+     * Sort keys of one product, indexed like {@link #SORTS}
+     */
+    private record Entry(long id, Long categoryId, boolean featured, long[] keys) {
+
+        static Entry of(Product product) {
+            long[] keys = new long[SORTS.length];
+            for (int i = 0; i < SORTS.length; i++) {
+                keys[i] = SORTS[i].key(product);
+            }
+            Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+            return new Entry(product.getId(), categoryId, Boolean.TRUE.equals(product.getIsFeatured()), keys);
+        }
+
+        Entry withViews(long added) {
+            long[] newKeys = keys.clone();
+            newKeys[POPULAR_SORT] += added;
+            return new Entry(id, categoryId, featured, newKeys);
+        }
+
+        /**
+         * Key in display order: descending sorts store the negated key so
+         * every array is ascending by (key, id)
+         */
+        long orderKey(int sortIndex) {
+            return SORTS[sortIndex].isAscending() ? keys[sortIndex] : -keys[sortIndex];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry entry && id == entry.id && featured == entry.featured
+                    && Objects.equals(categoryId, entry.categoryId) && Arrays.equals(keys, entry.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+
+    /**
+     * Rankings of every scope at one point in time
+     */
+    private record Snapshot(Ranking all, Map<Long, Ranking> categories, Ranking featured) {
+
+        static final Snapshot EMPTY = new Snapshot(Ranking.EMPTY, Map.of(), Ranking.EMPTY);
+
+        static Snapshot of(Collection<Entry> entries) {
+            Map<Long, List<Entry>> byCategory = new HashMap<>();
+            List<Entry> featured = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.categoryId() != null) {
+                    byCategory.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(entry);
+                }
+                if (entry.featured()) {
+                    featured.add(entry);
+                }
+            }
+            Map<Long, Ranking> categories = new HashMap<>();
+            byCategory.forEach((categoryId, categoryEntries) -> categories.put(categoryId, Ranking.of(categoryEntries)));
+            return new Snapshot(Ranking.of(entries), Map.copyOf(categories), Ranking.of(featured));
+        }
+
+        Snapshot with(Entry entry) {
+            Map<Long, Ranking> newCategories = categories;
+            if (entry.categoryId() != null) {
+                newCategories = new HashMap<>(categories);
+                newCategories.put(entry.categoryId(), categories.getOrDefault(entry.categoryId(), Ranking.EMPTY).with(entry));
+            }
+            return new Snapshot(all.with(entry), newCategories, entry.featured() ? featured.with(entry) : featured);
+        }
+
+        Snapshot without(Entry entry) {
+            Map<Long, Ranking> newCategories = categories;
+            Ranking category = entry.categoryId() != null ? categories.get(entry.categoryId()) : null;
+            if (category != null) {
+                newCategories = new HashMap<>(categories);
+                Ranking remaining = category.without(entry);
+                if (remaining.size() == 0) {
+                    newCategories.remove(entry.categoryId());
+                } else {
+                    newCategories.put(entry.categoryId(), remaining);
+                }
+            }
+            return new Snapshot(all.without(entry), newCategories, entry.featured() ? featured.without(entry) : featured);
+        }
+    }
+
+    /**
+     * Product IDs of one scope sorted every way; arrays are never modified
+     */
+    private static final class Ranking {
+
+        static final Ranking EMPTY = new Ranking(new long[SORTS.length][0], new long[SORTS.length][0]);
+
+        private final long[][] keys;
+        private final long[][] ids;
+
+        private Ranking(long[][] keys, long[][] ids) {
+            this.keys = keys;
+            this.ids = ids;
+        }
+
+        static Ranking of(Collection<Entry> entries) {
+            long[][] keys = new long[SORTS.length][];
+            long[][] ids = new long[SORTS.length][];
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            for (int s = 0; s < SORTS.length; s++) {
+                int sortIndex = s;
+                Arrays.sort(sorted, Comparator.<Entry>comparingLong(entry -> entry.orderKey(sortIndex))
+                        .thenComparingLong(Entry::id));
+                keys[s] = new long[sorted.length];
+                ids[s] = new long[sorted.length];
+                for (int i = 0; i < sorted.length; i++) {
+                    keys[s][i] = sorted[i].orderKey(s);
+                    ids[s][i] = sorted[i].id();
+                }
+            }
+            return new Ranking(keys, ids);
+        }
+
+        int size() {
+            return ids[0].length;
+        }
+
+        Ranking with(Entry entry) {
+            long[][] newKeys = new long[SORTS.length][];
+            long[][] newIds = new long[SORTS.length][];
+            for (int s = 0; s < SORTS.length; s++) {
+                long key = entry.orderKey(s);
+                int at = -(search(keys[s], ids[s], key, entry.id()) + 1);
+                newKeys[s] = insert(keys[s], at, key);
+                newIds[s] = insert(ids[s], at, entry.id());
+            }
+            return new Ranking(newKeys, newIds);
+        }
+
+        Ranking without(Entry entry) {
+            long[][] newKeys = new long[SORTS.length][];
+            long[][] newIds = new long[SORTS.length][];
+            for (int s = 0; s < SORTS.length; s++) {
+                int at = search(keys[s], ids[s], entry.orderKey(s), entry.id());
+                if (at < 0) {
+                    return this;
+                }
+                newKeys[s] = delete(keys[s], at);
+                newIds[s] = delete(ids[s], at);
+            }
+            return new Ranking(newKeys, newIds);
+        }
+
+        Slice slice(ProductSort sort, CatalogCursor after, int limit) {
+            int s = Arrays.asList(SORTS).indexOf(sort);
+            long[] sortKeys = keys[s];
+            long[] sortIds = ids[s];
+            int start = 0;
+            if (after != null) {
+                long afterKey = sort.isAscending() ? after.key() : -after.key();
+                int found = search(sortKeys, sortIds, afterKey, after.id());
+                start = found >= 0 ? found + 1 : -(found + 1);
+            }
+            int end = Math.min(sortIds.length, start + Math.max(0, limit));
+            List<Long> page = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                page.add(sortIds[i]);
+            }
+            CatalogCursor next = null;
+            if (end < sortIds.length && end > start) {
+                long lastKey = sortKeys[end - 1];
+                next = new CatalogCursor(sort.isAscending() ? lastKey : -lastKey, sortIds[end - 1]);
+            }
+            return new Slice(page, next, sortIds.length);
+        }
+
+        /**
+         * Binary search on (key, id); same contract as {@link Arrays#binarySearch(long[], long)}
+         */
+        private static int search(long[] keys, long[] ids, long key, long id) {
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys[mid] != key ? Long.compare(keys[mid], key) : Long.compare(ids[mid], id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static long[] insert(long[] array, int at, long value) {
+            long[] result = new long[array.length + 1];
+            System.arraycopy(array, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(array, at, result, at + 1, array.length - at);
+            return result;
+        }
+
+        private static long[] delete(long[] array, int at) {
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, at);
+            System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Product;
+
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+
+/**
+ * Product Sort - orderings offered on catalog listings
+ *
+ * Every ordering is a single numeric key with the product ID as tie breaker,
+ * so a position in any listing can be expressed as a (key, ID) cursor and the
+ * next page can start right after it instead of skipping rows with OFFSET.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public enum ProductSort {
+
+    RELEVANCE("relevance", "Best match", false),
+    NEWEST("newest", "Newest", false),
+    PRICE_LOW("price_low", "Price: low to high", true),
+    PRICE_HIGH("price_high", "Price: high to low", false),
+    RATING("rating", "Top rated", false),
+    POPULAR("popular", "Most popular", false);
+
+    private final String param;
+    private final String label;
+    private final boolean ascending;
+
+    ProductSort(String param, String label, boolean ascending) {
+        this.param = param;
+        this.label = label;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Resolve a request parameter
+     *
+     * @param value request parameter value, e.g. "price_low"
+     * @param fallback sort to use when the value is missing or unknown
+     * @return matching sort
+     */
+    public static ProductSort fromParam(String value, ProductSort fallback) {
+        if (value != null) {
+            for (ProductSort sort : values()) {
+                if (sort.param.equalsIgnoreCase(value.trim())) {
+                    return sort;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Sort key of a product: price in cents, creation time in epoch
+     * milliseconds (newest first), rating in hundredths of a star or view
+     * count. IDs come from pooled sequence blocks and are not chronological,
+     * so they only break ties. Relevance has no key of its own and falls
+     * back to newest outside of text searches.
+     *
+     * @param product product
+     * @return sort key
+     */
+    public long key(Product product) {
+        return switch (this) {
+            case PRICE_LOW, PRICE_HIGH -> product.getPrice() == null ? 0
+                    : product.getPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+            case RATING -> product.getAverageRating() == null ? 0
+                    : product.getAverageRating().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+            case POPULAR -> product.getViewCount() == null ? 0 : product.getViewCount();
+            case NEWEST, RELEVANCE -> product.getCreatedAt() == null ? 0
+                    : product.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        };
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+}
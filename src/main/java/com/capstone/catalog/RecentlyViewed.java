@@ -0,0 +1,79 @@
+package com.capstone.catalog;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recently Viewed - the last products a visitor looked at
+ *
+ * A ring of at most {@value #CAPACITY} distinct product IDs kept in the HTTP
+ * session: one long array and two ints, under two hundred bytes however
+ * long the session lasts. Viewing a product again moves it to the front
+ * instead of adding a duplicate; the oldest ID falls out once the ring is
+ * full. Only IDs are kept, so the session never holds stale entities.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class RecentlyViewed implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int CAPACITY = 8;
+
+    private final long[] ids = new long[CAPACITY];
+    private int head = -1;
+    private int size;
+
+    /**
+     * Put a product at the front
+     *
+     * @param productId viewed product
+     */
+    public synchronized void record(long productId) {
+        int position = positionOf(productId);
+        if (position == 0) {
+            return;
+        }
+        if (position > 0) {
+            // Close the gap by moving the older entries one step towards the front
+            for (int i = position; i < size - 1; i++) {
+                ids[slot(i)] = ids[slot(i + 1)];
+            }
+            size--;
+        }
+        head = (head + 1) % CAPACITY;
+        ids[head] = productId;
+        size = Math.min(size + 1, CAPACITY);
+    }
+
+    /**
+     * @return viewed product IDs, most recent first
+     */
+    public synchronized List<Long> productIds() {
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ids[slot(i)]);
+        }
+        return result;
+    }
+
+    // Private helper methods
+    private int positionOf(long productId) {
+        for (int i = 0; i < size; i++) {
+            if (ids[slot(i)] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param position 0 for the most recent entry
+     * @return array index of the entry
+     */
+    private int slot(int position) {
+        return Math.floorMod(head - position, CAPACITY);
+    }
+}
@@ -0,0 +1,219 @@
+package com.capstone.catalog;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Trending Products - sliding-window activity ranking
+ *
+ * Every product with recent activity owns a ring of time buckets that
+ * together cover the last {@code app.trending.window-minutes}. Views, cart
+ * additions and ordered units add a weighted score to the current bucket;
+ * moving into a new bucket clears the oldest one and subtracts it from a
+ * running total, so the score of a product is always one field read. A
+ * counter takes a few hundred bytes and disappears once its window is empty.
+ *
+ * A refresh every few seconds keeps a bounded min-heap of the
+ * {@value #TOP_K} best scores and publishes them as an immutable list;
+ * {@link #top(int)} only returns a view of that list.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class TrendingProducts implements ProductIndex {
+
+    static final int VIEW_WEIGHT = 1;
+    static final int CART_WEIGHT = 5;
+    static final int ORDER_WEIGHT = 10;
+    static final int TOP_K = 20;
+
+    private static final Comparator<Ranked> WORST_FIRST =
+            Comparator.comparingLong(Ranked::score).thenComparing(Ranked::productId, Comparator.reverseOrder());
+
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private volatile List<Long> top = List.of();
+
+    @Autowired
+    public TrendingProducts(@Value("${app.trending.window-minutes:60}") long windowMinutes,
+                            @Value("${app.trending.buckets:12}") int buckets) {
+        this(TimeUnit.MINUTES.toMillis(windowMinutes), buckets, System::currentTimeMillis);
+    }
+
+    TrendingProducts(long windowMillis, int buckets, LongSupplier clock) {
+        if (buckets <= 0 || windowMillis < buckets) {
+            throw new IllegalArgumentException("Trending window must hold at least one millisecond per bucket");
+        }
+        this.bucketCount = buckets;
+        this.bucketMillis = windowMillis / buckets;
+        this.clock = clock;
+    }
+
+    /**
+     * @param productId viewed product
+     */
+    public void recordView(Long productId) {
+        record(productId, VIEW_WEIGHT);
+    }
+
+    /**
+     * @param productId product added to a cart
+     */
+    public void recordCartAdd(Long productId) {
+        record(productId, CART_WEIGHT);
+    }
+
+    /**
+     * Count an ordered line once the order commits
+     *
+     * @param productId ordered product
+     * @param quantity  ordered units
+     */
+    public void recordOrderLine(Long productId, int quantity) {
+        AfterCommit.run(() -> record(productId, ORDER_WEIGHT * Math.max(1, quantity)));
+    }
+
+    /**
+     * @param limit maximum number of products
+     * @return IDs of the most active products in the window as of the last refresh, best first
+     */
+    public List<Long> top(int limit) {
+        List<Long> current = top;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    /**
+     * Expire old buckets, drop idle products and publish the new top list
+     */
+    @Scheduled(fixedDelayString = "${app.trending.refresh-ms:10000}")
+    public void refresh() {
+        long bucket = currentBucket();
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(TOP_K + 1, WORST_FIRST);
+        for (Long productId : counters.keySet()) {
+            long[] score = new long[1];
+            counters.computeIfPresent(productId, (id, counter) -> {
+                score[0] = counter.advance(bucket);
+                return score[0] > 0 ? counter : null;
+            });
+            if (score[0] > 0) {
+                heap.offer(new Ranked(productId, score[0]));
+                if (heap.size() > TOP_K) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Long> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            best.add(heap.poll().productId());
+        }
+        Collections.reverse(best);
+        top = List.copyOf(best);
+    }
+
+    /**
+     * @return number of products with activity in the window
+     */
+    public int activeProducts() {
+        return counters.size();
+    }
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        // Activity is collected from events, not from the catalog
+    }
+
+    @Override
+    public void update(Product product) {
+        // Product details do not affect activity
+    }
+
+    @Override
+    public void remove(Long productId) {
+        if (counters.remove(productId) != null) {
+            top = top.stream().filter(id -> !id.equals(productId)).toList();
+        }
+    }
+
+    // Private helper methods
+    private void record(Long productId, int weight) {
+        if (productId == null) {
+            return;
+        }
+        long bucket = currentBucket();
+        counters.compute(productId, (id, counter) -> {
+            Counter target = counter != null ? counter : new Counter(bucketCount, bucket);
+            target.add(bucket, weight);
+            return target;
+        });
+    }
+
+    private long currentBucket() {
+        return clock.getAsLong() / bucketMillis;
+    }
+
+    private record Ranked(long productId, long score) {
+    }
+
+    /**
+     * Ring of per-bucket scores; only used inside the map's per-key locks
+     */
+    private static final class Counter {
+        private final int[] scores;
+        private long lastBucket;
+        private long total;
+
+        private Counter(int buckets, long bucket) {
+            this.scores = new int[buckets];
+            this.lastBucket = bucket;
+        }
+
+        private void add(long bucket, int weight) {
+            advance(bucket);
+            scores[(int) (bucket % scores.length)] += weight;
+            total += weight;
+        }
+
+        /**
+         * Clear the buckets that fell out of the window
+         *
+         * @return score over the window ending at the bucket
+         */
+        private long advance(long bucket) {
+            long elapsed = bucket - lastBucket;
+            if (elapsed <= 0) {
+                return total;
+            }
+            if (elapsed >= scores.length) {
+                Arrays.fill(scores, 0);
+                total = 0;
+            } else {
+                for (long expired = lastBucket + 1; expired <= bucket; expired++) {
+                    int slot = (int) (expired % scores.length);
+                    total -= scores[slot];
+                    scores[slot] = 0;
+                }
+            }
+            lastBucket = bucket;
+            return total;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.capstone.catalog;
+
+import com.capstone.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * View Count Buffer - write-behind product view counter
+ *
+ * A page view only increments a striped {@link LongAdder} for the product;
+ * no transaction, no entity load and no row lock. Every few seconds (and once
+ * more when the application shuts down) the accumulated deltas are written
+ * in a single JDBC batch of {@code view_count = view_count + ?} updates, so a
+ * popular product costs one row update per flush instead of one per view.
+ * Once written, the deltas are passed to the {@link ProductIndexUpdater}, so
+ * the "Most popular" order follows the views without reloading products.
+ *
+ * Draining uses {@link LongAdder#sumThenReset()}, which moves each stripe to
+ * zero atomically: an increment racing with a flush is either part of this
+ * flush or left for the next one, never lost. A failed flush adds its deltas
+ * back. Adders are kept for the lifetime of the application, at most one per
+ * viewed product, so a thread never increments an adder that was dropped.
+ *
+ * Metrics: {@code products.views.pending} (views not yet written),
+ * {@code products.views.flush.lag} (seconds since the last successful flush)
+ * and the {@code products.views.flush} timer.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    private final ProductRepository productRepository;
+    private final ProductIndexUpdater indexUpdater;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private volatile long lastFlushNanos = System.nanoTime();
+
+    @Autowired
+    public ViewCountBuffer(ProductRepository productRepository, ProductIndexUpdater indexUpdater,
+                           MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.indexUpdater = indexUpdater;
+        this.flushTimer = Timer.builder("products.views.flush")
+                .description("Time taken to write buffered view counts")
+                .register(meterRegistry);
+        Gauge.builder("products.views.pending", this, ViewCountBuffer::pendingViews)
+                .description("Product views counted in memory but not yet written")
+                .register(meterRegistry);
+        Gauge.builder("products.views.flush.lag", this, ViewCountBuffer::flushLagSeconds)
+                .description("Seconds since buffered view counts were last written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count one view of a product
+     *
+     * @param productId viewed product ID
+     */
+    public void record(Long productId) {
+        pending.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write all buffered views to the database
+     *
+     * @return number of products updated
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((productId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(productId, delta);
+            }
+        });
+        if (!deltas.isEmpty()) {
+            try {
+                flushTimer.record(() -> productRepository.addViewCounts(deltas));
+            } catch (RuntimeException e) {
+                // Keep the views for the next attempt
+                deltas.forEach((productId, delta) -> pending.get(productId).add(delta));
+                logger.warn("Failed to flush {} product view counts, will retry", deltas.size(), e);
+                return 0;
+            }
+            indexUpdater.viewsFlushed(deltas);
+        }
+        lastFlushNanos = System.nanoTime();
+        return deltas.size();
+    }
+
+    /**
+     * @return views counted in memory but not yet written
+     */
+    public long pendingViews() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @param productId product ID
+     * @return views of the product not yet written
+     */
+    public long pendingViews(Long productId) {
+        LongAdder adder = pending.get(productId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int products = flush();
+        logger.info("Flushed view counts of {} products on shutdown", products);
+    }
+
+    private double flushLagSeconds() {
+        return (System.nanoTime() - lastFlushNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
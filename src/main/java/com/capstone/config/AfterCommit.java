@@ -0,0 +1,57 @@
+package com.capstone.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * After Commit - defers in-memory updates until the current transaction ends
+ *
+ * Indexes, counters and caches kept in memory must not see changes that are
+ * rolled back. Outside a transaction the action runs right away.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run an action once the current transaction commits; never when it rolls back
+     *
+     * @param action action to run
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run an action once the current transaction ends, telling it whether it committed
+     *
+     * @param action action receiving {@code true} after a commit and {@code false} after a rollback
+     */
+    public static void onCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
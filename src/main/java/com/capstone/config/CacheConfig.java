@@ -0,0 +1,102 @@
+package com.capstone.config;
+
+import com.capstone.catalog.ProductDetailView;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache Configuration for GaniMart
+ *
+ * This configuration provides:
+ * - Caffeine caches (W-TinyLFU eviction) for product details, product
+ *   cards and featured products, each bounded by size or weight and
+ *   expired after a TTL
+ * - Hit, miss and eviction statistics, published by Actuator as the
+ *   cache.gets and cache.evictions metrics
+ * - Transaction-aware eviction: a service method that changes a product
+ *   evicts its entries only after the transaction commits, so a
+ *   concurrent reader cannot cache the old row again in between
+ *
+ * Only the caches declared here exist; naming any other cache fails fast
+ * instead of creating an unbounded one.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_CARDS = "productCards";
+    public static final String FEATURED_PRODUCTS = "featuredProducts";
+
+    private static final int BYTES_PER_WEIGHT_UNIT = 1024;
+
+    @Value("${app.cache.products.max-weight:4096}")
+    private long productsMaxWeight;
+
+    @Value("${app.cache.products.ttl-minutes:10}")
+    private long productsTtlMinutes;
+
+    @Value("${app.cache.product-cards.max-size:1024}")
+    private long cardsMaxSize;
+
+    // Cards carry stock and rating, which change without an eviction at checkout
+    @Value("${app.cache.product-cards.ttl-minutes:2}")
+    private long cardsTtlMinutes;
+
+    @Value("${app.cache.featured-products.max-size:16}")
+    private long featuredMaxSize;
+
+    @Value("${app.cache.featured-products.ttl-minutes:2}")
+    private long featuredTtlMinutes;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.newBuilder()
+                .maximumWeight(productsMaxWeight)
+                .weigher((Object id, Object product) -> weigh((ProductDetailView) product))
+                .expireAfterWrite(Duration.ofMinutes(productsTtlMinutes))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCT_CARDS, Caffeine.newBuilder()
+                .maximumSize(cardsMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cardsTtlMinutes))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(FEATURED_PRODUCTS, Caffeine.newBuilder()
+                .maximumSize(featuredMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(featuredTtlMinutes))
+                .recordStats()
+                .build());
+        // Static mode: unknown cache names are rejected
+        cacheManager.setCacheNames(List.of());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Approximate memory footprint of a cached product detail view, in
+     * kilobytes of text (title and description), never less than one
+     *
+     * @param product cached detail view
+     * @return cache weight
+     */
+    static int weigh(ProductDetailView product) {
+        long characters = length(product.title()) + length(product.description());
+        return (int) Math.min(Integer.MAX_VALUE, 1 + 2 * characters / BYTES_PER_WEIGHT_UNIT);
+    }
+
+    private static long length(String text) {
+        return text != null ? text.length() : 0;
+    }
+}
@@ -1,11 +1,13 @@
 package com.capstone.config;
 
 import com.capstone.domain.*;
+import com.capstone.inventory.StockReservationEngine;
 import com.capstone.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,6 +19,8 @@ import java.util.HashSet;
  * 
  * This component runs after the application starts and populates
  * the database with sample data for testing and demonstration.
+ * Everything is written in one transaction, so the sequence IDs are
+ * assigned up front and the rows go out as JDBC batches on flush.
  * 
  * @author Capstone Student
  * @version 1.0.0
@@ -28,9 +32,12 @@ public class DataInitializer implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final ProductRepository productRepository;
     private final InventoryRepository inventoryRepository;
     private final AddressRepository addressRepository;
+    private final ReviewRepository reviewRepository;
+    private final StockReservationEngine stockReservationEngine;
 
     private final PasswordEncoder passwordEncoder;
 
@@ -39,21 +46,28 @@ public class DataInitializer implements CommandLineRunner {
                           RoleRepository roleRepository,
                           UserRoleRepository userRoleRepository,
                           CategoryRepository categoryRepository,
+                          CategoryClosureRepository categoryClosureRepository,
                           ProductRepository productRepository,
                           InventoryRepository inventoryRepository,
                           AddressRepository addressRepository,
+                          ReviewRepository reviewRepository,
+                          StockReservationEngine stockReservationEngine,
                           PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.userRoleRepository = userRoleRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
         this.productRepository = productRepository;
         this.inventoryRepository = inventoryRepository;
         this.addressRepository = addressRepository;
+        this.reviewRepository = reviewRepository;
+        this.stockReservationEngine = stockReservationEngine;
         this.passwordEncoder = passwordEncoder;
     }
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         System.out.println("=== Initializing Test Data ===");
         
@@ -89,6 +103,15 @@ public class DataInitializer implements CommandLineRunner {
         Category fiction = createCategory("Fiction", "Fictional literature", books);
         Category nonFiction = createCategory("Non-Fiction", "Educational and reference books", books);
         
+        // Closure rows once all categories exist, parents first; the first native insert flushes them in one batch
+        for (Category category : Arrays.asList(electronics, clothing, books, smartphones, laptops,
+                tshirts, jeansCategory, fiction, nonFiction)) {
+            categoryClosureRepository.insertSelf(category.getId());
+            if (category.getParentCategory() != null) {
+                categoryClosureRepository.linkSubtree(category.getId(), category.getParentCategory().getId());
+            }
+        }
+        
         // Create products
         Product iphone = createProduct("iPhone 15 Pro", 
             "Latest iPhone with advanced camera and performance", 
@@ -146,6 +169,13 @@ public class DataInitializer implements CommandLineRunner {
         createInventory(harryPotter, 200);
         createInventory(javaBook, 150);
         
+        // Create sample reviews; the products keep their rating aggregates in step
+        for (Product product : Arrays.asList(iphone, macbook, tshirt, jeans, harryPotter, javaBook)) {
+            createReview(product, customer, "Great value", "Does exactly what I needed.");
+            createReview(product, testUser, "Happy with it", "Arrived quickly and works well.");
+            createReview(product, admin, "Solid choice", "Would recommend to friends.");
+        }
+        
         // Create addresses
         createAddress(customer, "123 Main St", "Apt 4B", "New York", "NY", "10001", "USA", Address.AddressType.SHIPPING);
         createAddress(customer, "123 Main St", "Apt 4B", "New York", "NY", "10001", "USA", Address.AddressType.BILLING);
@@ -159,6 +189,7 @@ public class DataInitializer implements CommandLineRunner {
         System.out.println("- 6 Categories (Electronics, Clothing, Books with subcategories)");
         System.out.println("- 6 Products with images and pricing");
         System.out.println("- Inventory records for all products");
+        System.out.println("- 3 Reviews per product");
         System.out.println("- Sample addresses for users");
         System.out.println();
         System.out.println("=== Test Login Credentials ===");
@@ -221,14 +252,28 @@ public class DataInitializer implements CommandLineRunner {
         product.setImageUrl(imageUrl);
         product.setIsActive(true);
         product.setIsFeatured(Math.random() < 0.3); // 30% chance to be featured
-        product.setAverageRating(BigDecimal.valueOf(4.0 + Math.random() * 1.0)); // 4.0-5.0 rating
-        product.setReviewCount((int) (Math.random() * 50) + 5); // 5-55 reviews
         product.setViewCount((int) (Math.random() * 1000) + 100); // 100-1100 views
         product.setCreatedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
         return productRepository.save(product);
     }
     
+    private Review createReview(Product product, User user, String title, String content) {
+        Review review = new Review();
+        review.setReviewTitle(title);
+        review.setReviewContent(content);
+        review.setRating(3 + (int) (Math.random() * 3)); // 3-5 stars
+        review.setUser(user);
+        review.setIsVerifiedPurchase(Math.random() < 0.5);
+        review.setIsApproved(true);
+        review.setCreatedAt(LocalDateTime.now());
+        review.setUpdatedAt(LocalDateTime.now());
+        product.addReview(review);
+        Review savedReview = reviewRepository.save(review);
+        productRepository.save(product);
+        return savedReview;
+    }
+    
     private Inventory createInventory(Product product, int quantity) {
         Inventory inventory = new Inventory(product, quantity);
         inventory.setMinimumStock(10);
@@ -238,7 +283,9 @@ public class DataInitializer implements CommandLineRunner {
         // Update product stock quantity
         product.setStockQuantity(quantity);
         productRepository.save(product);
-        return inventoryRepository.save(inventory);
+        Inventory savedInventory = inventoryRepository.save(inventory);
+        stockReservationEngine.inventoryCreated(product.getId());
+        return savedInventory;
     }
     
     private Address createAddress(User user, String street, String apartment, 
@@ -2,8 +2,11 @@ package com.capstone.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -33,6 +36,30 @@ public class SecurityConfig {
         return authProvider;
     }
 
+    /**
+     * Actuator endpoints are called by scripts rather than pages: only HTTP
+     * Basic credentials of an ADMIN count, never the session cookie, so a
+     * forged cross-site request carries no authority and no CSRF token is needed
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authenticationProvider(authenticationProvider())
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health").permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -40,6 +67,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 // Публичные страницы
                 .requestMatchers("/", "/home", "/catalog", "/about", "/contact").permitAll()
+                .requestMatchers("/api/search/**").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/h2-console/**").permitAll()
                 .requestMatchers("/auth/login", "/auth/register").permitAll()
                 
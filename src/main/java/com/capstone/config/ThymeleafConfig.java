@@ -30,7 +30,7 @@ public class ThymeleafConfig implements WebMvcConfigurer {
         
         registry
             .addResourceHandler("/js/**")
-            .addResourceLocations("classpath:/static/css/");
+            .addResourceLocations("classpath:/static/js/");
         
         registry
             .addResourceHandler("/images/**")
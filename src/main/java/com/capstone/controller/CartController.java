@@ -3,6 +3,8 @@ package com.capstone.controller;
 import com.capstone.cart.CartItem;
 import com.capstone.cart.CartSummary;
 import com.capstone.service.CartService;
+import com.capstone.service.ProductService;
+import com.capstone.service.RecentlyViewedService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -16,10 +18,15 @@ import java.util.Map;
 public class CartController {
 
 	private final CartService cartService;
+	private final ProductService productService;
+	private final RecentlyViewedService recentlyViewedService;
 
 	@Autowired
-	public CartController(CartService cartService) {
+	public CartController(CartService cartService, ProductService productService,
+	                      RecentlyViewedService recentlyViewedService) {
 		this.cartService = cartService;
+		this.productService = productService;
+		this.recentlyViewedService = recentlyViewedService;
 	}
 
 	@GetMapping("/cart")
@@ -28,7 +35,8 @@ public class CartController {
 		CartSummary summary = cartService.getSummary();
 		model.addAttribute("cartItems", items);
 		model.addAttribute("cartSummary", summary);
-		model.addAttribute("recentlyViewed", List.of());
+		model.addAttribute("alsoBought", productService.getFrequentlyBoughtTogether(items.stream().map(CartItem::getId).toList()));
+		model.addAttribute("recentlyViewed", recentlyViewedService.getRecentlyViewed());
 		return "cart/cart";
 	}
 
@@ -40,7 +48,7 @@ public class CartController {
 		return ResponseEntity.ok(Map.of(
 			"success", true,
 			"message", "Product added to cart successfully",
-			"cartItemCount", cartService.getItems().size()
+			"cartItemCount", cartService.getItemCount()
 		));
 	}
 
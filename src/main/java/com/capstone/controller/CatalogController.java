@@ -1,9 +1,17 @@
 package com.capstone.controller;
 
-import com.capstone.domain.Category;
-import com.capstone.domain.Product;
+import com.capstone.catalog.CatalogSearchResult;
+import com.capstone.catalog.CategoryNode;
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.FacetFilter;
+import com.capstone.catalog.PriceBucket;
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.catalog.ProductSort;
+import com.capstone.review.ReviewSort;
 import com.capstone.service.CategoryService;
 import com.capstone.service.ProductService;
+import com.capstone.service.RecentlyViewedService;
+import com.capstone.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,7 +19,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Catalog Controller - Presentation Layer
@@ -27,11 +39,16 @@ public class CatalogController {
 
     private final ProductService productService;
     private final CategoryService categoryService;
+    private final ReviewService reviewService;
+    private final RecentlyViewedService recentlyViewedService;
 
     @Autowired
-    public CatalogController(ProductService productService, CategoryService categoryService) {
+    public CatalogController(ProductService productService, CategoryService categoryService,
+                             ReviewService reviewService, RecentlyViewedService recentlyViewedService) {
         this.productService = productService;
         this.categoryService = categoryService;
+        this.reviewService = reviewService;
+        this.recentlyViewedService = recentlyViewedService;
     }
 
     /**
@@ -39,17 +56,31 @@ public class CatalogController {
      * 
      * @param model Spring MVC model for template data
      * @param query search query
-     * @param categoryId category filter
-     * @param minPrice minimum price filter
-     * @param maxPrice maximum price filter
+     * @param categoryId category filters (repeat the parameter to select several)
+     * @param minPrice minimum price filter; ignored when negative
+     * @param maxPrice maximum price filter; ignored when negative, swapped with minPrice when lower
+     * @param minRating minimum average rating in stars; clamped to 5, ignored below 1
+     * @param inStock only show products in stock
+     * @param featured only show featured products
+     * @param fuzzy tolerate misspellings in the search query
+     * @param sort sort order (relevance, newest, price_low, price_high, rating, popular)
+     * @param cursor next page token from the previous page
+     * @param size page size
      * @return view name for catalog page
      */
     @GetMapping("/catalog")
     public String catalog(Model model,
                          @RequestParam(required = false) String query,
-                         @RequestParam(required = false) Long categoryId,
+                         @RequestParam(required = false) List<Long> categoryId,
                          @RequestParam(required = false) Double minPrice,
-                         @RequestParam(required = false) Double maxPrice) {
+                         @RequestParam(required = false) Double maxPrice,
+                         @RequestParam(required = false) Integer minRating,
+                         @RequestParam(defaultValue = "false") boolean inStock,
+                         @RequestParam(defaultValue = "false") boolean featured,
+                         @RequestParam(defaultValue = "false") boolean fuzzy,
+                         @RequestParam(required = false) String sort,
+                         @RequestParam(required = false) String cursor,
+                         @RequestParam(required = false) Integer size) {
         
         System.out.println("=== Catalog Controller Called ===");
         System.out.println("Query: " + query);
@@ -59,36 +90,54 @@ public class CatalogController {
         
         model.addAttribute("title", "Product Catalog");
         
-        // Get products based on filters
-        List<Product> products;
-        if (query != null && !query.trim().isEmpty()) {
-            products = productService.searchProducts(query);
-            System.out.println("Search products result: " + (products != null ? products.size() : "null"));
-            model.addAttribute("products", products);
+        // Bad filter values are dropped or clamped instead of failing the page
+        minPrice = validPrice(minPrice);
+        maxPrice = validPrice(maxPrice);
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            Double lowest = maxPrice;
+            maxPrice = minPrice;
+            minPrice = lowest;
+        }
+        minRating = minRating == null || minRating < 1 ? null : Math.min(minRating, 5);
+        
+        // All filters are applied together by the facet index
+        FacetFilter filter = new FacetFilter(
+            categoryId != null ? new LinkedHashSet<>(categoryId) : Set.of(),
+            minPrice != null ? BigDecimal.valueOf(minPrice) : null,
+            maxPrice != null ? BigDecimal.valueOf(maxPrice) : null,
+            minRating, inStock, featured);
+        boolean searching = query != null && !query.trim().isEmpty();
+        ProductSort order = ProductSort.fromParam(sort, searching ? ProductSort.RELEVANCE : ProductSort.NEWEST);
+        CatalogSearchResult result = productService.browseCatalog(query, fuzzy, filter, order, cursor, size);
+        
+        model.addAttribute("products", result.products());
+        model.addAttribute("facets", result.facets());
+        model.addAttribute("totalCount", result.totalCount());
+        model.addAttribute("nextCursor", result.nextCursor());
+        model.addAttribute("sort", order);
+        model.addAttribute("sorts", searching ? ProductSort.values()
+                : Arrays.stream(ProductSort.values()).filter(s -> s != ProductSort.RELEVANCE).toArray());
+        model.addAttribute("pageSize", size);
+        model.addAttribute("priceBuckets", PriceBucket.values());
+        model.addAttribute("selectedCategoryIds", filter.categoryIds());
+        model.addAttribute("minPrice", minPrice);
+        model.addAttribute("maxPrice", maxPrice);
+        model.addAttribute("minRating", minRating);
+        model.addAttribute("inStock", inStock);
+        model.addAttribute("featured", featured);
+        if (searching) {
             model.addAttribute("searchQuery", query);
-        } else if (categoryId != null) {
-            products = productService.getProductsByCategory(categoryId);
-            System.out.println("Category products result: " + (products != null ? products.size() : "null"));
-            model.addAttribute("products", products);
-            model.addAttribute("selectedCategory", categoryService.getCategoryById(categoryId));
-        } else if (minPrice != null || maxPrice != null) {
-            products = productService.getProductsByPriceRange(
-                minPrice != null ? minPrice : 0.0,
-                maxPrice != null ? maxPrice : Double.MAX_VALUE
-            );
-            System.out.println("Price range products result: " + (products != null ? products.size() : "null"));
-            model.addAttribute("products", products);
-            model.addAttribute("minPrice", minPrice);
-            model.addAttribute("maxPrice", maxPrice);
-        } else {
-            products = productService.getActiveProducts();
-            System.out.println("Active products result: " + (products != null ? products.size() : "null"));
-            model.addAttribute("products", products);
+            model.addAttribute("fuzzy", fuzzy);
+        }
+        // Category data comes from the in-memory tree snapshot
+        CategoryTree tree = categoryService.getCategoryTree();
+        if (filter.categoryIds().size() == 1) {
+            model.addAttribute("selectedCategory", tree.get(filter.categoryIds().iterator().next()));
         }
         
         // Get categories for sidebar
-        List<Category> categories = categoryService.getActiveCategories();
-        System.out.println("Categories result: " + (categories != null ? categories.size() : "null"));
+        List<CategoryNode> categories = tree.categories();
+        System.out.println("Categories result: " + categories.size());
         model.addAttribute("categories", categories);
         
         System.out.println("=== Catalog Controller Finished ===");
@@ -105,29 +154,50 @@ public class CatalogController {
      */
     @GetMapping("/catalog/category/{categoryId}")
     public String categoryProducts(@PathVariable Long categoryId, Model model) {
+        String view = catalog(model, null, List.of(categoryId), null, null, null, false, false, false, null, null, null);
         model.addAttribute("title", "Category Products");
-        model.addAttribute("products", productService.getProductsByCategory(categoryId));
-        model.addAttribute("selectedCategory", categoryService.getCategoryById(categoryId));
-        model.addAttribute("categories", categoryService.getActiveCategories());
-        
-        return "catalog";
+        return view;
     }
 
     /**
      * Display product details
      * 
      * @param productId product ID
+     * @param reviewSort review order (newest, helpful, rating_high, rating_low)
+     * @param reviewCursor next review page token from the previous page
      * @param model Spring MVC model for template data
      * @return view name for product details page
      */
     @GetMapping("/product/{productId}")
-    public String productDetails(@PathVariable Long productId, Model model) {
+    public String productDetails(@PathVariable Long productId,
+                                 @RequestParam(required = false) String reviewSort,
+                                 @RequestParam(required = false) String reviewCursor,
+                                 Model model) {
         model.addAttribute("title", "Product Details");
-        model.addAttribute("product", productService.getProductById(productId));
+        // One cached read model; the page never touches lazy associations
+        ProductDetailView product = productService.getProductDetails(productId);
+        model.addAttribute("product", product);
+        if (product != null && product.categoryId() != null) {
+            model.addAttribute("breadcrumb", categoryService.getCategoryTree().breadcrumb(product.categoryId()));
+        }
         
-        // Increment view count
-        productService.incrementViewCount(productId);
+        // Increment view count (only for existing products, so the buffer holds real IDs)
+        if (product != null) {
+            ReviewSort order = ReviewSort.fromParam(reviewSort);
+            model.addAttribute("reviewSummary", product.ratings());
+            model.addAttribute("reviews", reviewService.getReviews(productId, order, reviewCursor, null));
+            model.addAttribute("reviewSort", order);
+            model.addAttribute("reviewSorts", ReviewSort.values());
+            model.addAttribute("similarProducts", productService.getSimilarProducts(productId));
+            model.addAttribute("alsoBought", productService.getFrequentlyBoughtTogether(productId));
+            productService.incrementViewCount(productId);
+            recentlyViewedService.recordView(productId);
+        }
         
         return "product/details";
     }
+
+    private static Double validPrice(Double price) {
+        return price != null && Double.isFinite(price) && price >= 0 ? price : null;
+    }
 }
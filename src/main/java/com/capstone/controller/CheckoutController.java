@@ -1,6 +1,7 @@
 package com.capstone.controller;
 
 import com.capstone.domain.Order;
+import com.capstone.inventory.InsufficientStockException;
 import com.capstone.service.CartService;
 import com.capstone.service.CheckoutService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,7 +39,13 @@ public class CheckoutController {
 	                         @RequestParam String postalCode,
 	                         @RequestParam String country,
 	                         Model model) {
-		Order order = checkoutService.createOrderFromCart(email, fullName, address, city, state, postalCode, country);
+		Order order;
+		try {
+			order = checkoutService.createOrderFromCart(email, fullName, address, city, state, postalCode, country);
+		} catch (InsufficientStockException e) {
+			model.addAttribute("error", "Some items in your cart are no longer available in the requested quantity.");
+			return checkoutForm(model);
+		}
 		model.addAttribute("order", order);
 		return "checkout/success";
 	}
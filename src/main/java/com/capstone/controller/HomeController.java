@@ -47,7 +47,8 @@ public class HomeController {
         
         // Get featured products and categories from service layer
         model.addAttribute("featuredProducts", productService.getFeaturedProducts());
-        model.addAttribute("categories", categoryService.getActiveCategories());
+        model.addAttribute("trendingProducts", productService.getTrendingProducts());
+        model.addAttribute("categories", categoryService.getCategoryTree().categories());
         
         return "home";
     }
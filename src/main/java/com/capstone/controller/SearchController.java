@@ -0,0 +1,53 @@
+package com.capstone.controller;
+
+import com.capstone.search.Suggestion;
+import com.capstone.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Search Controller - Presentation Layer
+ * 
+ * JSON endpoints used by the search box while the user is typing.
+ * 
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Controller
+public class SearchController {
+
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final ProductService productService;
+
+    @Autowired
+    public SearchController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Autocomplete the search box
+     * 
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions (capped at 10)
+     * @return matching product titles and category names, most popular first
+     */
+    @GetMapping("/api/search/suggest")
+    @ResponseBody
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam(name = "q", defaultValue = "") String prefix,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        List<Suggestion> suggestions = productService.getSearchSuggestions(prefix,
+                Math.max(0, Math.min(limit, MAX_SUGGESTIONS)));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+                .body(suggestions);
+    }
+}
@@ -0,0 +1,70 @@
+package com.capstone.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cart entity - a shopping cart stored in the database
+ * 
+ * The lines are kept in the compact binary form of
+ * {@link com.capstone.cart.CartLines}, so reading or changing a cart is a
+ * single row operation whatever the number of products in it.
+ * 
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "carts")
+public class Cart {
+
+    @Id
+    @Column(name = "cart_key", length = 255)
+    private String cartKey;
+
+    @Column(name = "line_data", nullable = false, length = 65535)
+    private byte[] lineData;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Cart() {}
+
+    public Cart(String cartKey) {
+        this.cartKey = cartKey;
+    }
+
+    // Getters and Setters
+    public String getCartKey() {
+        return cartKey;
+    }
+
+    public void setCartKey(String cartKey) {
+        this.cartKey = cartKey;
+    }
+
+    public byte[] getLineData() {
+        return lineData;
+    }
+
+    public void setLineData(byte[] lineData) {
+        this.lineData = lineData;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Cart{" +
+                "cartKey='" + cartKey + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
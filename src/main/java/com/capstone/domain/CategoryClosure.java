@@ -0,0 +1,51 @@
+package com.capstone.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * CategoryClosure entity - one row per ancestor/descendant pair of the category tree
+ * 
+ * Every category has a row to itself (depth 0) plus one row to each of its
+ * ancestors, so "all categories under X" is a single lookup on ancestor_id
+ * instead of a recursive walk over parent links.
+ * 
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "category_closure",
+       indexes = @Index(name = "idx_category_closure_descendant", columnList = "descendant_id"))
+@IdClass(CategoryClosure.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    /**
+     * Composite primary key (ancestor_id, descendant_id)
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
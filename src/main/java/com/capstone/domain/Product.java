@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -37,7 +38,8 @@ import java.util.Set;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     @Column(name = "product_id")
     private Long id;
 
@@ -73,6 +75,25 @@ public class Product {
     @Column(name = "review_count")
     private Integer reviewCount = 0;
 
+    // Running rating aggregates over approved reviews, kept in step with reviewCount
+    @Column(name = "rating_sum")
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_1_count")
+    private Integer oneStarCount = 0;
+
+    @Column(name = "rating_2_count")
+    private Integer twoStarCount = 0;
+
+    @Column(name = "rating_3_count")
+    private Integer threeStarCount = 0;
+
+    @Column(name = "rating_4_count")
+    private Integer fourStarCount = 0;
+
+    @Column(name = "rating_5_count")
+    private Integer fiveStarCount = 0;
+
     @Column(name = "view_count")
     private Integer viewCount = 0;
 
@@ -141,26 +162,99 @@ public class Product {
         this.viewCount = (this.viewCount == null ? 0 : this.viewCount) + 1;
     }
 
+    /**
+     * Add a review to a new product; adding to the reviews of a persistent
+     * product loads them all, so reviews of those are saved on their own
+     * with {@link Review#setProduct} and {@link #addRating}
+     */
     public void addReview(Review review) {
         reviews.add(review);
         review.setProduct(this);
-        updateAverageRating();
-    }
-
-    public void updateAverageRating() {
-        if (reviews.isEmpty()) {
-            this.averageRating = BigDecimal.ZERO;
-            this.reviewCount = 0;
-        } else {
-            double avg = reviews.stream()
-                    .mapToDouble(r -> r.getRating().doubleValue())
-                    .average()
-                    .orElse(0.0);
-            this.averageRating = BigDecimal.valueOf(avg).setScale(2, BigDecimal.ROUND_HALF_UP);
-            this.reviewCount = reviews.size();
+        if (review.countsTowardsRating()) {
+            addRating(review.getRating());
         }
     }
 
+    /**
+     * Count one more approved review; O(1), no reviews are loaded
+     */
+    public void addRating(int rating) {
+        adjustRating(rating, 1);
+    }
+
+    /**
+     * Stop counting an approved review (removed, rejected or reported)
+     */
+    public void removeRating(int rating) {
+        adjustRating(rating, -1);
+    }
+
+    /**
+     * An approved review was edited from one rating to another
+     */
+    public void changeRating(int oldRating, int newRating) {
+        adjustRating(oldRating, -1);
+        adjustRating(newRating, 1);
+    }
+
+    /**
+     * Replace the aggregates with freshly counted values (repair)
+     *
+     * @param histogram approved review count per rating, index 0 holding one-star reviews
+     */
+    public void resetRatings(int[] histogram) {
+        this.oneStarCount = histogram[0];
+        this.twoStarCount = histogram[1];
+        this.threeStarCount = histogram[2];
+        this.fourStarCount = histogram[3];
+        this.fiveStarCount = histogram[4];
+        long sum = 0;
+        int count = 0;
+        for (int stars = 1; stars <= 5; stars++) {
+            sum += (long) stars * histogram[stars - 1];
+            count += histogram[stars - 1];
+        }
+        this.ratingSum = sum;
+        this.reviewCount = count;
+        refreshAverageRating();
+    }
+
+    /**
+     * @return approved review count per rating, index 0 holding one-star reviews
+     */
+    public int[] getRatingHistogram() {
+        return new int[] {
+                valueOf(oneStarCount), valueOf(twoStarCount), valueOf(threeStarCount),
+                valueOf(fourStarCount), valueOf(fiveStarCount)
+        };
+    }
+
+    private void adjustRating(int rating, int delta) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        switch (rating) {
+            case 1 -> oneStarCount = valueOf(oneStarCount) + delta;
+            case 2 -> twoStarCount = valueOf(twoStarCount) + delta;
+            case 3 -> threeStarCount = valueOf(threeStarCount) + delta;
+            case 4 -> fourStarCount = valueOf(fourStarCount) + delta;
+            default -> fiveStarCount = valueOf(fiveStarCount) + delta;
+        }
+        this.ratingSum = (ratingSum == null ? 0 : ratingSum) + (long) rating * delta;
+        this.reviewCount = valueOf(reviewCount) + delta;
+        refreshAverageRating();
+    }
+
+    private void refreshAverageRating() {
+        this.averageRating = valueOf(reviewCount) <= 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(reviewCount), 2, RoundingMode.HALF_UP);
+    }
+
+    private static int valueOf(Integer count) {
+        return count == null ? 0 : count;
+    }
+
     @Override
     public String toString() {
         return "Product{" +
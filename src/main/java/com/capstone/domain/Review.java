@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = @Index(name = "idx_reviews_product_approved", columnList = "product_id, is_approved"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -35,7 +36,8 @@ import java.time.LocalDateTime;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     @Column(name = "review_id")
     private Long id;
 
@@ -105,6 +107,13 @@ public class Review {
         return stars.toString();
     }
 
+    /**
+     * @return true when the rating is part of the product's rating aggregates
+     */
+    public boolean countsTowardsRating() {
+        return Boolean.TRUE.equals(isApproved) && rating != null;
+    }
+
     public void incrementHelpfulCount() {
         this.helpfulCount = (this.helpfulCount == null ? 0 : this.helpfulCount) + 1;
     }
@@ -33,7 +33,8 @@ import java.time.LocalDateTime;
 public class Shipping {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipping_seq")
+    @SequenceGenerator(name = "shipping_seq", sequenceName = "shipping_seq", allocationSize = 50)
     @Column(name = "shipping_id")
     private Long id;
 
@@ -0,0 +1,56 @@
+package com.capstone.inventory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Flash Sale Endpoint - switches hot products into sharded stock counters
+ *
+ * {@code GET /actuator/flashsale} lists the running sales,
+ * {@code POST /actuator/flashsale/{productId}} starts one (optionally with a
+ * {@code shards} count) and {@code DELETE /actuator/flashsale/{productId}}
+ * ends it. Like the other actuator endpoints it is for administrators only,
+ * who call it with HTTP Basic credentials; the session of a signed-in
+ * browser is not accepted, so no CSRF token is needed.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "flashsale")
+public class FlashSaleEndpoint {
+
+    private final StockReservationEngine stockReservationEngine;
+    private final int defaultShards;
+
+    @Autowired
+    public FlashSaleEndpoint(StockReservationEngine stockReservationEngine,
+                             @Value("${app.inventory.flash-sale.shards:16}") int defaultShards) {
+        this.stockReservationEngine = stockReservationEngine;
+        this.defaultShards = defaultShards;
+    }
+
+    @ReadOperation
+    public List<StockReservationEngine.FlashSale> flashSales() {
+        return stockReservationEngine.flashSales();
+    }
+
+    @WriteOperation
+    public StockReservationEngine.FlashSale start(@Selector Long productId, @Nullable Integer shards) {
+        return stockReservationEngine.startFlashSale(productId, shards != null ? shards : defaultShards);
+    }
+
+    @DeleteOperation
+    public boolean end(@Selector Long productId) {
+        return stockReservationEngine.endFlashSale(productId);
+    }
+}
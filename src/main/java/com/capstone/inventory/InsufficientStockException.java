@@ -0,0 +1,26 @@
+package com.capstone.inventory;
+
+import java.util.List;
+
+/**
+ * Insufficient Stock Exception - a cart asks for more units than are available
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public class InsufficientStockException extends IllegalStateException {
+
+    private final List<Long> productIds;
+
+    public InsufficientStockException(List<Long> productIds) {
+        super("Insufficient stock for products " + productIds);
+        this.productIds = List.copyOf(productIds);
+    }
+
+    /**
+     * @return the products that cannot be reserved, in ascending ID order
+     */
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
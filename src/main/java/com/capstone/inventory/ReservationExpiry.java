@@ -0,0 +1,209 @@
+package com.capstone.inventory;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Order;
+import com.capstone.domain.OrderItem;
+import com.capstone.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation Expiry - gives back the stock of orders that are never confirmed
+ *
+ * A pending order holds its stock for a limited time. Its deadline goes into
+ * a {@link TimingWheel} when the checkout commits and is cancelled when the
+ * order leaves the pending state, both in O(1). Every tick the wheel hands
+ * over the orders whose deadline passed; they are cancelled in batches of
+ * {@value #BATCH_SIZE}, one transaction and one query per batch, and their
+ * units are released through the {@link StockReservationEngine}, which
+ * writes them to the inventory rows with {@code releaseReservedStock}.
+ *
+ * The wheel only lives in memory. Once the application is ready it is
+ * refilled from the pending orders and their creation time, so orders that
+ * ran out while the application was down expire on the first tick.
+ *
+ * Metrics: {@code inventory.reservations.scheduled} (orders waiting for
+ * their deadline), {@code inventory.reservations.expired} and the
+ * {@code inventory.reservations.expiry.lag} timer, the time between a
+ * deadline and the release of its stock.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class ReservationExpiry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiry.class);
+
+    static final int BATCH_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMillis;
+    private final TimingWheel wheel;
+    private final Timer lagTimer;
+    private final Counter expiredCounter;
+
+    @Autowired
+    public ReservationExpiry(OrderRepository orderRepository,
+                             StockReservationEngine stockReservationEngine,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.inventory.reservation-ttl-minutes:30}") long ttlMinutes,
+                             @Value("${app.inventory.expiry-tick-ms:1000}") long tickMillis) {
+        if (ttlMinutes < 1) {
+            throw new IllegalArgumentException("Reservation TTL must be at least one minute");
+        }
+        this.orderRepository = orderRepository;
+        this.stockReservationEngine = stockReservationEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.wheel = new TimingWheel(tickMillis, System.currentTimeMillis());
+        this.lagTimer = Timer.builder("inventory.reservations.expiry.lag")
+                .description("Time between the deadline of a reservation and the release of its stock")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("inventory.reservations.expired")
+                .description("Pending orders cancelled because their reservation expired")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservations.scheduled", this, ReservationExpiry::scheduled)
+                .description("Pending orders waiting for their reservation deadline")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule the pending orders, e.g. after a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> pending = transactionTemplate.execute(
+                status -> orderRepository.findIdAndCreatedAtByStatus(Order.OrderStatus.PENDING));
+        synchronized (wheel) {
+            for (Object[] row : pending) {
+                wheel.schedule((Long) row[0], deadline((LocalDateTime) row[1]));
+            }
+        }
+        logger.info("Scheduled reservation expiry of {} pending orders", pending.size());
+    }
+
+    /**
+     * Start the reservation clock of a new order once the transaction commits
+     *
+     * @param orderId   order ID
+     * @param createdAt time the order was placed
+     */
+    public void schedule(Long orderId, LocalDateTime createdAt) {
+        long deadline = deadline(createdAt);
+        AfterCommit.run(() -> {
+            synchronized (wheel) {
+                wheel.schedule(orderId, deadline);
+            }
+        });
+    }
+
+    /**
+     * Stop the reservation clock of an order that left the pending state,
+     * once the transaction commits
+     *
+     * @param orderId order ID
+     */
+    public void cancel(Long orderId) {
+        AfterCommit.run(() -> {
+            synchronized (wheel) {
+                wheel.cancel(orderId);
+            }
+        });
+    }
+
+    /**
+     * Cancel the orders whose reservation expired and release their stock
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.expiry-tick-ms:1000}")
+    public void expire() {
+        expire(System.currentTimeMillis());
+    }
+
+    /**
+     * @param nowMillis current time
+     * @return number of orders cancelled
+     */
+    int expire(long nowMillis) {
+        List<TimingWheel.Expired> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(nowMillis);
+        }
+        int cancelled = 0;
+        for (int from = 0; from < expired.size(); from += BATCH_SIZE) {
+            List<TimingWheel.Expired> batch = expired.subList(from, Math.min(from + BATCH_SIZE, expired.size()));
+            try {
+                cancelled += transactionTemplate.execute(status -> cancelBatch(batch));
+            } catch (RuntimeException e) {
+                // Try again on the next tick
+                synchronized (wheel) {
+                    batch.forEach(entry -> wheel.schedule(entry.key(), entry.deadlineMillis()));
+                }
+                logger.warn("Failed to expire {} reservations, will retry", batch.size(), e);
+                continue;
+            }
+            long releasedAt = System.currentTimeMillis();
+            batch.forEach(entry -> lagTimer.record(Math.max(0, releasedAt - entry.deadlineMillis()),
+                    TimeUnit.MILLISECONDS));
+        }
+        if (cancelled > 0) {
+            expiredCounter.increment(cancelled);
+            logger.info("Cancelled {} orders whose stock reservation expired", cancelled);
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return number of orders waiting for their reservation deadline
+     */
+    public int scheduled() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // Private helper methods
+    private int cancelBatch(List<TimingWheel.Expired> batch) {
+        List<Long> orderIds = batch.stream().map(TimingWheel.Expired::key).toList();
+        // Locks the orders; those confirmed or cancelled in the meantime are not returned
+        List<Order> orders = orderRepository.findWithItemsByIdInAndStatus(orderIds, Order.OrderStatus.PENDING);
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (Order order : orders) {
+            order.setOrderStatus(Order.OrderStatus.CANCELLED);
+            for (OrderItem item : order.getOrderItems()) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        stockReservationEngine.release(quantities);
+        return orders.size();
+    }
+
+    private long deadline(LocalDateTime createdAt) {
+        long placedAt = createdAt != null
+                ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return placedAt + ttlMillis;
+    }
+}
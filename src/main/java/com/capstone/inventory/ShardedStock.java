@@ -0,0 +1,147 @@
+package com.capstone.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sharded Stock - available units of one flash-sale product split over counters
+ *
+ * Each shard is an atomic counter on its own cache line. A buyer picks a
+ * random shard and takes units with a compare-and-set, so buyers of the
+ * same product only collide when they pick the same shard. When the chosen
+ * shard and a second one run dry, the buyer rebalances: all shards are
+ * emptied under the rebalance lock, the buyer takes its units from the
+ * total and the rest is spread evenly again. Units are never held outside
+ * the shards except by the thread holding that lock, so a buyer is only
+ * turned away when the whole product is sold out.
+ *
+ * Units are given back with {@link #put(int)} and the counters are emptied
+ * for good with {@link #close()}; the engine calls both under the stripe
+ * lock of the product. Giving back takes the rebalance lock as well: a unit
+ * put into a shard the drain had already passed would otherwise be missed,
+ * and the buyer told the product is sold out while units are left.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+final class ShardedStock {
+
+    /** Result of {@link #take(int)} */
+    enum Take { TAKEN, SOLD_OUT, CLOSED }
+
+    // 16 longs = 128 bytes between two shards, so they never share a cache line
+    private static final int STRIDE = 16;
+
+    private final int shards;
+    private final AtomicLongArray cells;
+    private boolean closed;
+    private long rebalances;
+
+    /**
+     * @param shards number of counters
+     * @param units  units to spread over them
+     */
+    ShardedStock(int shards, long units) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = shards;
+        this.cells = new AtomicLongArray(shards * STRIDE);
+        spread(units);
+    }
+
+    /**
+     * Take units from a random shard, rebalancing when it runs dry
+     *
+     * @param quantity units, at least 1
+     * @return whether the units were taken, the product is sold out or the sale is over
+     */
+    Take take(int quantity) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (tryTake(random.nextInt(shards), quantity) || tryTake(random.nextInt(shards), quantity)) {
+            return Take.TAKEN;
+        }
+        return rebalance(quantity);
+    }
+
+    /**
+     * Give units back to a random shard
+     *
+     * @param quantity units
+     */
+    synchronized void put(int quantity) {
+        cells.addAndGet(ThreadLocalRandom.current().nextInt(shards) * STRIDE, quantity);
+    }
+
+    /**
+     * @return units left over all shards
+     */
+    long units() {
+        long units = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            units += cells.get(shard * STRIDE);
+        }
+        return units;
+    }
+
+    int shards() {
+        return shards;
+    }
+
+    synchronized long rebalances() {
+        return rebalances;
+    }
+
+    /**
+     * End the sale: empty the shards; later takes report {@link Take#CLOSED}
+     *
+     * @return units that were left
+     */
+    synchronized long close() {
+        closed = true;
+        return drain();
+    }
+
+    // Private helper methods
+    private boolean tryTake(int shard, int quantity) {
+        int index = shard * STRIDE;
+        long units = cells.get(index);
+        while (units >= quantity) {
+            if (cells.compareAndSet(index, units, units - quantity)) {
+                return true;
+            }
+            units = cells.get(index);
+        }
+        return false;
+    }
+
+    private synchronized Take rebalance(int quantity) {
+        if (closed) {
+            return Take.CLOSED;
+        }
+        rebalances++;
+        long units = drain();
+        boolean taken = units >= quantity;
+        spread(taken ? units - quantity : units);
+        return taken ? Take.TAKEN : Take.SOLD_OUT;
+    }
+
+    private long drain() {
+        long units = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            units += cells.getAndSet(shard * STRIDE, 0);
+        }
+        return units;
+    }
+
+    private void spread(long units) {
+        long share = units / shards;
+        long rest = units % shards;
+        for (int shard = 0; shard < shards; shard++) {
+            long add = share + (shard < rest ? 1 : 0);
+            if (add > 0) {
+                cells.addAndGet(shard * STRIDE, add);
+            }
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package com.capstone.inventory;
+
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Inventory;
+import com.capstone.domain.Order;
+import com.capstone.repository.InventoryRepository;
+import com.capstone.repository.OrderItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock Reservation Engine - in-memory stock counters for checkout
+ *
+ * Holds the on-hand and reserved units of every product with an inventory
+ * row, so checkout claims stock without touching the database. The counters
+ * are guarded by {@value #STRIPES} striped locks chosen by product ID: buyers
+ * of different products rarely share a lock, and buyers of one hot product
+ * wait for a few field updates instead of a row lock held until commit. A
+ * cart is reserved all-or-nothing while holding the locks of all of its
+ * products, taken in ascending stripe order so two carts never deadlock.
+ *
+ * The lines of pending orders are the durable record of the reservations. A
+ * reservation made inside a transaction is undone when it rolls back, and
+ * releases and consumptions only apply once their transaction commits. The
+ * inventory rows follow behind: changes are collected per product and
+ * written every second (and on shutdown) in one transaction, so a hot
+ * product costs one row update per flush. On startup, before the web server
+ * takes requests, the counters are loaded from the inventory rows and the
+ * reserved units are recomputed from the pending orders, correcting rows
+ * whose last changes were never written. A product first seen later is
+ * loaded from its row on first use; new rows are announced with
+ * {@link #inventoryCreated}. Units of a cancelled order that were already
+ * taken out of stock come back with {@link #restock}; units added to a row
+ * directly are only seen after {@link #reconcile()}, which runs on startup.
+ *
+ * A hot product can be put into flash-sale mode: its available units move
+ * into a {@link ShardedStock}, where buyers take them with a compare-and-set
+ * on one of several counters instead of queueing on the stripe lock, and
+ * the reservations are counted in a {@link LongAdder} until the next flush.
+ * The units a sale holds count as reserved in memory only; the inventory row
+ * keeps seeing the real reservations. Ending the sale returns the leftover
+ * units to the product's single counter.
+ *
+ * Products without an inventory row are not tracked and never run out;
+ * they are remembered so a miss costs one query per product.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class StockReservationEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationEngine.class);
+
+    static final int STRIPES = 64;
+
+    // Ahead of the web server, which starts in one of the last phases
+    static final int PHASE = 0;
+
+    private final InventoryRepository inventoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Products that had a flash sale; drained on every flush since their buyers do not mark them dirty
+    private final Set<Long> sharded = ConcurrentHashMap.newKeySet();
+    // Products found to have no inventory row
+    private final Set<Long> untracked = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    @Autowired
+    public StockReservationEngine(InventoryRepository inventoryRepository,
+                                  OrderItemRepository orderItemRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void start() {
+        reconcile();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Load the counters from the inventory rows, taking the reserved units
+     * from the pending orders and correcting rows that disagree
+     */
+    public void reconcile() {
+        long start = System.nanoTime();
+        Integer corrected = transactionTemplate.execute(status -> {
+            Map<Long, Integer> held = new HashMap<>();
+            for (Object[] row : orderItemRepository.sumQuantityByProductForStatus(Order.OrderStatus.PENDING)) {
+                held.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            Map<Long, Stock> loaded = new HashMap<>();
+            int fixes = 0;
+            for (Inventory inventory : inventoryRepository.findAll()) {
+                Long productId = inventory.getProduct().getId();
+                int reserved = held.getOrDefault(productId, 0);
+                if (inventory.getReservedStock() == null || inventory.getReservedStock() != reserved) {
+                    inventory.setReservedStock(reserved);
+                    fixes++;
+                }
+                int onHand = inventory.getCurrentStock() != null ? inventory.getCurrentStock() : 0;
+                loaded.put(productId, new Stock(onHand, reserved));
+            }
+            // Replace in place, so a product is never missing in between
+            stocks.putAll(loaded);
+            stocks.keySet().retainAll(loaded.keySet());
+            untracked.clear();
+            dirty.clear();
+            sharded.clear();
+            return fixes;
+        });
+        logger.info("Loaded stock of {} products, corrected {} reserved counts in {} ms",
+                stocks.size(), corrected, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reserve every line of a cart or none of them. Inside a transaction the
+     * reservation is undone if the transaction rolls back.
+     *
+     * @param quantities units per product ID, each at least 1
+     * @throws InsufficientStockException when any tracked product has fewer units available
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> tracked = tracked(quantities);
+        if (tracked.isEmpty()) {
+            return;
+        }
+        // Flash-sale products first, without taking their locks
+        SortedMap<Long, Integer> fromShards = new TreeMap<>();
+        SortedMap<Long, Integer> locked = new TreeMap<>();
+        List<Long> missing = new ArrayList<>();
+        tracked.forEach((productId, quantity) -> {
+            ShardedStock sale = stocks.get(productId).sale;
+            switch (sale != null ? sale.take(quantity) : ShardedStock.Take.CLOSED) {
+                case TAKEN -> fromShards.put(productId, quantity);
+                case SOLD_OUT -> missing.add(productId);
+                case CLOSED -> locked.put(productId, quantity);
+            }
+        });
+        if (missing.isEmpty() && !locked.isEmpty()) {
+            int[] stripes = stripes(locked);
+            lock(stripes);
+            try {
+                locked.forEach((productId, quantity) -> {
+                    Stock stock = stocks.get(productId);
+                    // A sale may have started since; it cannot start or end while the lock is held
+                    if (stock.sale != null) {
+                        if (stock.sale.take(quantity) == ShardedStock.Take.TAKEN) {
+                            fromShards.put(productId, quantity);
+                        } else {
+                            missing.add(productId);
+                        }
+                    } else if (stock.free() < quantity) {
+                        missing.add(productId);
+                    }
+                });
+                if (missing.isEmpty()) {
+                    locked.keySet().removeAll(fromShards.keySet());
+                    locked.forEach((productId, quantity) -> stocks.get(productId).reserved += quantity);
+                }
+            } finally {
+                unlock(stripes);
+            }
+        }
+        if (!missing.isEmpty()) {
+            giveBack(fromShards);
+            Collections.sort(missing);
+            throw new InsufficientStockException(missing);
+        }
+        AfterCommit.onCompletion(committed -> {
+            if (committed) {
+                fromShards.forEach((productId, quantity) -> stocks.get(productId).saleReserved.add(quantity));
+                update(locked, (stock, quantity) -> stock.pendingReserved += quantity);
+            } else {
+                giveBack(fromShards);
+                update(locked, (stock, quantity) -> stock.reserved -= quantity);
+            }
+        });
+    }
+
+    /**
+     * Give reserved units back, e.g. for a cancelled order, once the
+     * transaction commits
+     *
+     * @param quantities units per product ID
+     */
+    public void release(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> tracked = tracked(quantities);
+        AfterCommit.onCompletion(committed -> {
+            if (committed) {
+                update(tracked, (stock, quantity) -> {
+                    int released = Math.min(quantity, stock.reserved);
+                    if (stock.sale != null) {
+                        stock.sale.put(released);
+                    } else {
+                        stock.reserved -= released;
+                    }
+                    stock.pendingReserved -= released;
+                });
+            }
+        });
+    }
+
+    /**
+     * Take reserved units out of stock, e.g. for a confirmed order, once the
+     * transaction commits
+     *
+     * @param quantities units per product ID
+     */
+    public void consume(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> tracked = tracked(quantities);
+        AfterCommit.onCompletion(committed -> {
+            if (committed) {
+                update(tracked, (stock, quantity) -> {
+                    stock.onHand = Math.max(0, stock.onHand - quantity);
+                    stock.reserved = Math.max(0, stock.reserved - quantity);
+                    stock.pendingConsumed += quantity;
+                });
+            }
+        });
+    }
+
+    /**
+     * Put units that were taken out of stock back, e.g. for a cancelled
+     * confirmed order, once the transaction commits. During a flash sale they
+     * go into the sale's counters.
+     *
+     * @param quantities units per product ID
+     */
+    public void restock(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> tracked = tracked(quantities);
+        AfterCommit.onCompletion(committed -> {
+            if (committed) {
+                update(tracked, (stock, quantity) -> {
+                    stock.onHand += quantity;
+                    if (stock.sale != null) {
+                        stock.reserved += quantity;
+                        stock.sale.put(quantity);
+                    }
+                    stock.pendingConsumed -= quantity;
+                });
+            }
+        });
+    }
+
+    /**
+     * Start tracking a product whose inventory row was just created, once the
+     * transaction commits
+     *
+     * @param productId product ID
+     */
+    public void inventoryCreated(Long productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        AfterCommit.run(() -> stocks.computeIfAbsent(productId, id -> {
+            untracked.remove(id);
+            return load(id);
+        }));
+    }
+
+    /**
+     * @param productId product ID
+     * @return units that can still be reserved, empty when the product is not tracked
+     */
+    public OptionalInt available(Long productId) {
+        Stock stock = find(productId);
+        if (stock == null) {
+            return OptionalInt.empty();
+        }
+        ReentrantLock lock = locks[stripe(productId)];
+        lock.lock();
+        try {
+            return OptionalInt.of(stock.available());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put a product into flash-sale mode, spreading its available units over
+     * a number of counters
+     *
+     * @param productId product ID
+     * @param shards    number of counters, at least 1
+     * @return the state of the sale
+     * @throws IllegalStateException when the product is already in a flash sale
+     */
+    public FlashSale startFlashSale(Long productId, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        Stock stock = stock(productId);
+        ShardedStock sale;
+        ReentrantLock lock = locks[stripe(productId)];
+        lock.lock();
+        try {
+            if (stock.sale != null) {
+                throw new IllegalStateException("Product " + productId + " is already in a flash sale");
+            }
+            int units = stock.free();
+            stock.reserved += units;
+            sale = new ShardedStock(shards, units);
+            stock.sale = sale;
+            sharded.add(productId);
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Started flash sale of product {} with {} units in {} shards", productId, sale.units(), shards);
+        return new FlashSale(productId, shards, sale.units(), 0);
+    }
+
+    /**
+     * Return the units of a flash sale to the product's single counter
+     *
+     * @param productId product ID
+     * @return whether the product was in a flash sale
+     */
+    public boolean endFlashSale(Long productId) {
+        Stock stock = stock(productId);
+        ShardedStock sale;
+        long units;
+        ReentrantLock lock = locks[stripe(productId)];
+        lock.lock();
+        try {
+            sale = stock.sale;
+            if (sale == null) {
+                return false;
+            }
+            units = sale.close();
+            stock.sale = null;
+            stock.reserved -= (int) units;
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Ended flash sale of product {} with {} units left after {} rebalances",
+                productId, units, sale.rebalances());
+        return true;
+    }
+
+    /**
+     * @return the running flash sales
+     */
+    public List<FlashSale> flashSales() {
+        List<FlashSale> sales = new ArrayList<>();
+        for (Long productId : sharded) {
+            ShardedStock sale = stocks.get(productId).sale;
+            if (sale != null) {
+                sales.add(new FlashSale(productId, sale.shards(), sale.units(), sale.rebalances()));
+            }
+        }
+        sales.sort(Comparator.comparing(FlashSale::productId));
+        return sales;
+    }
+
+    /**
+     * Write the collected changes to the inventory rows
+     *
+     * @return number of products updated
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        Map<Long, int[]> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Inventory inventory : inventoryRepository.findByProductIdIn(deltas.keySet())) {
+                    int[] delta = deltas.get(inventory.getProduct().getId());
+                    if (delta == null) {
+                        continue;
+                    }
+                    int reserved = inventory.getReservedStock() != null ? inventory.getReservedStock() : 0;
+                    if (delta[0] > 0) {
+                        inventory.setReservedStock(reserved + delta[0]);
+                    } else if (delta[0] < 0) {
+                        inventory.releaseReservedStock(-delta[0]);
+                    }
+                    if (delta[1] > 0) {
+                        inventory.consumeStock(Math.min(delta[1], inventory.getCurrentStock()));
+                    } else if (delta[1] < 0) {
+                        inventory.setCurrentStock(inventory.getCurrentStock() - delta[1]);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep the changes for the next attempt
+            deltas.forEach(this::restore);
+            logger.warn("Failed to write stock of {} products, will retry", deltas.size(), e);
+            return 0;
+        }
+        return deltas.size();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int products = flush();
+        logger.info("Wrote stock of {} products on shutdown", products);
+    }
+
+    // Private helper methods
+    private SortedMap<Long, Integer> tracked(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> tracked = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (quantity == null || quantity < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1");
+            }
+            if (find(productId) != null) {
+                tracked.merge(productId, quantity, Integer::sum);
+            }
+        });
+        return tracked;
+    }
+
+    private Stock find(Long productId) {
+        if (productId == null || untracked.contains(productId)) {
+            return null;
+        }
+        return stocks.computeIfAbsent(productId, this::load);
+    }
+
+    private Stock load(Long productId) {
+        Optional<Inventory> row = inventoryRepository.findByProductId(productId);
+        if (row.isEmpty()) {
+            untracked.add(productId);
+            return null;
+        }
+        Inventory inventory = row.get();
+        // Reservations of a product the engine never held are all on the row
+        return new Stock(inventory.getCurrentStock() != null ? inventory.getCurrentStock() : 0,
+                inventory.getReservedStock() != null ? inventory.getReservedStock() : 0);
+    }
+
+    private Stock stock(Long productId) {
+        Stock stock = find(productId);
+        if (stock == null) {
+            throw new IllegalArgumentException("Stock of product " + productId + " is not tracked");
+        }
+        return stock;
+    }
+
+    private void giveBack(SortedMap<Long, Integer> fromShards) {
+        // A sale that ended since then left these units in the reserved count
+        update(fromShards, (stock, quantity) -> {
+            if (stock.sale != null) {
+                stock.sale.put(quantity);
+            } else {
+                stock.reserved -= quantity;
+            }
+        });
+    }
+
+    private void update(SortedMap<Long, Integer> quantities, StockUpdate update) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        int[] stripes = stripes(quantities);
+        lock(stripes);
+        try {
+            quantities.forEach((productId, quantity) -> update.apply(stocks.get(productId), quantity));
+        } finally {
+            unlock(stripes);
+        }
+        dirty.addAll(quantities.keySet());
+    }
+
+    private Map<Long, int[]> drain() {
+        Map<Long, int[]> deltas = new HashMap<>();
+        Set<Long> changed = new HashSet<>(sharded);
+        changed.addAll(dirty);
+        for (Long productId : changed) {
+            // Unmark first: a change made after this point marks the product again
+            dirty.remove(productId);
+            ReentrantLock lock = locks[stripe(productId)];
+            lock.lock();
+            try {
+                Stock stock = stocks.get(productId);
+                if (stock != null) {
+                    // Subtract what was read, so additions made meanwhile stay for the next flush
+                    long saleReserved = stock.saleReserved.sum();
+                    stock.saleReserved.add(-saleReserved);
+                    stock.pendingReserved += (int) saleReserved;
+                }
+                if (stock != null && (stock.pendingReserved != 0 || stock.pendingConsumed != 0)) {
+                    deltas.put(productId, new int[] {stock.pendingReserved, stock.pendingConsumed});
+                    stock.pendingReserved = 0;
+                    stock.pendingConsumed = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return deltas;
+    }
+
+    private void restore(Long productId, int[] delta) {
+        ReentrantLock lock = locks[stripe(productId)];
+        lock.lock();
+        try {
+            Stock stock = stocks.get(productId);
+            stock.pendingReserved += delta[0];
+            stock.pendingConsumed += delta[1];
+        } finally {
+            lock.unlock();
+        }
+        dirty.add(productId);
+    }
+
+    private static int[] stripes(SortedMap<Long, Integer> quantities) {
+        return quantities.keySet().stream().mapToInt(StockReservationEngine::stripe).distinct().sorted().toArray();
+    }
+
+    private void lock(int[] stripes) {
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+    }
+
+    private void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private static int stripe(long productId) {
+        // Fibonacci hashing spreads sequential IDs over the stripes
+        long mixed = productId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 58);
+    }
+
+    /**
+     * State of a running flash sale
+     *
+     * @param productId  product ID
+     * @param shards     number of counters
+     * @param available  units left in the counters
+     * @param rebalances times the units were spread again because counters ran dry
+     */
+    public record FlashSale(Long productId, int shards, long available, long rebalances) {
+    }
+
+    /**
+     * Counters of one product, guarded by the lock of its stripe; the pending
+     * fields are the changes not yet written to its inventory row. During a
+     * flash sale the sale's units count as reserved, the sale is only
+     * replaced under the lock and reservations taken from it are added to
+     * {@code saleReserved} without the lock.
+     */
+    private static final class Stock {
+        private int onHand;
+        private int reserved;
+        private int pendingReserved;
+        private int pendingConsumed;
+        private volatile ShardedStock sale;
+        private final LongAdder saleReserved = new LongAdder();
+
+        private Stock(int onHand, int reserved) {
+            this.onHand = onHand;
+            this.reserved = reserved;
+        }
+
+        private int free() {
+            return Math.max(0, onHand - reserved);
+        }
+
+        private int available() {
+            ShardedStock current = sale;
+            return (int) (free() + (current != null ? current.units() : 0));
+        }
+    }
+
+    /**
+     * Change to the counters of one product, applied under its stripe lock
+     */
+    @FunctionalInterface
+    private interface StockUpdate {
+        void apply(Stock stock, int quantity);
+    }
+}
@@ -0,0 +1,182 @@
+package com.capstone.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing Wheel - hierarchical timer wheel for many long-lived deadlines
+ *
+ * Time is cut into ticks. Each of the {@value #LEVELS} levels is a ring of
+ * {@value #SLOTS} slots; a slot on level 0 spans one tick, a slot on level
+ * 1 spans {@value #SLOTS} ticks, and so on, so with one-second ticks the
+ * wheel covers about 194 days. A deadline goes to the lowest level whose
+ * current window contains it, into a doubly linked slot list, which makes
+ * scheduling and cancelling O(1). When the clock enters the window of a
+ * higher level slot, that slot is emptied into the levels below; a deadline
+ * is moved at most {@value #LEVELS} times before it expires. Deadlines past
+ * the top level wait in an overflow list that is spread out again whenever
+ * the top level starts a new window.
+ *
+ * Keys are unique: scheduling a key again replaces its deadline. Not thread
+ * safe.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+final class TimingWheel {
+
+    static final int LEVELS = 4;
+    static final int SLOTS = 64;
+    private static final int SLOT_BITS = 6;
+
+    private final long tickMillis;
+    // One extra level whose first slot is the overflow list
+    private final Node[][] heads = new Node[LEVELS + 1][SLOTS];
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tickMillis length of one tick
+     * @param nowMillis  current time; deadlines up to here are already due
+     */
+    TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a key, replacing an earlier deadline of the same key. A
+     * deadline in the past expires on the next tick.
+     *
+     * @param key            key
+     * @param deadlineMillis time at which the key expires
+     */
+    void schedule(long key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Node node = new Node(key, deadlineMillis, tick);
+        nodes.put(key, node);
+        place(node);
+    }
+
+    /**
+     * @param key key
+     * @return whether the key was scheduled
+     */
+    boolean cancel(long key) {
+        Node node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Move the clock forward and collect the keys that expired on the way
+     *
+     * @param nowMillis current time
+     * @return expired keys with their deadlines, in the order of their ticks
+     */
+    List<Expired> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Expired> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Entering a new window of a level: spread its slot over the levels below, highest first
+            for (int level = LEVELS; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, level == LEVELS ? 0 : slot(currentTick, level));
+                }
+            }
+            int slot = slot(currentTick, 0);
+            for (Node node = heads[0][slot]; node != null; node = node.next) {
+                nodes.remove(node.key);
+                expired.add(new Expired(node.key, node.deadlineMillis));
+            }
+            heads[0][slot] = null;
+        }
+        return expired;
+    }
+
+    /**
+     * @return number of scheduled keys
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    // Private helper methods
+    private void place(Node node) {
+        int level = 0;
+        while (level < LEVELS && ((node.tick ^ currentTick) >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        int slot = level == LEVELS ? 0 : slot(node.tick, level);
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = heads[level][slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        heads[level][slot] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void cascade(int level, int slot) {
+        Node node = heads[level][slot];
+        heads[level][slot] = null;
+        while (node != null) {
+            Node next = node.next;
+            place(node);
+            node = next;
+        }
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    /**
+     * A key that expired and its deadline
+     */
+    record Expired(long key, long deadlineMillis) {
+    }
+
+    /**
+     * Entry in the doubly linked list of one slot
+     */
+    private static final class Node {
+        private final long key;
+        private final long deadlineMillis;
+        private final long tick;
+        private int level;
+        private int slot;
+        private Node prev;
+        private Node next;
+
+        private Node(long key, long deadlineMillis, long tick) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.capstone.repository;
+
+import com.capstone.domain.Cart;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Cart Repository - Data Access Layer
+ *
+ * This repository handles database operations for Cart entities.
+ */
+@Repository
+public interface CartRepository extends JpaRepository<Cart, String> {
+
+	/**
+	 * Find a cart and lock its row until the current transaction ends
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM Cart c WHERE c.cartKey = :cartKey")
+	Optional<Cart> findForUpdate(@Param("cartKey") String cartKey);
+}
@@ -0,0 +1,74 @@
+package com.capstone.repository;
+
+import com.capstone.domain.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Category Closure Repository - Persistence Layer
+ * 
+ * Maintains the closure table of the category tree. Writes are plain SQL
+ * set operations so that moving a subtree never loads categories.
+ * 
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    /**
+     * Find the given categories and everything below them
+     * 
+     * @param ancestorIds category IDs
+     * @return IDs of the categories and all their descendants
+     */
+    @Query("SELECT DISTINCT c.descendantId FROM CategoryClosure c WHERE c.ancestorId IN :ancestorIds")
+    List<Long> findDescendantIds(@Param("ancestorIds") Collection<Long> ancestorIds);
+
+    /**
+     * Add the depth 0 row of a new category
+     * 
+     * @param categoryId category ID
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (:categoryId, :categoryId, 0)",
+           nativeQuery = true)
+    void insertSelf(@Param("categoryId") Long categoryId);
+
+    /**
+     * Connect the subtree rooted at a category to every ancestor of its new parent
+     * 
+     * @param categoryId root of the subtree
+     * @param parentId new parent category ID
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 "
+            + "FROM category_closure above CROSS JOIN category_closure below "
+            + "WHERE above.descendant_id = :parentId AND below.ancestor_id = :categoryId",
+           nativeQuery = true)
+    void linkSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    /**
+     * Disconnect a subtree from all of its current ancestors
+     * 
+     * The subtree is passed in, as returned by {@link #findDescendantIds}, because
+     * MySQL rejects a DELETE whose subquery reads the table being deleted from.
+     * 
+     * @param subtreeIds IDs of the subtree root and all its descendants
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CategoryClosure c "
+            + "WHERE c.descendantId IN :subtreeIds AND c.ancestorId NOT IN :subtreeIds")
+    void unlinkSubtree(@Param("subtreeIds") Collection<Long> subtreeIds);
+}
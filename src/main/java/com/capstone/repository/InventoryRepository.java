@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,11 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 	 */
 	Optional<Inventory> findByProductId(Long productId);
 
+	/**
+	 * Find the inventories of several products
+	 */
+	List<Inventory> findByProductIdIn(Collection<Long> productIds);
+
 	/**
 	 * Find low stock products (currentStock <= minimumStock)
 	 */
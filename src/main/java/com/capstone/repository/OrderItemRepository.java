@@ -1,9 +1,41 @@
 package com.capstone.repository;
 
+import com.capstone.domain.Order;
 import com.capstone.domain.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * Total units sold per product
+     *
+     * @return rows of [product ID, total quantity]
+     */
+    @Query("SELECT oi.product.id, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.product.id")
+    List<Object[]> sumQuantityByProduct();
+
+    /**
+     * Product of every order line, grouped by order
+     *
+     * @return rows of [order ID, product ID], ordered by order ID
+     */
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi WHERE oi.product IS NOT NULL ORDER BY oi.order.id")
+    List<Object[]> findOrderProductPairs();
+
+    /**
+     * Units per product on orders in one status, e.g. the stock still held
+     * by pending orders
+     *
+     * @param status order status
+     * @return rows of [product ID, total quantity]
+     */
+    @Query("SELECT oi.product.id, SUM(oi.quantity) FROM OrderItem oi "
+            + "WHERE oi.order.orderStatus = :status GROUP BY oi.product.id")
+    List<Object[]> sumQuantityByProductForStatus(@Param("status") Order.OrderStatus status);
 }
@@ -1,10 +1,14 @@
 package com.capstone.repository;
 
 import com.capstone.domain.Order;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +43,37 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 	 * @return list of orders for the specified user and status
 	 */
 	List<Order> findByUserIdAndOrderStatus(Long userId, Order.OrderStatus status);
+
+	/**
+	 * Find the ID and creation time of the orders in one status
+	 *
+	 * @param status order status
+	 * @return rows of [order ID, created at]
+	 */
+	@Query("SELECT o.id, o.createdAt FROM Order o WHERE o.orderStatus = :status")
+	List<Object[]> findIdAndCreatedAtByStatus(@Param("status") Order.OrderStatus status);
+
+	/**
+	 * Find an order and lock its row until the transaction ends, so a status
+	 * change and the expiry of its reservation are applied one after the other
+	 *
+	 * @param id order ID
+	 * @return locked order, if it exists
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT o FROM Order o WHERE o.id = :id")
+	Optional<Order> findForUpdateById(@Param("id") Long id);
+
+	/**
+	 * Find orders that are still in one status, together with their lines,
+	 * and lock them until the transaction ends. The status is checked again
+	 * once the lock is held, so an order changed meanwhile is left out.
+	 *
+	 * @param ids order IDs
+	 * @param status order status
+	 * @return the matching orders
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids AND o.orderStatus = :status ORDER BY o.id")
+	List<Order> findWithItemsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Order.OrderStatus status);
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.capstone.repository;
 
+import com.capstone.cart.CartProduct;
+import com.capstone.catalog.ProductCard;
 import com.capstone.domain.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Product Repository - Persistence Layer
@@ -25,7 +32,31 @@ import java.util.List;
  * @version 1.0.0
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    /**
+     * Find a product with the associations its details page shows (category
+     * and seller) loaded in one query, so the product can be cached and
+     * rendered outside the persistence context. Reviews are shown from the
+     * review summary, not from the entity.
+     * 
+     * @param id product ID
+     * @return product, if it exists
+     */
+    @EntityGraph(attributePaths = {"category", "seller"})
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findDetailsById(@Param("id") Long id);
+
+    /**
+     * Find a product and lock its row until the transaction ends, so
+     * concurrent changes to its rating aggregates are applied one by one
+     * 
+     * @param id product ID
+     * @return locked product, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findForUpdateById(@Param("id") Long id);
 
     /**
      * Find products by category ID
@@ -36,6 +67,57 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId")
     List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
 
+    /**
+     * Find products in a category or any of its subcategories
+     * 
+     * @param categoryId category ID
+     * @return list of products anywhere in the category subtree
+     */
+    @Query("SELECT p FROM Product p WHERE p.category.id IN "
+            + "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId)")
+    List<Product> findByCategorySubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Find listing cards for the given products
+     * 
+     * @param ids product IDs
+     * @return cards of the products that exist, in no particular order
+     */
+    @Query("SELECT new com.capstone.catalog.ProductCard(p.id, p.title, p.price, p.originalPrice, p.imageUrl, "
+            + "p.averageRating, p.stockQuantity) FROM Product p WHERE p.id IN :ids")
+    List<ProductCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the fields cart lines are displayed with
+     * 
+     * @param ids product IDs
+     * @return the products that exist, in no particular order
+     */
+    @Query("SELECT new com.capstone.cart.CartProduct(p.id, p.title, p.imageUrl, c.name) "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.id IN :ids")
+    List<CartProduct> findCartProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find products together with their inventory, e.g. to turn a cart into
+     * an order; the inventory side of the one-to-one cannot be proxied, so
+     * without the join every product would load it with its own query
+     * 
+     * @param ids product IDs
+     * @return the products that exist, in no particular order
+     */
+    @EntityGraph(attributePaths = {"inventory"})
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findWithInventoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the current price of a product
+     * 
+     * @param id product ID
+     * @return the price, empty when the product does not exist
+     */
+    @Query("SELECT p.price FROM Product p WHERE p.id = :id")
+    Optional<BigDecimal> findPriceById(@Param("id") Long id);
+
     /**
      * Search products by title or description
      * 
@@ -46,11 +128,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> searchByQuery(@Param("query") String query);
 
     /**
-     * Find featured products (for home page)
+     * Find featured products, newest first
      * 
-     * @return list of featured products
+     * @return list of active featured products
      */
-    @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.isFeatured = true ORDER BY p.createdAt DESC")
     List<Product> findFeaturedProducts();
 
     /**
@@ -61,6 +143,15 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true")
     List<Product> findActiveProducts();
 
+    /**
+     * Find active products with their category fetched in the same query
+     * (used to build the in-memory catalog indexes)
+     * 
+     * @return list of active products
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.isActive = true")
+    List<Product> findActiveProductsWithCategory();
+
     /**
      * Find products by price range
      * 
@@ -0,0 +1,43 @@
+package com.capstone.repository;
+
+import com.capstone.catalog.ProductDetailView;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product Repository Custom - the product details read model and batched
+ * view count updates
+ *
+ * Implemented by {@link ProductRepositoryImpl} and mixed into
+ * {@link ProductRepository} by Spring Data.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Read the details page view of a product in exactly two statements: one
+     * row joining the product to its seller and inventory record (rating
+     * aggregates included), and one for its gallery images. No entity is
+     * loaded into the persistence context.
+     *
+     * @param productId product ID
+     * @return detail view, or empty when the product does not exist
+     */
+    @Transactional(readOnly = true)
+    Optional<ProductDetailView> findDetailView(Long productId);
+
+    /**
+     * Add view count deltas in one JDBC batch of
+     * {@code UPDATE products SET view_count = view_count + ?}; the database
+     * adds to the current value, so concurrent flushes never overwrite each
+     * other. Unknown product IDs are ignored.
+     *
+     * @param deltas views to add per product ID
+     */
+    @Transactional
+    void addViewCounts(Map<Long, Long> deltas);
+}
@@ -0,0 +1,105 @@
+package com.capstone.repository;
+
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.review.ReviewSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product Repository Implementation - the product details read model with
+ * tuple projections and batched view count updates over plain JDBC
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ProductDetailView> findDetailView(Long productId) {
+        List<Tuple> rows = entityManager.createQuery(
+                        "SELECT p.id AS id, p.title AS title, p.description AS description, p.price AS price, "
+                                + "p.originalPrice AS originalPrice, p.imageUrl AS imageUrl, "
+                                + "p.stockQuantity AS stockQuantity, i.isLowStock AS lowStock, "
+                                + "p.category.id AS categoryId, s.firstName AS sellerFirstName, "
+                                + "s.lastName AS sellerLastName, p.viewCount AS viewCount, p.createdAt AS createdAt, "
+                                + "p.averageRating AS averageRating, p.reviewCount AS reviewCount, "
+                                + "p.oneStarCount AS oneStar, p.twoStarCount AS twoStar, "
+                                + "p.threeStarCount AS threeStar, p.fourStarCount AS fourStar, "
+                                + "p.fiveStarCount AS fiveStar "
+                                + "FROM Product p JOIN p.seller s LEFT JOIN p.inventory i WHERE p.id = :id", Tuple.class)
+                .setParameter("id", productId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Tuple row = rows.get(0);
+        List<ProductDetailView.Image> images = entityManager.createQuery(
+                        "SELECT new com.capstone.catalog.ProductDetailView$Image(img.imageUrl, img.altText) "
+                                + "FROM ProductImage img WHERE img.product.id = :id "
+                                + "ORDER BY img.isPrimary DESC, img.displayOrder, img.id",
+                        ProductDetailView.Image.class)
+                .setParameter("id", productId)
+                .getResultList();
+
+        int[] histogram = {
+                count(row, "oneStar"), count(row, "twoStar"), count(row, "threeStar"),
+                count(row, "fourStar"), count(row, "fiveStar")
+        };
+        String lastName = row.get("sellerLastName", String.class);
+        String sellerName = lastName == null ? row.get("sellerFirstName", String.class)
+                : row.get("sellerFirstName", String.class) + " " + lastName;
+        return Optional.of(new ProductDetailView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("originalPrice", BigDecimal.class),
+                row.get("imageUrl", String.class),
+                List.copyOf(images),
+                count(row, "stockQuantity"),
+                Boolean.TRUE.equals(row.get("lowStock", Boolean.class)),
+                row.get("categoryId", Long.class),
+                sellerName,
+                count(row, "viewCount"),
+                row.get("createdAt", LocalDateTime.class),
+                ReviewSummary.of(row.get("averageRating", BigDecimal.class),
+                        row.get("reviewCount", Integer.class), histogram)));
+    }
+
+    @Override
+    public void addViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE products SET view_count = COALESCE(view_count, 0) + ? WHERE product_id = ?")) {
+                for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                    statement.setLong(1, delta.getValue());
+                    statement.setLong(2, delta.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    // Private helper methods
+    private static int count(Tuple row, String alias) {
+        Integer value = row.get(alias, Integer.class);
+        return value != null ? value : 0;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.capstone.repository;
+
+import com.capstone.domain.Review;
+import com.capstone.review.ReviewView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Review Repository - Persistence Layer
+ *
+ * Review listings are keyset paginated: each query returns the approved
+ * reviews of one product that sort after a (key, review ID) cursor, joined
+ * to the reviewer's name, so every page costs one bounded query.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    String VIEW_SELECT = "SELECT new com.capstone.review.ReviewView(r.id, r.reviewTitle, r.reviewContent, "
+            + "r.rating, COALESCE(r.helpfulCount, 0), u.firstName, u.lastName, r.isVerifiedPurchase, r.createdAt) "
+            + "FROM Review r JOIN r.user u "
+            + "WHERE r.product.id = :productId AND r.isApproved = true ";
+
+    /**
+     * Approved reviews of a product, newest first
+     *
+     * @param productId product ID
+     * @param afterId   ID of the last review on the previous page
+     * @param pageable  page size (first page only)
+     * @return reviews with a smaller ID
+     */
+    @Query(VIEW_SELECT + "AND r.id < :afterId ORDER BY r.id DESC")
+    List<ReviewView> findNewestViews(@Param("productId") Long productId, @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * Approved reviews of a product, most helpful votes first
+     *
+     * @param productId product ID
+     * @param afterKey  helpful votes of the last review on the previous page
+     * @param afterId   ID of the last review on the previous page
+     * @param pageable  page size (first page only)
+     * @return reviews after the cursor
+     */
+    @Query(VIEW_SELECT + "AND (r.helpfulCount < :afterKey OR (r.helpfulCount = :afterKey AND r.id < :afterId)) "
+            + "ORDER BY r.helpfulCount DESC, r.id DESC")
+    List<ReviewView> findMostHelpfulViews(@Param("productId") Long productId, @Param("afterKey") Integer afterKey,
+                                          @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Approved reviews of a product, highest rating first
+     *
+     * @param productId product ID
+     * @param afterKey  rating of the last review on the previous page
+     * @param afterId   ID of the last review on the previous page
+     * @param pageable  page size (first page only)
+     * @return reviews after the cursor
+     */
+    @Query(VIEW_SELECT + "AND (r.rating < :afterKey OR (r.rating = :afterKey AND r.id < :afterId)) "
+            + "ORDER BY r.rating DESC, r.id DESC")
+    List<ReviewView> findHighestRatedViews(@Param("productId") Long productId, @Param("afterKey") Integer afterKey,
+                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Approved reviews of a product, lowest rating first
+     *
+     * @param productId product ID
+     * @param afterKey  rating of the last review on the previous page
+     * @param afterId   ID of the last review on the previous page
+     * @param pageable  page size (first page only)
+     * @return reviews after the cursor
+     */
+    @Query(VIEW_SELECT + "AND (r.rating > :afterKey OR (r.rating = :afterKey AND r.id < :afterId)) "
+            + "ORDER BY r.rating ASC, r.id DESC")
+    List<ReviewView> findLowestRatedViews(@Param("productId") Long productId, @Param("afterKey") Integer afterKey,
+                                          @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Approved review count per rating of one product
+     *
+     * @param productId product ID
+     * @return rows of [rating, count]
+     */
+    @Query("SELECT r.rating, COUNT(r) FROM Review r "
+            + "WHERE r.product.id = :productId AND r.isApproved = true GROUP BY r.rating")
+    List<Object[]> countApprovedByRating(@Param("productId") Long productId);
+
+    /**
+     * Approved review count per product and rating, for repairing the aggregates
+     *
+     * @return rows of [product ID, rating, count]
+     */
+    @Query("SELECT r.product.id, r.rating, COUNT(r) FROM Review r "
+            + "WHERE r.isApproved = true GROUP BY r.product.id, r.rating")
+    List<Object[]> countApprovedByProductAndRating();
+}
@@ -0,0 +1,74 @@
+package com.capstone.review;
+
+/**
+ * Review Sort - orderings offered for the reviews on a product page
+ *
+ * Like the catalog orderings, every ordering is a single numeric key with
+ * the review ID (descending) as tie breaker, so the next page starts right
+ * after a (key, ID) cursor instead of skipping rows with OFFSET.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public enum ReviewSort {
+
+    NEWEST("newest", "Newest"),
+    HELPFUL("helpful", "Most helpful"),
+    RATING_HIGH("rating_high", "Highest rating"),
+    RATING_LOW("rating_low", "Lowest rating");
+
+    private final String param;
+    private final String label;
+
+    ReviewSort(String param, String label) {
+        this.param = param;
+        this.label = label;
+    }
+
+    /**
+     * Resolve a request parameter
+     *
+     * @param value request parameter value, e.g. "helpful"
+     * @return matching sort, newest when the value is missing or unknown
+     */
+    public static ReviewSort fromParam(String value) {
+        if (value != null) {
+            for (ReviewSort sort : values()) {
+                if (sort.param.equalsIgnoreCase(value.trim())) {
+                    return sort;
+                }
+            }
+        }
+        return NEWEST;
+    }
+
+    /**
+     * Sort key of a review: its ID (IDs are assigned in insertion order, so
+     * newest first), helpful votes or rating
+     *
+     * @param review review
+     * @return sort key
+     */
+    public long key(ReviewView review) {
+        return switch (this) {
+            case NEWEST -> review.id();
+            case HELPFUL -> review.helpfulCount();
+            case RATING_HIGH, RATING_LOW -> review.rating();
+        };
+    }
+
+    /**
+     * @return key of a cursor placed before the first review
+     */
+    public int firstKey() {
+        return this == RATING_LOW ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
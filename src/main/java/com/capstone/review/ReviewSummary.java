@@ -0,0 +1,71 @@
+package com.capstone.review;
+
+import com.capstone.domain.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Review Summary - rating overview of one product
+ *
+ * Built from the running aggregates on {@link Product} alone, so the rating
+ * histogram never iterates the reviews collection. The reviews themselves
+ * are listed page by page as {@link ReviewView}s.
+ *
+ * @param averageRating average of the approved ratings (0 to 5)
+ * @param reviewCount   number of approved reviews
+ * @param bars          review count per rating, five stars first
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record ReviewSummary(BigDecimal averageRating, int reviewCount, List<RatingBar> bars) {
+
+    /**
+     * @param product product with its rating aggregates
+     * @return summary of the product's reviews
+     */
+    public static ReviewSummary of(Product product) {
+        return of(product.getAverageRating(), product.getReviewCount(), product.getRatingHistogram());
+    }
+
+    /**
+     * @param averageRating stored average rating, or null
+     * @param reviewCount   stored approved review count, or null
+     * @param histogram     approved review count per rating, index 0 holding one-star reviews
+     * @return summary of the reviews
+     */
+    public static ReviewSummary of(BigDecimal averageRating, Integer reviewCount, int[] histogram) {
+        int total = reviewCount != null ? reviewCount : 0;
+        List<RatingBar> bars = new ArrayList<>(histogram.length);
+        for (int stars = histogram.length; stars >= 1; stars--) {
+            int count = histogram[stars - 1];
+            bars.add(new RatingBar(stars, count, total > 0 ? Math.round(100f * count / total) : 0));
+        }
+        BigDecimal average = averageRating != null ? averageRating : BigDecimal.ZERO;
+        return new ReviewSummary(average, total, List.copyOf(bars));
+    }
+
+    public boolean hasReviews() {
+        return reviewCount > 0;
+    }
+
+    /**
+     * @return average rating rounded to whole stars (0 to 5)
+     */
+    public int stars() {
+        return Math.max(0, Math.min(5, averageRating.setScale(0, RoundingMode.HALF_UP).intValue()));
+    }
+
+    /**
+     * One row of the rating histogram
+     *
+     * @param stars   rating
+     * @param count   approved reviews with this rating
+     * @param percent share of all approved reviews, rounded
+     */
+    public record RatingBar(int stars, int count, int percent) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.capstone.review;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review View - the fields a review on the product page needs
+ *
+ * Fetched with a constructor projection joined to the author's name, so
+ * rendering reviews never loads review or user entities.
+ *
+ * @param id               review ID
+ * @param title            review title
+ * @param content          review text
+ * @param rating           rating from 1 to 5
+ * @param helpfulCount     helpful votes
+ * @param authorFirstName  first name of the reviewer
+ * @param authorLastName   last name of the reviewer
+ * @param verifiedPurchase whether the reviewer bought the product
+ * @param createdAt        when the review was written
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record ReviewView(Long id, String title, String content, int rating, int helpfulCount,
+                         String authorFirstName, String authorLastName, Boolean verifiedPurchase,
+                         LocalDateTime createdAt) {
+
+    public String authorName() {
+        return authorLastName == null ? authorFirstName : authorFirstName + " " + authorLastName;
+    }
+
+    public boolean isVerifiedPurchase() {
+        return Boolean.TRUE.equals(verifiedPurchase);
+    }
+
+    public String ratingStars() {
+        int stars = Math.max(0, Math.min(5, rating));
+        return "★".repeat(stars) + "☆".repeat(5 - stars);
+    }
+}
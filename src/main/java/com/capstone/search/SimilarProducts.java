@@ -0,0 +1,365 @@
+package com.capstone.search;
+
+import com.capstone.catalog.CategoryNode;
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.catalog.ProductIndex;
+import com.capstone.domain.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Similar Products - content based "similar items" from TF-IDF vectors
+ *
+ * Every active product becomes a sparse TF-IDF vector over the terms of its
+ * title (counted {@value #TITLE_BOOST} times), its description and the
+ * categories on its path from the root, so two products in the same leaf
+ * category share more weight than two that only share a department. Vectors
+ * are L2 normalized and stored as a sorted int array of term IDs next to a
+ * float array of weights, which makes cosine similarity a merge of two
+ * arrays.
+ *
+ * A rebuild computes the {@value #TOP_K} nearest neighbours of every product
+ * on the fork-join pool, each task accumulating scores through the postings
+ * of its own terms. A created or edited product gets a fresh vector and
+ * neighbour list and is merged into the lists of the other products; their
+ * own vectors keep the term weights of the last rebuild. Readers only get
+ * the published immutable lists, so a product page never computes anything.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class SimilarProducts implements ProductIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarProducts.class);
+
+    static final int TOP_K = 8;
+    static final int TITLE_BOOST = 3;
+    private static final String CATEGORY_TERM = "category:";
+
+    private final CategoryTreeIndex categoryTreeIndex;
+    private final Object lock = new Object();
+    private final Map<String, Integer> vocabulary = new HashMap<>();
+    private int[] documentFrequency = new int[256];
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Vector> vectors = new HashMap<>();
+    private final Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SimilarProducts(CategoryTreeIndex categoryTreeIndex) {
+        this.categoryTreeIndex = categoryTreeIndex;
+    }
+
+    /**
+     * @param productId product
+     * @param limit     maximum number of products
+     * @return the most similar products, most similar first
+     */
+    public List<Long> similarTo(Long productId, int limit) {
+        Neighbours top = productId != null ? neighbours.get(productId) : null;
+        if (top == null) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>(Math.min(limit, top.ids.length));
+        for (int i = 0; i < top.ids.length && result.size() < limit; i++) {
+            result.add(top.ids[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        long start = System.nanoTime();
+        synchronized (lock) {
+            vocabulary.clear();
+            documentFrequency = new int[256];
+            documents.clear();
+            vectors.clear();
+            neighbours.clear();
+            for (Product product : products) {
+                addDocument(product);
+            }
+            long[] ids = documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            Vector[] all = new Vector[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                all[i] = vectorize(documents.get(ids[i]));
+                vectors.put(ids[i], all[i]);
+            }
+            Postings postings = Postings.of(all, vocabulary.size());
+            Neighbours[] lists = new Neighbours[ids.length];
+            IntStream.range(0, ids.length).parallel().forEach(i -> lists[i] = postings.nearest(i, ids, all[i]));
+            for (int i = 0; i < ids.length; i++) {
+                publish(ids[i], lists[i]);
+            }
+        }
+        logger.info("Computed similar products over {} products and {} terms in {} ms",
+                documents.size(), vocabulary.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void update(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        long productId = product.getId();
+        synchronized (lock) {
+            deleteDocument(productId);
+            addDocument(product);
+            Vector vector = vectorize(documents.get(productId));
+            vectors.put(productId, vector);
+            Neighbours own = Neighbours.EMPTY;
+            for (Map.Entry<Long, Vector> entry : vectors.entrySet()) {
+                long otherId = entry.getKey();
+                if (otherId == productId) {
+                    continue;
+                }
+                float score = vector.dot(entry.getValue());
+                own = own.with(otherId, score);
+                Neighbours theirs = neighbours.getOrDefault(otherId, Neighbours.EMPTY).without(productId);
+                publish(otherId, theirs.with(productId, score));
+            }
+            publish(productId, own);
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        synchronized (lock) {
+            if (deleteDocument(productId) == null) {
+                return;
+            }
+            vectors.remove(productId);
+            neighbours.remove(productId);
+            for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+                Neighbours without = entry.getValue().without(productId);
+                if (without != entry.getValue()) {
+                    publish(entry.getKey(), without);
+                }
+            }
+        }
+    }
+
+    // Private helper methods (callers hold the lock)
+    private void addDocument(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        Map<Integer, Integer> counts = new TreeMap<>();
+        for (String token : TextTokenizer.tokenize(product.getTitle())) {
+            counts.merge(termId(token), TITLE_BOOST, Integer::sum);
+        }
+        for (String token : TextTokenizer.tokenize(product.getDescription())) {
+            counts.merge(termId(token), 1, Integer::sum);
+        }
+        if (product.getCategory() != null) {
+            for (CategoryNode node : categoryTreeIndex.current().breadcrumb(product.getCategory().getId())) {
+                counts.merge(termId(CATEGORY_TERM + node.id()), 1, Integer::sum);
+            }
+        }
+        int[] terms = new int[counts.size()];
+        int[] frequencies = new int[counts.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            terms[i] = entry.getKey();
+            frequencies[i++] = entry.getValue();
+            documentFrequency[entry.getKey()]++;
+        }
+        documents.put(product.getId(), new Document(terms, frequencies));
+    }
+
+    private Document deleteDocument(Long productId) {
+        Document document = documents.remove(productId);
+        if (document != null) {
+            for (int term : document.terms()) {
+                documentFrequency[term]--;
+            }
+        }
+        return document;
+    }
+
+    private int termId(String term) {
+        Integer id = vocabulary.get(term);
+        if (id == null) {
+            id = vocabulary.size();
+            vocabulary.put(term, id);
+            if (id == documentFrequency.length) {
+                documentFrequency = Arrays.copyOf(documentFrequency, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private Vector vectorize(Document document) {
+        int count = documents.size();
+        float[] weights = new float[document.terms().length];
+        double norm = 0;
+        for (int i = 0; i < weights.length; i++) {
+            int df = Math.max(1, documentFrequency[document.terms()[i]]);
+            double idf = Math.log((1.0 + count) / (1.0 + df)) + 1;
+            double weight = (1 + Math.log(document.frequencies()[i])) * idf;
+            weights[i] = (float) weight;
+            norm += weight * weight;
+        }
+        float scale = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] *= scale;
+        }
+        return new Vector(document.terms(), weights);
+    }
+
+    private void publish(long productId, Neighbours list) {
+        if (list.ids.length == 0) {
+            neighbours.remove(productId);
+        } else {
+            neighbours.put(productId, list);
+        }
+    }
+
+    /**
+     * Raw term counts of one product, sorted by term ID
+     */
+    private record Document(int[] terms, int[] frequencies) {
+    }
+
+    /**
+     * Normalized TF-IDF vector, sorted by term ID
+     */
+    private record Vector(int[] terms, float[] weights) {
+
+        private float dot(Vector other) {
+            float sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < terms.length && j < other.terms.length) {
+                if (terms[i] == other.terms[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (terms[i] < other.terms[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Inverted view of all vectors of a rebuild: for every term the positions
+     * of the vectors containing it and their weights
+     */
+    private record Postings(int[][] positions, float[][] weights) {
+
+        private static Postings of(Vector[] vectors, int termCount) {
+            int[] sizes = new int[termCount];
+            for (Vector vector : vectors) {
+                for (int term : vector.terms()) {
+                    sizes[term]++;
+                }
+            }
+            int[][] positions = new int[termCount][];
+            float[][] weights = new float[termCount][];
+            for (int term = 0; term < termCount; term++) {
+                positions[term] = new int[sizes[term]];
+                weights[term] = new float[sizes[term]];
+            }
+            int[] next = new int[termCount];
+            for (int position = 0; position < vectors.length; position++) {
+                Vector vector = vectors[position];
+                for (int i = 0; i < vector.terms().length; i++) {
+                    int term = vector.terms()[i];
+                    positions[term][next[term]] = position;
+                    weights[term][next[term]++] = vector.weights()[i];
+                }
+            }
+            return new Postings(positions, weights);
+        }
+
+        private Neighbours nearest(int position, long[] ids, Vector vector) {
+            float[] scores = new float[ids.length];
+            for (int i = 0; i < vector.terms().length; i++) {
+                int term = vector.terms()[i];
+                float weight = vector.weights()[i];
+                int[] termPositions = positions[term];
+                float[] termWeights = weights[term];
+                for (int p = 0; p < termPositions.length; p++) {
+                    scores[termPositions[p]] += weight * termWeights[p];
+                }
+            }
+            Neighbours top = Neighbours.EMPTY;
+            for (int other = 0; other < ids.length; other++) {
+                if (other != position) {
+                    top = top.with(ids[other], scores[other]);
+                }
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Most similar products in parallel arrays, sorted by score (highest
+     * first) and then by product ID; at most {@value #TOP_K} entries
+     */
+    private record Neighbours(long[] ids, float[] scores) {
+
+        private static final Neighbours EMPTY = new Neighbours(new long[0], new float[0]);
+
+        /**
+         * @return this list with the product inserted at its rank, or this
+         *         list when the score is zero or too low to make the top
+         */
+        private Neighbours with(long id, float score) {
+            int size = ids.length;
+            if (score <= 0 || (size == TOP_K && !before(id, score, ids[size - 1], scores[size - 1]))) {
+                return this;
+            }
+            int at = 0;
+            while (at < size && before(ids[at], scores[at], id, score)) {
+                at++;
+            }
+            int newSize = Math.min(TOP_K, size + 1);
+            long[] newIds = new long[newSize];
+            float[] newScores = new float[newSize];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(scores, 0, newScores, 0, at);
+            newIds[at] = id;
+            newScores[at] = score;
+            System.arraycopy(ids, at, newIds, at + 1, newSize - at - 1);
+            System.arraycopy(scores, at, newScores, at + 1, newSize - at - 1);
+            return new Neighbours(newIds, newScores);
+        }
+
+        /**
+         * @return this list without the product, or this list when it is absent
+         */
+        private Neighbours without(long id) {
+            for (int at = 0; at < ids.length; at++) {
+                if (ids[at] == id) {
+                    long[] newIds = new long[ids.length - 1];
+                    float[] newScores = new float[ids.length - 1];
+                    System.arraycopy(ids, 0, newIds, 0, at);
+                    System.arraycopy(scores, 0, newScores, 0, at);
+                    System.arraycopy(ids, at + 1, newIds, at, ids.length - at - 1);
+                    System.arraycopy(scores, at + 1, newScores, at, ids.length - at - 1);
+                    return new Neighbours(newIds, newScores);
+                }
+            }
+            return this;
+        }
+
+        private static boolean before(long id, float score, long otherId, float otherScore) {
+            return score != otherScore ? score > otherScore : id < otherId;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.capstone.search;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Search box suggestion
+ *
+ * @param text  text to show and to search for
+ * @param type  whether the suggestion is a product title or a category name
+ * @param id    product or category ID
+ * @param weight ranking weight (views plus weighted sales), not serialized
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public record Suggestion(String text, Type type, Long id, @JsonIgnore long weight) {
+
+    public enum Type {
+        PRODUCT, CATEGORY
+    }
+
+    boolean sameTarget(Suggestion other) {
+        return type == other.type && id.equals(other.id);
+    }
+}
@@ -0,0 +1,490 @@
+package com.capstone.search;
+
+import com.capstone.catalog.ProductIndex;
+import com.capstone.config.AfterCommit;
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import com.capstone.repository.OrderItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Suggestion Trie - memory-only autocomplete for the search box
+ *
+ * A path-compressed prefix trie over product titles and category names.
+ * Every word start of a title is a key ("macbook air m2", "air m2", "m2"),
+ * so typing any word of a title finds it. Each node keeps the best
+ * {@value #TOP_K} suggestions of its subtree, precomputed on insert and
+ * repaired on removal, so a lookup is a walk down the typed prefix followed
+ * by returning an existing array - no sorting and no database access.
+ * Products are weighted by views plus {@value #SALES_WEIGHT} per unit sold;
+ * categories by the total weight of their products. Sales are loaded on
+ * rebuild and added as orders commit; views are added as they are
+ * written. Nodes left without suggestions are removed, and a node left with
+ * a single child is merged into it.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class SuggestionTrie implements ProductIndex {
+
+    static final int TOP_K = 10;
+    static final long SALES_WEIGHT = 20;
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> RANKING =
+            Comparator.comparingLong(Suggestion::weight).reversed().thenComparing(Suggestion::text);
+
+    private final OrderItemRepository orderItemRepository;
+
+    private Node root = new Node("");
+    private final Map<Long, Long> unitsSold = new HashMap<>();
+    private final Map<Long, Suggestion> productEntries = new HashMap<>();
+    private final Map<Long, Long> productCategories = new HashMap<>();
+    private final Map<Long, Integer> categoryProductCounts = new HashMap<>();
+    private final Map<Long, Suggestion> categoryEntries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public SuggestionTrie(OrderItemRepository orderItemRepository) {
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        Map<Long, Long> sales = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantityByProduct()) {
+            sales.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            unitsSold.clear();
+            unitsSold.putAll(sales);
+            productEntries.clear();
+            productCategories.clear();
+            categoryProductCounts.clear();
+            categoryEntries.clear();
+            for (Product product : products) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void viewsAdded(Map<Long, Long> views) {
+        lock.writeLock().lock();
+        try {
+            views.forEach(this::reweigh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the units of an order to the weights of its products, once the
+     * transaction commits
+     *
+     * @param quantities units per product ID
+     */
+    public void recordSales(Map<Long, Integer> quantities) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                quantities.forEach(this::addSale);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Complete a typed prefix
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions (at most {@value #TOP_K})
+     * @return best suggestions whose title or category name has a word starting with the prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String rest = key;
+            while (!rest.isEmpty()) {
+                Node child = node.child(rest.charAt(0));
+                if (child == null) {
+                    return List.of();
+                }
+                if (rest.length() <= child.label.length()) {
+                    if (!child.label.startsWith(rest)) {
+                        return List.of();
+                    }
+                    node = child;
+                    break;
+                }
+                if (!rest.startsWith(child.label)) {
+                    return List.of();
+                }
+                rest = rest.substring(child.label.length());
+                node = child;
+            }
+            // Node arrays are replaced, never modified, so the view stays valid after unlocking
+            return Arrays.asList(node.top).subList(0, Math.min(limit, node.top.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of trie nodes, the root included
+     */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return count(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Private helper methods (callers hold the write lock)
+    private void addSale(Long productId, Integer quantity) {
+        if (productId == null || quantity == null || quantity < 1) {
+            return;
+        }
+        unitsSold.merge(productId, quantity.longValue(), Long::sum);
+        reweigh(productId, SALES_WEIGHT * quantity);
+    }
+
+    private void reweigh(Long productId, long added) {
+        Suggestion entry = productEntries.get(productId);
+        if (entry == null || added == 0) {
+            return;
+        }
+        Suggestion reweighed = new Suggestion(entry.text(), entry.type(), productId, entry.weight() + added);
+        removeAll(entry);
+        productEntries.put(productId, reweighed);
+        insertAll(reweighed);
+        Long categoryId = productCategories.get(productId);
+        Suggestion category = categoryId != null ? categoryEntries.get(categoryId) : null;
+        if (category != null) {
+            replaceCategory(categoryId, new Suggestion(category.text(), category.type(), categoryId,
+                    category.weight() + added));
+        }
+    }
+
+    private void add(Product product) {
+        if (product.getId() == null || product.getTitle() == null) {
+            return;
+        }
+        long weight = (product.getViewCount() != null ? product.getViewCount() : 0)
+                + SALES_WEIGHT * unitsSold.getOrDefault(product.getId(), 0L);
+        Suggestion entry = new Suggestion(product.getTitle(), Suggestion.Type.PRODUCT, product.getId(), weight);
+        productEntries.put(product.getId(), entry);
+        insertAll(entry);
+
+        Category category = product.getCategory();
+        if (category != null && category.getId() != null) {
+            productCategories.put(product.getId(), category.getId());
+            categoryProductCounts.merge(category.getId(), 1, Integer::sum);
+            Suggestion previous = categoryEntries.get(category.getId());
+            long categoryWeight = (previous != null ? previous.weight() : 0) + weight;
+            replaceCategory(category.getId(), new Suggestion(category.getName(), Suggestion.Type.CATEGORY,
+                    category.getId(), categoryWeight));
+        }
+    }
+
+    private void delete(Long productId) {
+        Suggestion entry = productEntries.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        removeAll(entry);
+        Long categoryId = productCategories.remove(productId);
+        Suggestion category = categoryId != null ? categoryEntries.get(categoryId) : null;
+        if (category != null) {
+            boolean stillUsed = categoryProductCounts.merge(categoryId, -1, Integer::sum) > 0;
+            if (!stillUsed) {
+                categoryProductCounts.remove(categoryId);
+            }
+            replaceCategory(categoryId, stillUsed
+                    ? new Suggestion(category.text(), category.type(), categoryId, category.weight() - entry.weight())
+                    : null);
+        }
+    }
+
+    private void replaceCategory(Long categoryId, Suggestion replacement) {
+        Suggestion previous = replacement != null
+                ? categoryEntries.put(categoryId, replacement)
+                : categoryEntries.remove(categoryId);
+        if (previous != null) {
+            removeAll(previous);
+        }
+        if (replacement != null) {
+            insertAll(replacement);
+        }
+    }
+
+    private void insertAll(Suggestion entry) {
+        for (String key : keys(entry.text())) {
+            insert(key, entry);
+        }
+    }
+
+    private void removeAll(Suggestion entry) {
+        for (String key : keys(entry.text())) {
+            remove(key, entry);
+        }
+    }
+
+    private void insert(String key, Suggestion entry) {
+        Node node = root;
+        node.top = offer(node.top, entry);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.child(rest.charAt(0));
+            if (child == null) {
+                Node leaf = new Node(rest);
+                leaf.terminals = new Suggestion[] {entry};
+                leaf.top = leaf.terminals;
+                node.addChild(leaf);
+                return;
+            }
+            int common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.replaceChild(middle);
+                child = middle;
+            }
+            rest = rest.substring(common);
+            node = child;
+            node.top = offer(node.top, entry);
+        }
+        node.terminals = offerTerminal(node.terminals, entry);
+    }
+
+    private void remove(String key, Suggestion entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.child(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) {
+                return;
+            }
+            rest = rest.substring(child.label.length());
+            node = child;
+            path.add(node);
+        }
+        node.terminals = without(node.terminals, entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node pathNode = path.get(i);
+            if (i > 0 && pathNode.terminals.length == 0) {
+                Node parent = path.get(i - 1);
+                if (pathNode.children.length == 0) {
+                    parent.removeChild(pathNode.label.charAt(0));
+                    continue;
+                }
+                if (pathNode.children.length == 1) {
+                    // Merge the single child into this node to keep the path compressed
+                    Node child = pathNode.children[0];
+                    child.label = pathNode.label + child.label;
+                    parent.replaceChild(child);
+                    continue;
+                }
+            }
+            if (contains(pathNode.top, entry)) {
+                pathNode.top = recompute(pathNode);
+            }
+        }
+    }
+
+    private static int count(Node node) {
+        int nodes = 1;
+        for (Node child : node.children) {
+            nodes += count(child);
+        }
+        return nodes;
+    }
+
+    private static Suggestion[] recompute(Node node) {
+        List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+        List<Suggestion> best = new ArrayList<>(TOP_K);
+        for (Suggestion candidate : candidates) {
+            if (best.size() == TOP_K) {
+                break;
+            }
+            if (best.stream().noneMatch(candidate::sameTarget)) {
+                best.add(candidate);
+            }
+        }
+        return best.toArray(NO_SUGGESTIONS);
+    }
+
+    private static Suggestion[] offer(Suggestion[] top, Suggestion entry) {
+        if (contains(top, entry)) {
+            return top;
+        }
+        if (top.length == TOP_K && RANKING.compare(entry, top[TOP_K - 1]) >= 0) {
+            return top;
+        }
+        Suggestion[] merged = Arrays.copyOf(top, Math.min(TOP_K, top.length + 1));
+        int position = top.length;
+        while (position > 0 && RANKING.compare(entry, top[position - 1]) < 0) {
+            position--;
+        }
+        System.arraycopy(top, position, merged, position + 1, merged.length - position - 1);
+        merged[position] = entry;
+        return merged;
+    }
+
+    private static Suggestion[] offerTerminal(Suggestion[] terminals, Suggestion entry) {
+        if (contains(terminals, entry)) {
+            return terminals;
+        }
+        Suggestion[] grown = Arrays.copyOf(terminals, terminals.length + 1);
+        grown[terminals.length] = entry;
+        return grown;
+    }
+
+    private static Suggestion[] without(Suggestion[] suggestions, Suggestion entry) {
+        return Arrays.stream(suggestions)
+                .filter(suggestion -> !suggestion.sameTarget(entry))
+                .toArray(Suggestion[]::new);
+    }
+
+    private static boolean contains(Suggestion[] suggestions, Suggestion entry) {
+        for (Suggestion suggestion : suggestions) {
+            if (suggestion.sameTarget(entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> keys(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : String.join(" ", TextTokenizer.tokenize(text)).toLowerCase(Locale.ROOT);
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Trie node; children are kept sorted by the first character of their label
+     */
+    private static final class Node {
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        private String label;
+        private char[] firsts = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            int index = -(Arrays.binarySearch(firsts, child.label.charAt(0)) + 1);
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirsts[index] = child.label.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(firsts, index, newFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void removeChild(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void replaceChild(Node child) {
+            children[Arrays.binarySearch(firsts, child.label.charAt(0))] = child;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.capstone.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text Tokenizer shared by the in-memory search structures
+ *
+ * Splits text into lower-case runs of letters and digits, so that
+ * "iPhone 15 Pro" becomes [iphone, 15, pro].
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Tokenize text
+     *
+     * @param text text to split, may be null
+     * @return tokens in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,331 @@
+package com.capstone.search;
+
+import com.capstone.catalog.ProductIndex;
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram Index - typo tolerant product lookup
+ *
+ * Words from product titles and category names form a vocabulary, and each
+ * word is indexed by its padded trigrams ("iphone" -> "  i", " ip", "iph",
+ * ...). A misspelled query word only has to share a few trigrams with a
+ * vocabulary word to become a candidate; candidates are then verified with
+ * the optimal string alignment distance (Levenshtein plus transpositions) and
+ * ranked by similarity. A word no product uses any more leaves the
+ * vocabulary, and its ID is reused.
+ *
+ * Lookups touch the vocabulary, never the products table, and are bounded
+ * by the query rather than the catalog. A vocabulary word sharing fewer
+ * trigrams than its allowed edits could leave is skipped without computing
+ * the distance. Each query word keeps its {@value #MAX_TERM_MATCHES}
+ * closest vocabulary words. Each of those contributes at most
+ * {@value #MAX_TERM_POSTINGS} products, lowest IDs first, so a query word
+ * visits at most {@code MAX_TERM_MATCHES * MAX_TERM_POSTINGS} postings.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Component
+public class TrigramIndex implements ProductIndex {
+
+    static final int MAX_TERM_MATCHES = 8;
+    static final int MAX_TERM_POSTINGS = 1_000;
+    private static final double MIN_JACCARD = 0.15;
+    // An edit changes at most 4 padded trigrams (a transposition spans 4)
+    private static final int GRAMS_PER_EDIT = 4;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<NavigableSet<Long>> termProducts = new ArrayList<>();
+    private final Map<Long, TermList> trigramTerms = new HashMap<>();
+    private final Map<Long, int[]> productTerms = new HashMap<>();
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            termProducts.clear();
+            trigramTerms.clear();
+            productTerms.clear();
+            freeTermIds.clear();
+            for (Product product : products) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find products whose title or category name approximately matches the query.
+     * Each query word contributes the similarity (1 - edits / word length) of
+     * its closest vocabulary word, so products matching more words rank first.
+     *
+     * @param query free text query, possibly misspelled
+     * @param limit maximum number of results
+     * @return product IDs ordered by descending similarity
+     */
+    public List<Long> search(String query, int limit) {
+        LinkedHashSet<String> queryTerms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> best = new HashMap<>();
+                for (Map.Entry<Integer, Double> match : matchTerms(queryTerm).entrySet()) {
+                    int visited = 0;
+                    for (Long productId : termProducts.get(match.getKey())) {
+                        if (visited++ == MAX_TERM_POSTINGS) {
+                            break;
+                        }
+                        best.merge(productId, match.getValue(), Math::max);
+                    }
+                }
+                best.forEach((productId, similarity) -> scores.merge(productId, similarity, Double::sum));
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of words in the vocabulary
+     */
+    int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Optimal string alignment distance: insertions, deletions, substitutions
+     * and transpositions of adjacent characters each cost one edit
+     */
+    static int editDistance(String a, String b) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    static long[] trigrams(String term) {
+        String padded = "  " + term + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    // Private helper methods (callers hold the lock)
+    private Map<Integer, Double> matchTerms(String queryTerm) {
+        Map<Integer, Double> matches = new HashMap<>();
+        Integer exact = termIds.get(queryTerm);
+        if (exact != null) {
+            matches.put(exact, 1.0);
+            return matches;
+        }
+        long[] queryGrams = distinct(trigrams(queryTerm));
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long gram : queryGrams) {
+            TermList candidates = trigramTerms.get(gram);
+            if (candidates != null) {
+                for (int i = 0; i < candidates.size; i++) {
+                    shared.merge(candidates.termIds[i], 1, Integer::sum);
+                }
+            }
+        }
+        int maxEdits = queryTerm.length() <= 4 ? 1 : 2;
+        int minShared = queryGrams.length - GRAMS_PER_EDIT * maxEdits;
+        List<Map.Entry<Integer, Double>> found = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            String term = terms.get(candidate.getKey());
+            int termGrams = term.length() + 1;
+            double jaccard = (double) candidate.getValue() / (queryGrams.length + termGrams - candidate.getValue());
+            if (candidate.getValue() < minShared || jaccard < MIN_JACCARD
+                    || Math.abs(term.length() - queryTerm.length()) > maxEdits) {
+                continue;
+            }
+            int distance = editDistance(queryTerm, term);
+            if (distance <= maxEdits) {
+                found.add(Map.entry(candidate.getKey(),
+                        1.0 - (double) distance / Math.max(term.length(), queryTerm.length())));
+            }
+        }
+        found.stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_TERM_MATCHES)
+                .forEach(match -> matches.put(match.getKey(), match.getValue()));
+        return matches;
+    }
+
+    private void add(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        Set<String> words = new LinkedHashSet<>(TextTokenizer.tokenize(product.getTitle()));
+        Category category = product.getCategory();
+        if (category != null) {
+            words.addAll(TextTokenizer.tokenize(category.getName()));
+        }
+        int[] ids = new int[words.size()];
+        int i = 0;
+        for (String word : words) {
+            int termId = termId(word);
+            termProducts.get(termId).add(product.getId());
+            ids[i++] = termId;
+        }
+        productTerms.put(product.getId(), ids);
+    }
+
+    private void delete(Long productId) {
+        int[] ids = productTerms.remove(productId);
+        if (ids != null) {
+            for (int termId : ids) {
+                Set<Long> products = termProducts.get(termId);
+                products.remove(productId);
+                if (products.isEmpty()) {
+                    dropTerm(termId);
+                }
+            }
+        }
+    }
+
+    private int termId(String word) {
+        Integer existing = termIds.get(word);
+        if (existing != null) {
+            return existing;
+        }
+        int termId;
+        if (freeTermIds.isEmpty()) {
+            termId = terms.size();
+            terms.add(word);
+            termProducts.add(new TreeSet<>());
+        } else {
+            termId = freeTermIds.pop();
+            terms.set(termId, word);
+            termProducts.set(termId, new TreeSet<>());
+        }
+        termIds.put(word, termId);
+        for (long gram : distinct(trigrams(word))) {
+            trigramTerms.computeIfAbsent(gram, key -> new TermList()).add(termId);
+        }
+        return termId;
+    }
+
+    private void dropTerm(int termId) {
+        String word = terms.get(termId);
+        termIds.remove(word);
+        for (long gram : distinct(trigrams(word))) {
+            TermList candidates = trigramTerms.get(gram);
+            candidates.remove(termId);
+            if (candidates.size == 0) {
+                trigramTerms.remove(gram);
+            }
+        }
+        terms.set(termId, null);
+        termProducts.set(termId, null);
+        freeTermIds.push(termId);
+    }
+
+    private static long[] distinct(long[] grams) {
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /**
+     * Growable list of term IDs sharing one trigram
+     */
+    private static final class TermList {
+        private int[] termIds = new int[4];
+        private int size;
+
+        private void add(int termId) {
+            if (size == termIds.length) {
+                termIds = Arrays.copyOf(termIds, size * 2);
+            }
+            termIds[size++] = termId;
+        }
+
+        private void remove(int termId) {
+            for (int i = 0; i < size; i++) {
+                if (termIds[i] == termId) {
+                    termIds[i] = termIds[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
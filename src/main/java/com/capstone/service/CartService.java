@@ -8,6 +8,7 @@ import java.util.List;
 public interface CartService {
 	List<CartItem> getItems();
 	CartSummary getSummary();
+	int getItemCount();
 	void addItem(Long productId, int quantity);
 	void updateQuantity(Long productId, int quantity);
 	void removeItem(Long productId);
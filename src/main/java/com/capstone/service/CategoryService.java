@@ -1,5 +1,6 @@
 package com.capstone.service;
 
+import com.capstone.catalog.CategoryTree;
 import com.capstone.domain.Category;
 import java.util.List;
 
@@ -80,4 +81,11 @@ public interface CategoryService {
      * @return list of categories with their hierarchy
      */
     List<Category> getCategoryHierarchy();
+
+    /**
+     * Get the category tree snapshot
+     * 
+     * @return current category tree, served from memory
+     */
+    CategoryTree getCategoryTree();
 }
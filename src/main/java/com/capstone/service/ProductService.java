@@ -1,6 +1,13 @@
 package com.capstone.service;
 
+import com.capstone.catalog.CatalogSearchResult;
+import com.capstone.catalog.FacetFilter;
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.catalog.ProductSort;
 import com.capstone.domain.Product;
+import com.capstone.search.Suggestion;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,15 +38,58 @@ public interface ProductService {
     /**
      * Get featured products for home page
      * 
-     * @return list of featured products
+     * @return cards of the featured products
      */
-    List<Product> getFeaturedProducts();
+    List<ProductCard> getFeaturedProducts();
+
+    /**
+     * Get the products with the most views, cart additions and orders
+     * in the recent trending window
+     * 
+     * @return cards of the trending products, most active first
+     */
+    List<ProductCard> getTrendingProducts();
+
+    /**
+     * Get the products most often ordered together with a product
+     * 
+     * @param productId product ID
+     * @return cards of the related products, strongest first
+     */
+    List<ProductCard> getFrequentlyBoughtTogether(Long productId);
+
+    /**
+     * Get the products most often ordered together with any of the given
+     * products, excluding the products themselves
+     * 
+     * @param productIds product IDs, e.g. the cart contents
+     * @return cards of the related products, strongest first
+     */
+    List<ProductCard> getFrequentlyBoughtTogether(Collection<Long> productIds);
+
+    /**
+     * Get the products whose title, description and category are most
+     * similar to a product
+     * 
+     * @param productId product ID
+     * @return cards of the similar products, most similar first
+     */
+    List<ProductCard> getSimilarProducts(Long productId);
+
+    /**
+     * Get the cards of the given products, from the card cache where
+     * possible and with a single query for the rest
+     * 
+     * @param productIds product IDs in display order
+     * @return cards of the products that exist, in the given order
+     */
+    List<ProductCard> getProductCards(List<Long> productIds);
 
     /**
      * Get products by category
      * 
      * @param categoryId category ID
-     * @return list of products in the specified category
+     * @return list of products in the specified category and its subcategories
      */
     List<Product> getProductsByCategory(Long categoryId);
 
@@ -51,6 +101,39 @@ public interface ProductService {
      */
     List<Product> searchProducts(String query);
 
+    /**
+     * Search products by query, optionally tolerating misspellings
+     * 
+     * @param query search query
+     * @param fuzzy true to match titles and category names by similarity
+     *              instead of exact words
+     * @return list of matching products, best match first
+     */
+    List<Product> searchProducts(String query, boolean fuzzy);
+
+    /**
+     * Browse the catalog with any combination of filters, one page at a time
+     * 
+     * @param query optional search query; null or blank browses all active products
+     * @param fuzzy true to match the query by similar spelling
+     * @param filter category, price, rating, stock and featured filters
+     * @param sort page order
+     * @param cursor next page token from the previous page, or null for the first page
+     * @param pageSize requested page size (capped)
+     * @return one page of matching products with the product count behind each filter option
+     */
+    CatalogSearchResult browseCatalog(String query, boolean fuzzy, FacetFilter filter,
+                                      ProductSort sort, String cursor, Integer pageSize);
+
+    /**
+     * Autocomplete suggestions for the search box
+     * 
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions
+     * @return product titles and category names, most popular first
+     */
+    List<Suggestion> getSearchSuggestions(String prefix, int limit);
+
     /**
      * Get product by ID
      * 
@@ -59,6 +142,15 @@ public interface ProductService {
      */
     Product getProductById(Long id);
 
+    /**
+     * Get everything the product details page shows, read in a fixed
+     * number of statements
+     * 
+     * @param id product ID
+     * @return detail view or null if not found
+     */
+    ProductDetailView getProductDetails(Long id);
+
     /**
      * Create new product
      * 
@@ -0,0 +1,31 @@
+package com.capstone.service;
+
+import com.capstone.catalog.ProductCard;
+
+import java.util.List;
+
+/**
+ * Recently Viewed Service Interface - Application Layer
+ *
+ * Tracks the products the current visitor has looked at during their
+ * session.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public interface RecentlyViewedService {
+
+    /**
+     * Record that the current visitor viewed a product
+     *
+     * @param productId product ID
+     */
+    void recordView(Long productId);
+
+    /**
+     * Get the products the current visitor viewed last
+     *
+     * @return product cards, most recent first
+     */
+    List<ProductCard> getRecentlyViewed();
+}
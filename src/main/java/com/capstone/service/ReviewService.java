@@ -0,0 +1,81 @@
+package com.capstone.service;
+
+import com.capstone.catalog.CatalogPage;
+import com.capstone.domain.Review;
+import com.capstone.review.ReviewSort;
+import com.capstone.review.ReviewView;
+
+/**
+ * Review Service - Application Layer
+ *
+ * This service handles product reviews and keeps the rating aggregates on
+ * the reviewed product (sum, count and star histogram) up to date with a
+ * constant amount of work per change.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+public interface ReviewService {
+
+    /**
+     * Add a review to a product
+     *
+     * @param productId reviewed product ID
+     * @param userId reviewer ID
+     * @param review review data (title, content, rating)
+     * @return saved review
+     */
+    Review addReview(Long productId, Long userId, Review review);
+
+    /**
+     * Edit the title, content and rating of a review
+     *
+     * @param reviewId review ID
+     * @param review updated review data
+     * @return updated review
+     */
+    Review updateReview(Long reviewId, Review review);
+
+    /**
+     * Approve or reject a review; only approved reviews count towards the rating
+     *
+     * @param reviewId review ID
+     * @param approved new approval state
+     * @return updated review
+     */
+    Review setApproved(Long reviewId, boolean approved);
+
+    /**
+     * Delete a review
+     *
+     * @param reviewId review ID
+     */
+    void deleteReview(Long reviewId);
+
+    /**
+     * Get one keyset paginated page of a product's approved reviews
+     *
+     * @param productId product ID
+     * @param sort review order
+     * @param cursor next page token from the previous page, null for the first page
+     * @param size requested page size, capped
+     * @return reviews and the token of the following page
+     */
+    CatalogPage<ReviewView> getReviews(Long productId, ReviewSort sort, String cursor, Integer size);
+
+    /**
+     * Recount the rating aggregates of one product from its approved reviews
+     *
+     * @param productId product ID
+     * @return true when the stored aggregates were wrong and have been fixed
+     */
+    boolean recountRatings(Long productId);
+
+    /**
+     * Recount the rating aggregates of every product from its approved reviews
+     * and fix the products that drifted
+     *
+     * @return number of products repaired
+     */
+    int repairRatingAggregates();
+}
@@ -1,96 +1,129 @@
 package com.capstone.service.impl;
 
 import com.capstone.cart.CartItem;
+import com.capstone.cart.CartLines;
+import com.capstone.cart.CartProduct;
+import com.capstone.cart.CartStore;
 import com.capstone.cart.CartSummary;
-import com.capstone.domain.Product;
+import com.capstone.catalog.TrendingProducts;
 import com.capstone.repository.ProductRepository;
 import com.capstone.service.CartService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Scope;
-import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.util.*;
 
+/**
+ * Cart Service Implementation - Application Layer
+ *
+ * Carts live in a {@link CartStore} under the signed-in user's login name
+ * (or the session ID for an anonymous visitor) as compact lines of product
+ * ID, quantity and price snapshot. Every change is one atomic store update,
+ * so parallel "add to cart" requests cannot overwrite each other. Product
+ * titles and images are looked up in one query when the cart is displayed;
+ * the summary and item count come straight from the stored lines.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
 @Service
-@Scope(value = WebApplicationContext.SCOPE_SESSION, proxyMode = ScopedProxyMode.TARGET_CLASS)
 public class CartServiceImpl implements CartService {
 
-	private static final String SESSION_CART = "CART_ITEMS";
+	private static final String SESSION_KEY_PREFIX = "session:";
 
+	private final CartStore cartStore;
 	private final ProductRepository productRepository;
 	private final HttpSession httpSession;
+	private final TrendingProducts trendingProducts;
 
 	@Autowired
-	public CartServiceImpl(ProductRepository productRepository, HttpSession httpSession) {
+	public CartServiceImpl(CartStore cartStore, ProductRepository productRepository, HttpSession httpSession,
+	                       TrendingProducts trendingProducts) {
+		this.cartStore = cartStore;
 		this.productRepository = productRepository;
 		this.httpSession = httpSession;
+		this.trendingProducts = trendingProducts;
 	}
 
-	@SuppressWarnings("unchecked")
-	private Map<Long, CartItem> getCartMap() {
-		Object obj = httpSession.getAttribute(SESSION_CART);
-		if (obj instanceof Map) {
-			return (Map<Long, CartItem>) obj;
+	@Override
+	public List<CartItem> getItems() {
+		CartLines lines = cartStore.get(cartKey());
+		if (lines.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Map<Long, CartProduct> products = new HashMap<>();
+		for (CartProduct product : productRepository.findCartProductsByIdIn(
+				Arrays.stream(lines.productIds()).boxed().toList())) {
+			products.put(product.id(), product);
 		}
-		Map<Long, CartItem> map = new LinkedHashMap<>();
-		httpSession.setAttribute(SESSION_CART, map);
-		return map;
+		List<CartItem> items = new ArrayList<>(lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			CartProduct product = products.get(lines.productId(i));
+			// Products deleted since they were added are left out
+			if (product != null) {
+				items.add(new CartItem(product, CartLines.fromCents(lines.unitPriceCents(i)), lines.quantity(i)));
+			}
+		}
+		return items;
 	}
 
 	@Override
-	public List<CartItem> getItems() {
-		return new ArrayList<>(getCartMap().values());
+	public CartSummary getSummary() {
+		// The lines carry a running subtotal, so this never walks the cart
+		return CartSummary.of(cartStore.get(cartKey()).subtotalCents());
 	}
 
 	@Override
-	public CartSummary getSummary() {
-		CartSummary summary = new CartSummary();
-		BigDecimal subtotal = getItems().stream()
-			.map(CartItem::getSubtotal)
-			.reduce(BigDecimal.ZERO, BigDecimal::add);
-		summary.setSubtotal(subtotal);
-		BigDecimal shipping = subtotal.compareTo(BigDecimal.ZERO) > 0 ? BigDecimal.valueOf(5) : BigDecimal.ZERO;
-		summary.setShipping(shipping);
-		BigDecimal tax = subtotal.multiply(BigDecimal.valueOf(0.05));
-		summary.setTax(tax);
-		summary.setTotal(subtotal.add(shipping).add(tax));
-		return summary;
+	public int getItemCount() {
+		return cartStore.get(cartKey()).size();
 	}
 
 	@Override
 	public void addItem(Long productId, int quantity) {
-		Map<Long, CartItem> cart = getCartMap();
-		CartItem existing = cart.get(productId);
-		if (existing != null) {
-			existing.setQuantity(existing.getQuantity() + Math.max(1, quantity));
-			return;
-		}
-		Product product = productRepository.findById(productId).orElse(null);
-		if (product != null) {
-			cart.put(productId, new CartItem(product, quantity));
+		String cartKey = cartKey();
+		CartLines current = cartStore.get(cartKey);
+		int index = current.indexOf(productId);
+		long unitPriceCents;
+		if (index >= 0) {
+			// Already in the cart: the original price snapshot is kept
+			unitPriceCents = current.unitPriceCents(index);
+		} else {
+			Optional<BigDecimal> price = productRepository.findPriceById(productId);
+			if (price.isEmpty()) {
+				return;
+			}
+			unitPriceCents = CartLines.toCents(price.get());
 		}
+		cartStore.update(cartKey, lines -> lines.add(productId, Math.max(1, quantity), unitPriceCents));
+		trendingProducts.recordCartAdd(productId);
 	}
 
 	@Override
 	public void updateQuantity(Long productId, int quantity) {
-		Map<Long, CartItem> cart = getCartMap();
-		CartItem item = cart.get(productId);
-		if (item != null) {
-			item.setQuantity(quantity);
-		}
+		cartStore.update(cartKey(), lines -> lines.withQuantity(productId, Math.max(1, quantity)));
 	}
 
 	@Override
 	public void removeItem(Long productId) {
-		getCartMap().remove(productId);
+		cartStore.update(cartKey(), lines -> lines.without(productId));
 	}
 
 	@Override
 	public void clear() {
-		getCartMap().clear();
+		cartStore.delete(cartKey());
+	}
+
+	private String cartKey() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			return authentication.getName();
+		}
+		return SESSION_KEY_PREFIX + httpSession.getId();
 	}
 }
@@ -1,6 +1,9 @@
 package com.capstone.service.impl;
 
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.CategoryTreeIndex;
 import com.capstone.domain.Category;
+import com.capstone.repository.CategoryClosureRepository;
 import com.capstone.repository.CategoryRepository;
 import com.capstone.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +11,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Category Service Implementation - Application Layer
  * 
- * This service implements business logic for categories.
+ * This service implements business logic for categories. Every change to
+ * the tree is mirrored in the category closure table in the same transaction
+ * and republished as a new in-memory category tree once it commits. Listings
+ * return entities and are read from the database on every call, so no two
+ * callers ever share a cached entity.
  * 
  * @author Capstone Student
  * @version 1.0.0
@@ -23,10 +31,16 @@ import java.util.Optional;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+    private final CategoryTreeIndex categoryTreeIndex;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               CategoryClosureRepository closureRepository,
+                               CategoryTreeIndex categoryTreeIndex) {
         this.categoryRepository = categoryRepository;
+        this.closureRepository = closureRepository;
+        this.categoryTreeIndex = categoryTreeIndex;
     }
 
     @Override
@@ -55,7 +69,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         // Validate category data
-        validateCategory(category);
+        validateCategory(null, category);
         
         // Set default values
         if (category.getIsActive() == null) {
@@ -65,7 +79,13 @@ public class CategoryServiceImpl implements CategoryService {
             category.setDisplayOrder(0);
         }
         
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        closureRepository.insertSelf(savedCategory.getId());
+        if (savedCategory.getParentCategory() != null) {
+            closureRepository.linkSubtree(savedCategory.getId(), savedCategory.getParentCategory().getId());
+        }
+        categoryTreeIndex.categoriesChanged();
+        return savedCategory;
     }
 
     @Override
@@ -83,7 +103,10 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         // Validate category data
-        validateCategory(category);
+        validateCategory(id, category);
+        
+        Long previousParentId = parentId(existingCategory);
+        Long newParentId = parentId(category);
         
         // Update fields
         existingCategory.setName(category.getName());
@@ -93,7 +116,16 @@ public class CategoryServiceImpl implements CategoryService {
         existingCategory.setDisplayOrder(category.getDisplayOrder());
         existingCategory.setParentCategory(category.getParentCategory());
         
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = categoryRepository.save(existingCategory);
+        if (!Objects.equals(previousParentId, newParentId)) {
+            // Move the whole subtree: drop the paths to the old ancestors, add the paths to the new ones
+            closureRepository.unlinkSubtree(closureRepository.findDescendantIds(List.of(id)));
+            if (newParentId != null) {
+                closureRepository.linkSubtree(id, newParentId);
+            }
+        }
+        categoryTreeIndex.categoriesChanged();
+        return savedCategory;
     }
 
     @Override
@@ -117,9 +149,11 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalStateException("Cannot delete category with subcategories. Remove subcategories first.");
         }
         
-        // Soft delete - mark as inactive instead of removing
+        // Soft delete - mark as inactive instead of removing; the closure rows stay
+        // so the category is whole again when reactivated, and reads skip inactive categories
         category.setIsActive(false);
         categoryRepository.save(category);
+        categoryTreeIndex.categoriesChanged();
     }
 
     @Override
@@ -143,26 +177,31 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryRepository.findActiveCategoriesOrdered();
     }
 
+    @Override
+    public CategoryTree getCategoryTree() {
+        return categoryTreeIndex.current();
+    }
+
     // Private helper methods
-    private void validateCategory(Category category) {
+    private static Long parentId(Category category) {
+        return category.getParentCategory() != null ? category.getParentCategory().getId() : null;
+    }
+
+    private void validateCategory(Long id, Category category) {
         if (category.getName() == null || category.getName().trim().isEmpty()) {
             throw new IllegalArgumentException("Category name is required");
         }
         
         // Check for circular references in parent category
-        if (category.getParentCategory() != null) {
-            Category parent = category.getParentCategory();
-            if (parent.getId() != null && parent.getId().equals(category.getId())) {
+        Long parentId = parentId(category);
+        if (id != null && parentId != null) {
+            if (parentId.equals(id)) {
                 throw new IllegalArgumentException("Category cannot be its own parent");
             }
             
-            // Check for deeper circular references
-            Category current = parent;
-            while (current.getParentCategory() != null) {
-                if (current.getParentCategory().getId().equals(category.getId())) {
-                    throw new IllegalArgumentException("Circular reference detected in category hierarchy");
-                }
-                current = current.getParentCategory();
+            // Check for deeper circular references: the new parent must not sit below the category
+            if (categoryTreeIndex.current().isAncestorOrSelf(id, parentId)) {
+                throw new IllegalArgumentException("Circular reference detected in category hierarchy");
             }
         }
     }
@@ -2,11 +2,15 @@ package com.capstone.service.impl;
 
 import com.capstone.cart.CartItem;
 import com.capstone.cart.CartSummary;
+import com.capstone.catalog.FrequentlyBoughtTogether;
+import com.capstone.catalog.TrendingProducts;
 import com.capstone.domain.*;
-import com.capstone.repository.OrderItemRepository;
+import com.capstone.inventory.ReservationExpiry;
+import com.capstone.inventory.StockReservationEngine;
 import com.capstone.repository.OrderRepository;
 import com.capstone.repository.UserRepository;
 import com.capstone.repository.ProductRepository;
+import com.capstone.search.SuggestionTrie;
 import com.capstone.service.CartService;
 import com.capstone.service.CheckoutService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,29 +18,44 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class CheckoutServiceImpl implements CheckoutService {
 
 	private final CartService cartService;
 	private final OrderRepository orderRepository;
-	private final OrderItemRepository orderItemRepository;
 	private final UserRepository userRepository;
 	private final ProductRepository productRepository;
+	private final TrendingProducts trendingProducts;
+	private final FrequentlyBoughtTogether frequentlyBoughtTogether;
+	private final StockReservationEngine stockReservationEngine;
+	private final ReservationExpiry reservationExpiry;
+	private final SuggestionTrie suggestionTrie;
 
 	@Autowired
 	public CheckoutServiceImpl(CartService cartService,
 	                          OrderRepository orderRepository,
-	                          OrderItemRepository orderItemRepository,
 	                          UserRepository userRepository,
-	                          ProductRepository productRepository) {
+	                          ProductRepository productRepository,
+	                          TrendingProducts trendingProducts,
+	                          FrequentlyBoughtTogether frequentlyBoughtTogether,
+	                          StockReservationEngine stockReservationEngine,
+	                          ReservationExpiry reservationExpiry,
+	                          SuggestionTrie suggestionTrie) {
 		this.cartService = cartService;
 		this.orderRepository = orderRepository;
-		this.orderItemRepository = orderItemRepository;
 		this.userRepository = userRepository;
 		this.productRepository = productRepository;
+		this.trendingProducts = trendingProducts;
+		this.frequentlyBoughtTogether = frequentlyBoughtTogether;
+		this.stockReservationEngine = stockReservationEngine;
+		this.reservationExpiry = reservationExpiry;
+		this.suggestionTrie = suggestionTrie;
 	}
 
 	@Override
@@ -72,21 +91,35 @@ public class CheckoutServiceImpl implements CheckoutService {
 		order.setUser(user);
 		order.setOrderStatus(Order.OrderStatus.PENDING);
 
+		// Tax and shipping first: adding a line recalculates subtotal and total
 		CartSummary summary = cartService.getSummary();
-		order.setSubtotal(summary.getSubtotal());
 		order.setTaxAmount(summary.getTax());
 		order.setShippingAmount(summary.getShipping());
-		order.setTotalAmount(summary.getTotal());
-
-		order = orderRepository.save(order);
 
+		// One query for all products; the lines are cascaded and inserted in JDBC batches with the order
+		Map<Long, Product> products = new HashMap<>();
+		for (Product product : productRepository.findWithInventoryByIdIn(items.stream().map(CartItem::getId).toList())) {
+			products.put(product.getId(), product);
+		}
 		for (CartItem ci : items) {
-			OrderItem oi = new OrderItem(ci.getQuantity(), ci.getUnitPrice(), null);
-			productRepository.findById(ci.getId()).ifPresent(oi::setProduct);
-			oi.setOrder(order);
-			orderItemRepository.save(oi);
+			Product product = products.get(ci.getId());
+			if (product == null) {
+				throw new IllegalStateException("Product is no longer available: " + ci.getTitle());
+			}
+			order.addOrderItem(new OrderItem(ci.getQuantity(), ci.getUnitPrice(), product));
+			trendingProducts.recordOrderLine(ci.getId(), ci.getQuantity());
 		}
 
+		// All lines or none; undone if the order is not committed
+		Map<Long, Integer> quantities = items.stream()
+				.collect(Collectors.toMap(CartItem::getId, CartItem::getQuantity, Integer::sum));
+		stockReservationEngine.reserve(quantities);
+
+		order = orderRepository.save(order);
+		reservationExpiry.schedule(order.getId(), order.getCreatedAt());
+		frequentlyBoughtTogether.recordOrder(items.stream().map(CartItem::getId).toList());
+		suggestionTrie.recordSales(quantities);
+
 		cartService.clear();
 		return order;
 	}
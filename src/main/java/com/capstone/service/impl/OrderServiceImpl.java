@@ -2,6 +2,8 @@ package com.capstone.service.impl;
 
 import com.capstone.domain.Order;
 import com.capstone.domain.OrderItem;
+import com.capstone.inventory.ReservationExpiry;
+import com.capstone.inventory.StockReservationEngine;
 import com.capstone.repository.OrderRepository;
 import com.capstone.repository.OrderItemRepository;
 import com.capstone.service.OrderService;
@@ -12,7 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,11 +35,16 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final ReservationExpiry reservationExpiry;
 
     @Autowired
-    public OrderServiceImpl(OrderRepository orderRepository, OrderItemRepository orderItemRepository) {
+    public OrderServiceImpl(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                            StockReservationEngine stockReservationEngine, ReservationExpiry reservationExpiry) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.stockReservationEngine = stockReservationEngine;
+        this.reservationExpiry = reservationExpiry;
     }
 
     @Override
@@ -93,9 +103,20 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Order status cannot be null");
         }
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        // Its stock went back when it was cancelled, e.g. by the reservation expiry
+        if (order.getOrderStatus() == Order.OrderStatus.CANCELLED && status != Order.OrderStatus.CANCELLED) {
+            throw new IllegalStateException("Order " + orderId + " has been cancelled");
+        }
         
+        // Cancelling gives back the stock the order holds; confirming takes a pending order's reservation out of stock
+        if (status == Order.OrderStatus.CANCELLED) {
+            cancelReservation(order);
+        } else if (order.getOrderStatus() == Order.OrderStatus.PENDING && status != Order.OrderStatus.PENDING) {
+            reservationExpiry.cancel(orderId);
+            stockReservationEngine.consume(quantities(order));
+        }
         order.setOrderStatus(status);
         
         // Update timestamps based on status
@@ -154,10 +175,21 @@ public class OrderServiceImpl implements OrderService {
         if (orderItem == null) {
             throw new IllegalArgumentException("Order item cannot be null");
         }
+        if (orderItem.getQuantity() == null || orderItem.getQuantity() < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
         
+        // The new line holds stock like the others
+        if (holdsStock(order.getOrderStatus()) && orderItem.getProduct() != null) {
+            Map<Long, Integer> quantities = quantities(List.of(orderItem));
+            stockReservationEngine.reserve(quantities);
+            if (order.getOrderStatus() != Order.OrderStatus.PENDING) {
+                stockReservationEngine.consume(quantities);
+            }
+        }
         orderItem.setOrder(order);
         order.getOrderItems().add(orderItem);
         
@@ -176,11 +208,15 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Item ID cannot be null");
         }
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
         
-        // Remove item from order
-        order.getOrderItems().removeIf(item -> item.getId().equals(itemId));
+        // Remove item from order, giving back the stock it held
+        List<OrderItem> removed = order.getOrderItems().stream()
+            .filter(item -> item.getId().equals(itemId))
+            .toList();
+        order.getOrderItems().removeAll(removed);
+        returnStock(order.getOrderStatus(), removed);
         
         // Recalculate totals
         order = calculateOrderTotals(order);
@@ -194,9 +230,10 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Order ID cannot be null");
         }
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
         
+        cancelReservation(order);
         order.setOrderStatus(Order.OrderStatus.CANCELLED);
         
         return orderRepository.save(order);
@@ -233,4 +270,40 @@ public class OrderServiceImpl implements OrderService {
         return new OrderStatistics(totalOrders, totalRevenue, averageOrderValue, 
                                  pendingOrders, completedOrders, cancelledOrders);
     }
+
+    // Private helper methods
+    private void cancelReservation(Order order) {
+        if (order.getOrderStatus() == Order.OrderStatus.PENDING) {
+            reservationExpiry.cancel(order.getId());
+        }
+        returnStock(order.getOrderStatus(), order.getOrderItems());
+    }
+
+    private void returnStock(Order.OrderStatus status, Collection<OrderItem> items) {
+        // Reserved units are released; units already taken out of stock but not yet delivered go back in
+        if (status == Order.OrderStatus.PENDING) {
+            stockReservationEngine.release(quantities(items));
+        } else if (holdsStock(status)) {
+            stockReservationEngine.restock(quantities(items));
+        }
+    }
+
+    private static boolean holdsStock(Order.OrderStatus status) {
+        return status == Order.OrderStatus.PENDING || status == Order.OrderStatus.CONFIRMED
+            || status == Order.OrderStatus.PROCESSING || status == Order.OrderStatus.SHIPPED;
+    }
+
+    private static Map<Long, Integer> quantities(Order order) {
+        return quantities(order.getOrderItems());
+    }
+
+    private static Map<Long, Integer> quantities(Collection<OrderItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : items) {
+            if (item.getProduct() != null) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
 }
@@ -1,15 +1,51 @@
 package com.capstone.service.impl;
 
+import com.capstone.catalog.CatalogCursor;
+import com.capstone.catalog.CatalogPage;
+import com.capstone.catalog.CatalogSearchResult;
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.catalog.FacetCounts;
+import com.capstone.catalog.FacetFilter;
+import com.capstone.catalog.FacetIndex;
+import com.capstone.catalog.FrequentlyBoughtTogether;
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.catalog.ProductIndexUpdater;
+import com.capstone.catalog.ProductRankings;
+import com.capstone.catalog.ProductSort;
+import com.capstone.catalog.TrendingProducts;
+import com.capstone.catalog.ViewCountBuffer;
+import com.capstone.config.CacheConfig;
 import com.capstone.domain.Product;
+import com.capstone.inventory.StockReservationEngine;
 import com.capstone.repository.ProductRepository;
+import com.capstone.search.ProductSearchIndex;
+import com.capstone.search.SimilarProducts;
+import com.capstone.search.Suggestion;
+import com.capstone.search.SuggestionTrie;
+import com.capstone.search.TrigramIndex;
 import com.capstone.service.ProductService;
+import com.capstone.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Product Service Implementation - Application Layer
@@ -17,6 +53,14 @@ import java.util.Optional;
  * This service implements business logic for products and demonstrates
  * the separation of concerns in the three-tier architecture.
  * 
+ * Product detail views and the featured products are cached (see
+ * {@link CacheConfig}); every method that changes a product evicts the
+ * entries it affects. View counts are buffered in memory and written in
+ * batches (see {@link ViewCountBuffer}); they do not evict, so the count shown
+ * on a cached details page may lag by up to the cache TTL. Stock changes with
+ * every checkout, so the details page reads it live from the
+ * {@link StockReservationEngine} on top of the cached view.
+ * 
  * @author Capstone Student
  * @version 1.0.0
  */
@@ -24,11 +68,59 @@ import java.util.Optional;
 @Transactional
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private static final int FEATURED_LIMIT = 8;
+    private static final int TRENDING_LIMIT = 8;
+    private static final int ALSO_BOUGHT_LIMIT = 4;
+    private static final int SIMILAR_LIMIT = 4;
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final TrigramIndex trigramIndex;
+    private final SuggestionTrie suggestionTrie;
+    private final FacetIndex facetIndex;
+    private final ProductRankings rankings;
+    private final CategoryTreeIndex categoryTreeIndex;
+    private final ProductIndexUpdater indexUpdater;
+    private final ViewCountBuffer viewCountBuffer;
+    private final TrendingProducts trendingProducts;
+    private final FrequentlyBoughtTogether frequentlyBoughtTogether;
+    private final SimilarProducts similarProducts;
+    private final ReviewService reviewService;
+    private final StockReservationEngine stockReservationEngine;
+    private final CacheManager cacheManager;
 
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ProductSearchIndex searchIndex,
+                              TrigramIndex trigramIndex,
+                              SuggestionTrie suggestionTrie,
+                              FacetIndex facetIndex,
+                              ProductRankings rankings,
+                              CategoryTreeIndex categoryTreeIndex,
+                              ProductIndexUpdater indexUpdater,
+                              ViewCountBuffer viewCountBuffer,
+                              TrendingProducts trendingProducts,
+                              FrequentlyBoughtTogether frequentlyBoughtTogether,
+                              SimilarProducts similarProducts,
+                              ReviewService reviewService,
+                              StockReservationEngine stockReservationEngine,
+                              CacheManager cacheManager) {
         this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.trigramIndex = trigramIndex;
+        this.suggestionTrie = suggestionTrie;
+        this.facetIndex = facetIndex;
+        this.rankings = rankings;
+        this.categoryTreeIndex = categoryTreeIndex;
+        this.indexUpdater = indexUpdater;
+        this.viewCountBuffer = viewCountBuffer;
+        this.trendingProducts = trendingProducts;
+        this.frequentlyBoughtTogether = frequentlyBoughtTogether;
+        this.similarProducts = similarProducts;
+        this.reviewService = reviewService;
+        this.stockReservationEngine = stockReservationEngine;
+        this.cacheManager = cacheManager;
     }
 
     @Override
@@ -39,33 +131,154 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Product> getFeaturedProducts() {
-        return productRepository.findFeaturedProducts();
+    @Cacheable(cacheNames = CacheConfig.FEATURED_PRODUCTS, key = "'home'")
+    public List<ProductCard> getFeaturedProducts() {
+        List<Long> ids = rankings.featured(FEATURED_LIMIT);
+        if (ids.isEmpty()) {
+            // Nothing is flagged as featured: show the newest products instead of an empty rail
+            ids = rankings.page(null, ProductSort.NEWEST, null, FEATURED_LIMIT).productIds();
+        }
+        return findCardsInOrder(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCard> getTrendingProducts() {
+        return findCardsInOrder(trendingProducts.top(TRENDING_LIMIT));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCard> getFrequentlyBoughtTogether(Long productId) {
+        return findCardsInOrder(frequentlyBoughtTogether.alsoBought(productId, ALSO_BOUGHT_LIMIT));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCard> getFrequentlyBoughtTogether(Collection<Long> productIds) {
+        return findCardsInOrder(frequentlyBoughtTogether.alsoBought(productIds, ALSO_BOUGHT_LIMIT));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCard> getSimilarProducts(Long productId) {
+        return findCardsInOrder(similarProducts.similarTo(productId, SIMILAR_LIMIT));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCard> getProductCards(List<Long> productIds) {
+        Cache cards = cacheManager.getCache(CacheConfig.PRODUCT_CARDS);
+        if (cards == null || productIds.isEmpty()) {
+            return findCardsInOrder(productIds);
+        }
+        Map<Long, ProductCard> byId = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : productIds) {
+            ProductCard card = cards.get(id, ProductCard.class);
+            if (card != null) {
+                byId.put(id, card);
+            } else {
+                misses.add(id);
+            }
+        }
+        // All misses in one query, then remembered for the next lookup
+        if (!misses.isEmpty()) {
+            for (ProductCard card : productRepository.findCardsByIdIn(misses)) {
+                cards.put(card.id(), card);
+                byId.put(card.id(), card);
+            }
+        }
+        return productIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+        return productRepository.findByCategorySubtree(categoryId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchProducts(String query) {
+        return searchProducts(query, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String query, boolean fuzzy) {
         if (query == null || query.trim().isEmpty()) {
             return getActiveProducts();
         }
-        return productRepository.searchByQuery(query.trim());
+        return findAllInOrder(searchIds(query.trim(), fuzzy));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogSearchResult browseCatalog(String query, boolean fuzzy, FacetFilter filter,
+                                             ProductSort sort, String cursor, Integer pageSize) {
+        List<Long> candidates = query == null || query.trim().isEmpty() ? null : searchIds(query.trim(), fuzzy);
+        FacetFilter facets = filter != null ? filter : FacetFilter.NONE;
+        ProductSort order = sort != null ? sort : ProductSort.RELEVANCE;
+        CatalogCursor after = CatalogCursor.decode(cursor);
+        int size = CatalogPage.clampSize(pageSize);
+
+        // Products sit in leaf categories: selecting a category selects its whole subtree
+        CategoryTree tree = categoryTreeIndex.current();
+        if (!facets.categoryIds().isEmpty()) {
+            facets = facets.withCategoryIds(tree.subtreeIds(facets.categoryIds()));
+        }
+
+        if (candidates == null && facets.isPlainListing()) {
+            // Whole catalog or one category: the page is a slice of a pre-sorted ranking
+            Long categoryId = facets.categoryIds().isEmpty() ? null : facets.categoryIds().iterator().next();
+            ProductRankings.Slice slice = rankings.page(categoryId, order, after, size);
+            return new CatalogSearchResult(findCardsInOrder(slice.productIds()),
+                    rollUp(facetIndex.counts(null, facets), tree),
+                    slice.totalCount(), slice.next() != null ? slice.next().encode() : null);
+        }
+        FacetIndex.Result result = facetIndex.page(candidates, facets, order, after, size);
+        return new CatalogSearchResult(findCardsInOrder(result.productIds()), rollUp(result.counts(), tree),
+                result.totalCount(), result.next() != null ? result.next().encode() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Suggestion> getSearchSuggestions(String prefix, int limit) {
+        return suggestionTrie.suggest(prefix, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Product getProductById(Long id) {
-        Optional<Product> product = productRepository.findById(id);
+        Optional<Product> product = productRepository.findDetailsById(id);
         return product.orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ProductDetailView getProductDetails(Long id) {
+        Cache details = cacheManager.getCache(CacheConfig.PRODUCTS);
+        ProductDetailView view = details != null ? details.get(id, ProductDetailView.class) : null;
+        if (view == null) {
+            view = productRepository.findDetailView(id).orElse(null);
+            if (view == null) {
+                return null;
+            }
+            if (details != null) {
+                details.put(id, view);
+            }
+        }
+        // Never from the cache: checkout, expiry and flash sales change it without an eviction
+        OptionalInt available = stockReservationEngine.available(id);
+        return available.isPresent() ? view.withStock(available.getAsInt()) : view;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.FEATURED_PRODUCTS, allEntries = true)
     public Product createProduct(Product product) {
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
@@ -94,10 +307,17 @@ public class ProductServiceImpl implements ProductService {
             product.setViewCount(0);
         }
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        indexUpdater.productChanged(savedProduct);
+        return savedProduct;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_CARDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.FEATURED_PRODUCTS, allEntries = true)
+    })
     public Product updateProduct(Long id, Product product) {
         if (id == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
@@ -106,7 +326,7 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Product cannot be null");
         }
         
-        Product existingProduct = getProductById(id);
+        Product existingProduct = findProduct(id);
         if (existingProduct == null) {
             throw new IllegalArgumentException("Product with ID " + id + " not found");
         }
@@ -125,16 +345,23 @@ public class ProductServiceImpl implements ProductService {
         existingProduct.setCategory(product.getCategory());
         existingProduct.setImageUrl(product.getImageUrl());
         
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        indexUpdater.productChanged(savedProduct);
+        return savedProduct;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_CARDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.FEATURED_PRODUCTS, allEntries = true)
+    })
     public void deleteProduct(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         if (product == null) {
             throw new IllegalArgumentException("Product with ID " + id + " not found");
         }
@@ -142,6 +369,7 @@ public class ProductServiceImpl implements ProductService {
         // Soft delete - mark as inactive instead of removing
         product.setIsActive(false);
         productRepository.save(product);
+        indexUpdater.productRemoved(id);
     }
 
     @Override
@@ -170,32 +398,83 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void incrementViewCount(Long productId) {
         if (productId == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         
-        Product product = getProductById(productId);
-        if (product != null) {
-            product.incrementViewCount();
-            productRepository.save(product);
-        }
+        viewCountBuffer.record(productId);
+        trendingProducts.recordView(productId);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_CARDS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.FEATURED_PRODUCTS, allEntries = true)
+    })
     public void updateAverageRating(Long productId) {
         if (productId == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         
-        Product product = getProductById(productId);
-        if (product != null) {
-            product.updateAverageRating();
-            productRepository.save(product);
-        }
+        // Recounts the approved reviews per rating; never loads the reviews themselves
+        reviewService.recountRatings(productId);
     }
 
     // Private helper methods
+    private Product findProduct(Long id) {
+        // Writes need the managed entity, never the cached copy
+        return productRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Add the count of every category to each of its ancestors, so a parent
+     * category shows the number of products in its whole subtree
+     */
+    private static FacetCounts rollUp(FacetCounts counts, CategoryTree tree) {
+        Map<Long, Integer> rolledUp = tree.rollUpCounts(counts.categories());
+        return rolledUp.equals(counts.categories()) ? counts : counts.withCategories(rolledUp);
+    }
+
+    private List<Long> searchIds(String query, boolean fuzzy) {
+        List<Long> ids = fuzzy ? List.of() : searchIndex.search(query, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            // No exact word matched (or fuzzy mode requested): fall back to similar spellings
+            ids = trigramIndex.search(query, MAX_SEARCH_RESULTS);
+        }
+        return ids;
+    }
+
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            byId.put(product.getId(), product);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<ProductCard> findCardsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductCard> byId = new HashMap<>();
+        for (ProductCard card : productRepository.findCardsByIdIn(ids)) {
+            byId.put(card.id(), card);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     private void validateProduct(Product product) {
         if (product.getTitle() == null || product.getTitle().trim().isEmpty()) {
             throw new IllegalArgumentException("Product title is required");
@@ -0,0 +1,65 @@
+package com.capstone.service.impl;
+
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.RecentlyViewed;
+import com.capstone.service.ProductService;
+import com.capstone.service.RecentlyViewedService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Recently Viewed Service Implementation - Application Layer
+ *
+ * Keeps a {@link RecentlyViewed} ring of product IDs in the HTTP session,
+ * next to the cart, and turns it into product cards through one batched
+ * lookup of the card cache (see {@link ProductService#getProductCards}).
+ * The service itself is a singleton; the injected session resolves to the
+ * session of the current request.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Service
+public class RecentlyViewedServiceImpl implements RecentlyViewedService {
+
+    private static final String SESSION_RECENTLY_VIEWED = "RECENTLY_VIEWED";
+
+    private final HttpSession httpSession;
+    private final ProductService productService;
+
+    @Autowired
+    public RecentlyViewedServiceImpl(HttpSession httpSession, ProductService productService) {
+        this.httpSession = httpSession;
+        this.productService = productService;
+    }
+
+    @Override
+    public void recordView(Long productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        RecentlyViewed recentlyViewed = getRecentlyViewedIds();
+        recentlyViewed.record(productId);
+        // Store again so a replicated session notices the change
+        httpSession.setAttribute(SESSION_RECENTLY_VIEWED, recentlyViewed);
+    }
+
+    @Override
+    public List<ProductCard> getRecentlyViewed() {
+        return productService.getProductCards(getRecentlyViewedIds().productIds());
+    }
+
+    // Private helper methods
+    private RecentlyViewed getRecentlyViewedIds() {
+        Object value = httpSession.getAttribute(SESSION_RECENTLY_VIEWED);
+        if (value instanceof RecentlyViewed recentlyViewed) {
+            return recentlyViewed;
+        }
+        RecentlyViewed recentlyViewed = new RecentlyViewed();
+        httpSession.setAttribute(SESSION_RECENTLY_VIEWED, recentlyViewed);
+        return recentlyViewed;
+    }
+}
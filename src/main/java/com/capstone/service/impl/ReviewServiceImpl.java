@@ -0,0 +1,284 @@
+package com.capstone.service.impl;
+
+import com.capstone.catalog.CatalogCursor;
+import com.capstone.catalog.CatalogPage;
+import com.capstone.catalog.ProductIndexUpdater;
+import com.capstone.config.CacheConfig;
+import com.capstone.domain.Product;
+import com.capstone.domain.Review;
+import com.capstone.domain.User;
+import com.capstone.repository.ProductRepository;
+import com.capstone.repository.ReviewRepository;
+import com.capstone.repository.UserRepository;
+import com.capstone.review.ReviewSort;
+import com.capstone.review.ReviewView;
+import com.capstone.service.ReviewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Review Service Implementation - Application Layer
+ *
+ * Every review change adjusts the running rating aggregates of its product
+ * by the difference it makes (one review in, one out, or one rating moved),
+ * so the cost does not grow with the number of reviews. The product row is
+ * locked for the update, which keeps concurrent reviews of the same product
+ * from overwriting each other's counts.
+ *
+ * Reviews are listed in keyset paginated pages of at most
+ * {@value #MAX_PAGE_SIZE}, whatever the number of reviews of the product.
+ *
+ * A nightly job recounts all aggregates from the approved reviews with one
+ * grouped query and repairs any product that drifted.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+public class ReviewServiceImpl implements ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewServiceImpl.class);
+    private static final int DEFAULT_PAGE_SIZE = 5;
+    private static final int MAX_PAGE_SIZE = 20;
+
+    private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final ProductIndexUpdater indexUpdater;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public ReviewServiceImpl(ReviewRepository reviewRepository,
+                             ProductRepository productRepository,
+                             UserRepository userRepository,
+                             ProductIndexUpdater indexUpdater,
+                             CacheManager cacheManager) {
+        this.reviewRepository = reviewRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.indexUpdater = indexUpdater;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Review addReview(Long productId, Long userId, Review review) {
+        if (productId == null || userId == null) {
+            throw new IllegalArgumentException("Product ID and user ID cannot be null");
+        }
+        validateReview(review);
+
+        Product product = lockProduct(productId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User with ID " + userId + " not found"));
+        review.setUser(user);
+        if (review.getIsApproved() == null) {
+            review.setIsApproved(true);
+        }
+        // Saved from the owning side; the product's lazy reviews set is never touched
+        review.setProduct(product);
+        if (review.countsTowardsRating()) {
+            product.addRating(review.getRating());
+        }
+
+        Review savedReview = reviewRepository.save(review);
+        productChanged(product);
+        return savedReview;
+    }
+
+    @Override
+    public Review updateReview(Long reviewId, Review review) {
+        validateReview(review);
+        Review existingReview = findReview(reviewId);
+        Product product = lockProduct(existingReview.getProduct().getId());
+
+        int previousRating = existingReview.getRating();
+        existingReview.setReviewTitle(review.getReviewTitle());
+        existingReview.setReviewContent(review.getReviewContent());
+        existingReview.setRating(review.getRating());
+        if (existingReview.countsTowardsRating() && previousRating != review.getRating()) {
+            product.changeRating(previousRating, review.getRating());
+        }
+
+        Review savedReview = reviewRepository.save(existingReview);
+        productChanged(product);
+        return savedReview;
+    }
+
+    @Override
+    public Review setApproved(Long reviewId, boolean approved) {
+        Review review = findReview(reviewId);
+        Product product = lockProduct(review.getProduct().getId());
+
+        boolean counted = review.countsTowardsRating();
+        review.setIsApproved(approved);
+        if (counted && !review.countsTowardsRating()) {
+            product.removeRating(review.getRating());
+        } else if (!counted && review.countsTowardsRating()) {
+            product.addRating(review.getRating());
+        }
+
+        Review savedReview = reviewRepository.save(review);
+        productChanged(product);
+        return savedReview;
+    }
+
+    @Override
+    public void deleteReview(Long reviewId) {
+        Review review = findReview(reviewId);
+        Product product = lockProduct(review.getProduct().getId());
+
+        if (review.countsTowardsRating()) {
+            product.removeRating(review.getRating());
+        }
+        reviewRepository.delete(review);
+        productChanged(product);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPage<ReviewView> getReviews(Long productId, ReviewSort sort, String cursor, Integer size) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        ReviewSort order = sort != null ? sort : ReviewSort.NEWEST;
+        CatalogCursor after = CatalogCursor.decode(cursor);
+        // Helpful votes and ratings are int columns; a forged key outside that range is clamped
+        int afterKey = after != null
+                ? (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, after.key()))
+                : order.firstKey();
+        long afterId = after != null ? after.id() : Long.MAX_VALUE;
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ReviewView> reviews = switch (order) {
+            case NEWEST -> reviewRepository.findNewestViews(productId, afterId, limit);
+            case HELPFUL -> reviewRepository.findMostHelpfulViews(productId, afterKey, afterId, limit);
+            case RATING_HIGH -> reviewRepository.findHighestRatedViews(productId, afterKey, afterId, limit);
+            case RATING_LOW -> reviewRepository.findLowestRatedViews(productId, afterKey, afterId, limit);
+        };
+        if (reviews.size() <= pageSize) {
+            return new CatalogPage<>(reviews, null);
+        }
+        List<ReviewView> page = reviews.subList(0, pageSize);
+        ReviewView last = page.get(pageSize - 1);
+        return new CatalogPage<>(List.copyOf(page), new CatalogCursor(order.key(last), last.id()).encode());
+    }
+
+    @Override
+    public boolean recountRatings(Long productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        Product product = lockProduct(productId);
+        int[] histogram = new int[5];
+        for (Object[] row : reviewRepository.countApprovedByRating(productId)) {
+            count(histogram, (Integer) row[0], (Long) row[1]);
+        }
+        return repair(product, histogram);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.ratings.repair-cron:0 30 3 * * *}")
+    public int repairRatingAggregates() {
+        Map<Long, int[]> histograms = new HashMap<>();
+        for (Object[] row : reviewRepository.countApprovedByProductAndRating()) {
+            count(histograms.computeIfAbsent((Long) row[0], id -> new int[5]), (Integer) row[1], (Long) row[2]);
+        }
+        int repaired = 0;
+        for (Product product : productRepository.findAll()) {
+            int[] histogram = histograms.getOrDefault(product.getId(), new int[5]);
+            // Recount under the row lock so a review added meanwhile is not overwritten
+            if (!matches(product, histogram) && recountRatings(product.getId())) {
+                repaired++;
+            }
+        }
+        logger.info("Rating aggregate repair fixed {} products", repaired);
+        return repaired;
+    }
+
+    // Private helper methods
+    private Review findReview(Long reviewId) {
+        if (reviewId == null) {
+            throw new IllegalArgumentException("Review ID cannot be null");
+        }
+        return reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("Review with ID " + reviewId + " not found"));
+    }
+
+    private Product lockProduct(Long productId) {
+        return productRepository.findForUpdateById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product with ID " + productId + " not found"));
+    }
+
+    private boolean repair(Product product, int[] histogram) {
+        if (matches(product, histogram)) {
+            return false;
+        }
+        product.resetRatings(histogram);
+        productRepository.save(product);
+        productChanged(product);
+        return true;
+    }
+
+    private void productChanged(Product product) {
+        indexUpdater.productChanged(product);
+        // The product ID is only known once the review is loaded, so evict here rather than by annotation
+        for (String cacheName : List.of(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_CARDS)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(product.getId());
+            }
+        }
+        // The featured rail shows ratings too
+        Cache featured = cacheManager.getCache(CacheConfig.FEATURED_PRODUCTS);
+        if (featured != null) {
+            featured.clear();
+        }
+    }
+
+    private static void count(int[] histogram, Integer rating, Long count) {
+        if (rating != null && rating >= 1 && rating <= 5) {
+            histogram[rating - 1] = count.intValue();
+        }
+    }
+
+    private static boolean matches(Product product, int[] histogram) {
+        long sum = 0;
+        int count = 0;
+        for (int stars = 1; stars <= histogram.length; stars++) {
+            sum += (long) stars * histogram[stars - 1];
+            count += histogram[stars - 1];
+        }
+        return Arrays.equals(histogram, product.getRatingHistogram())
+                && Objects.equals(product.getRatingSum(), sum)
+                && Objects.equals(product.getReviewCount(), count);
+    }
+
+    private void validateReview(Review review) {
+        if (review == null) {
+            throw new IllegalArgumentException("Review cannot be null");
+        }
+        if (review.getReviewTitle() == null || review.getReviewTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Review title is required");
+        }
+        if (review.getRating() == null || review.getRating() < 1 || review.getRating() > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+}
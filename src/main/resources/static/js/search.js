@@ -0,0 +1,52 @@
+document.addEventListener('DOMContentLoaded', () => {
+    const input = document.querySelector('input[data-suggest-url]');
+    if (!input) {
+        return;
+    }
+
+    const list = document.getElementById(input.getAttribute('list'));
+    const cache = new Map();
+    let timer = null;
+    let controller = null;
+
+    const render = (suggestions) => {
+        list.replaceChildren(...suggestions.map(suggestion => {
+            const option = document.createElement('option');
+            option.value = suggestion.text;
+            option.label = suggestion.type === 'CATEGORY' ? 'Category' : '';
+            return option;
+        }));
+    };
+
+    input.addEventListener('input', () => {
+        const prefix = input.value.trim().toLowerCase();
+        clearTimeout(timer);
+        if (!prefix) {
+            render([]);
+            return;
+        }
+        if (cache.has(prefix)) {
+            render(cache.get(prefix));
+            return;
+        }
+        timer = setTimeout(async () => {
+            if (controller) {
+                controller.abort();
+            }
+            controller = new AbortController();
+            try {
+                const url = `${input.dataset.suggestUrl}?q=${encodeURIComponent(prefix)}`;
+                const response = await fetch(url, { signal: controller.signal });
+                if (response.ok) {
+                    const suggestions = await response.json();
+                    cache.set(prefix, suggestions);
+                    render(suggestions);
+                }
+            } catch (error) {
+                if (error.name !== 'AbortError') {
+                    console.error('Suggestion request failed:', error);
+                }
+            }
+        }, 120);
+    });
+});
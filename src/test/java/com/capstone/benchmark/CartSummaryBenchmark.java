@@ -0,0 +1,108 @@
+package com.capstone.benchmark;
+
+import com.capstone.cart.CartItem;
+import com.capstone.cart.CartLines;
+import com.capstone.cart.CartProduct;
+import com.capstone.cart.CartSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart Summary Benchmark - running cent totals against BigDecimal recomputation
+ *
+ * The "legacy" benchmarks reproduce the former cart service: copy the item
+ * map into a list, stream it and add up BigDecimal subtotals, then derive
+ * shipping, tax and total; the item count also copied the list. The other
+ * benchmarks read the running subtotal and line count kept by
+ * {@link CartLines}. Run with the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.capstone.benchmark.CartSummaryBenchmark
+ * </pre>
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartSummaryBenchmark {
+
+    @Param({"3", "20"})
+    private int lines;
+
+    private Map<Long, CartItem> legacyCart;
+    private CartLines cart;
+
+    @Setup
+    public void setUp() {
+        legacyCart = new LinkedHashMap<>();
+        cart = CartLines.EMPTY;
+        for (long id = 1; id <= lines; id++) {
+            BigDecimal price = new BigDecimal(id + "9.99");
+            int quantity = (int) (id % 3) + 1;
+            legacyCart.put(id, new CartItem(new CartProduct(id, "Product " + id, null, null), price, quantity));
+            cart = cart.add(id, quantity, CartLines.toCents(price));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal legacySummary() {
+        List<CartItem> items = new ArrayList<>(legacyCart.values());
+        BigDecimal subtotal = items.stream()
+                .map(CartItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal shipping = subtotal.compareTo(BigDecimal.ZERO) > 0 ? BigDecimal.valueOf(5) : BigDecimal.ZERO;
+        BigDecimal tax = subtotal.multiply(BigDecimal.valueOf(0.05));
+        return subtotal.add(shipping).add(tax);
+    }
+
+    @Benchmark
+    public long runningSummary() {
+        return CartSummary.of(cart.subtotalCents()).getTotalCents();
+    }
+
+    @Benchmark
+    public int legacyItemCount() {
+        return new ArrayList<>(legacyCart.values()).size();
+    }
+
+    @Benchmark
+    public int runningItemCount() {
+        return cart.size();
+    }
+
+    @Benchmark
+    public long updateThenSummary() {
+        CartLines updated = cart.withQuantity(1L, cart.quantity(0) == 1 ? 2 : 1);
+        return CartSummary.of(updated.subtotalCents()).getTotalCents();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CartSummaryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
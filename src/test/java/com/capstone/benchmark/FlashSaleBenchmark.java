@@ -0,0 +1,92 @@
+package com.capstone.benchmark;
+
+import com.capstone.domain.Inventory;
+import com.capstone.domain.Product;
+import com.capstone.inventory.StockReservationEngine;
+import com.capstone.repository.InventoryRepository;
+import com.capstone.repository.OrderItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flash Sale Benchmark - reservations of one hot product by all cores at once
+ *
+ * Every thread reserves single units of the same product. With
+ * {@code shards = 0} the product uses its single counter behind a stripe
+ * lock; otherwise it is in flash-sale mode with that many counters. The
+ * stock is large enough never to run out within an iteration, and every
+ * iteration starts from a fresh engine. Throughput should grow with the
+ * shard count up to about the number of threads; on a single core all
+ * variants are alike. Run with the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.capstone.benchmark.FlashSaleBenchmark
+ * </pre>
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class FlashSaleBenchmark {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final Map<Long, Integer> ONE_UNIT = Map.of(PRODUCT_ID, 1);
+
+    @Param({"0", "1", "4", "16"})
+    private int shards;
+
+    private StockReservationEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Product product = new Product();
+        product.setId(PRODUCT_ID);
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findAll()).thenReturn(List.of(new Inventory(product, 2_000_000_000)));
+        engine = new StockReservationEngine(inventoryRepository, mock(OrderItemRepository.class),
+                mock(PlatformTransactionManager.class));
+        engine.reconcile();
+        if (shards > 0) {
+            engine.startFlashSale(PRODUCT_ID, shards);
+        }
+    }
+
+    @Benchmark
+    public void reserve() {
+        engine.reserve(ONE_UNIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FlashSaleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
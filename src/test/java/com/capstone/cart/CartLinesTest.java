@@ -0,0 +1,115 @@
+package com.capstone.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cart Lines Test
+ *
+ * Tests the immutable line operations, totals and the binary form.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class CartLinesTest {
+
+    @Test
+    void testAddKeepsOrderAndOriginalPrice() {
+        // Act
+        CartLines lines = CartLines.EMPTY
+                .add(5L, 1, 1999)
+                .add(3L, 2, 500)
+                .add(5L, 2, 2499);
+
+        // Assert
+        assertEquals(2, lines.size());
+        assertArrayEquals(new long[] {5L, 3L}, lines.productIds());
+        assertEquals(3, lines.quantity(0));
+        assertEquals(1999, lines.unitPriceCents(0));
+        assertTrue(CartLines.EMPTY.isEmpty());
+    }
+
+    @Test
+    void testQuantityAndRemoval() {
+        // Arrange
+        CartLines lines = CartLines.EMPTY.add(1L, 1, 100).add(2L, 1, 200).add(3L, 1, 300);
+
+        // Act
+        CartLines changed = lines.withQuantity(2L, 4).without(1L);
+
+        // Assert
+        assertArrayEquals(new long[] {2L, 3L}, changed.productIds());
+        assertEquals(4, changed.quantity(0));
+        assertSame(changed, changed.without(9L));
+        assertSame(changed, changed.withQuantity(9L, 2));
+        assertSame(CartLines.EMPTY, CartLines.EMPTY.add(1L, 1, 100).without(1L));
+        assertEquals(3, lines.size());
+        assertThrows(IllegalArgumentException.class, () -> lines.withQuantity(1L, 0));
+    }
+
+    @Test
+    void testSubtotalInCents() {
+        // Arrange
+        CartLines lines = CartLines.EMPTY.add(1L, 3, CartLines.toCents(new BigDecimal("19.99"))).add(2L, 1, 5);
+
+        // Assert
+        assertEquals(6002, lines.subtotalCents());
+        assertEquals(new BigDecimal("60.02"), CartLines.fromCents(lines.subtotalCents()));
+        assertEquals(1000, CartLines.toCents(new BigDecimal("9.995")));
+    }
+
+    @Test
+    void testRunningTotalsFollowEveryChange() {
+        // Act
+        CartLines lines = CartLines.EMPTY.add(1L, 2, 1000).add(2L, 1, 250).add(1L, 1, 9999);
+        CartLines changed = lines.withQuantity(2L, 4).without(1L);
+
+        // Assert
+        assertEquals(3250, lines.subtotalCents());
+        assertEquals(4, lines.totalQuantity());
+        assertEquals(1000, changed.subtotalCents());
+        assertEquals(4, changed.totalQuantity());
+        assertEquals(changed.subtotalCents(), CartLines.fromBytes(changed.toBytes()).subtotalCents());
+    }
+
+    @Test
+    void testBinaryRoundTrip() {
+        // Arrange
+        CartLines lines = CartLines.EMPTY.add(7L, 2, 1234).add(Long.MAX_VALUE, 1, 0);
+
+        // Act
+        byte[] bytes = lines.toBytes();
+
+        // Assert
+        assertEquals(Integer.BYTES + 2 * CartLines.BYTES_PER_LINE, bytes.length);
+        assertEquals(lines, CartLines.fromBytes(bytes));
+        assertSame(CartLines.EMPTY, CartLines.fromBytes(null));
+        assertThrows(IllegalArgumentException.class, () -> CartLines.fromBytes(new byte[] {0, 0, 0, 1}));
+    }
+
+    @Test
+    void testExternalizationRoundTrip() throws Exception {
+        // Arrange
+        CartLines lines = CartLines.EMPTY.add(7L, 2, 1234).add(8L, 1, 99);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(lines);
+        }
+        Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+
+        // Assert
+        assertEquals(lines, copy);
+    }
+}
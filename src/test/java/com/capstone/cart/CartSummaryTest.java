@@ -0,0 +1,46 @@
+package com.capstone.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cart Summary Test
+ *
+ * Tests shipping, tax rounding and totals in cents.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class CartSummaryTest {
+
+    @Test
+    void testSummaryOfNonEmptyCart() {
+        // Act: 5% of 59.97 is 2.9985, rounded to 3.00
+        CartSummary summary = CartSummary.of(5997);
+
+        // Assert
+        assertEquals(new BigDecimal("59.97"), summary.getSubtotal());
+        assertEquals(new BigDecimal("5.00"), summary.getShipping());
+        assertEquals(new BigDecimal("3.00"), summary.getTax());
+        assertEquals(new BigDecimal("67.97"), summary.getTotal());
+        assertEquals(6797, summary.getTotalCents());
+    }
+
+    @Test
+    void testEmptyCartHasNoShipping() {
+        CartSummary summary = CartSummary.of(0);
+
+        assertEquals(new BigDecimal("0.00"), summary.getShipping());
+        assertEquals(0, summary.getTotalCents());
+        assertThrows(IllegalArgumentException.class, () -> CartSummary.of(-1));
+    }
+
+    @Test
+    void testTaxRoundsHalfUp() {
+        assertEquals(new BigDecimal("0.01"), CartSummary.of(10).getTax());
+        assertEquals(new BigDecimal("0.00"), CartSummary.of(9).getTax());
+    }
+}
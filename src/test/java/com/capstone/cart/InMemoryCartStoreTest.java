@@ -0,0 +1,59 @@
+package com.capstone.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * In-Memory Cart Store Test
+ *
+ * Tests atomic updates under concurrent requests and removal of empty carts.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class InMemoryCartStoreTest {
+
+    private final InMemoryCartStore store = new InMemoryCartStore();
+
+    @Test
+    void testParallelAddsAreNotLost() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            long productId = 1 + i % 4;
+            executor.submit(() -> store.update("alice", lines -> lines.add(productId, 1, 100)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        CartLines lines = store.get("alice");
+        assertEquals(4, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(250, lines.quantity(i));
+        }
+    }
+
+    @Test
+    void testEmptiedCartIsRemoved() {
+        // Arrange
+        store.update("alice", lines -> lines.add(1L, 1, 100));
+        store.update("bob", lines -> lines.add(2L, 1, 100));
+
+        // Act
+        CartLines result = store.update("alice", lines -> lines.without(1L));
+        store.delete("bob");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertTrue(store.get("alice").isEmpty());
+        assertEquals(0, store.size());
+    }
+}
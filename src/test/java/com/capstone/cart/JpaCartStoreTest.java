@@ -0,0 +1,66 @@
+package com.capstone.cart;
+
+import com.capstone.repository.CartRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JPA Cart Store Test
+ *
+ * Tests that carts are written to and read back from the carts table.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@DataJpaTest(properties = "app.cart.store=database")
+@ActiveProfiles("test")
+@Import(JpaCartStore.class)
+class JpaCartStoreTest {
+
+    @Autowired
+    private JpaCartStore store;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testUpdatesArePersisted() {
+        // Act
+        store.update("alice@example.com", lines -> lines.add(1L, 2, 1999));
+        store.update("alice@example.com", lines -> lines.add(2L, 1, 500).withQuantity(1L, 3));
+        entityManager.clear();
+
+        // Assert
+        CartLines lines = store.get("alice@example.com");
+        assertArrayEquals(new long[] {1L, 2L}, lines.productIds());
+        assertEquals(3, lines.quantity(0));
+        assertEquals(6497, lines.subtotalCents());
+        assertNotNull(cartRepository.findById("alice@example.com").orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    void testEmptiedAndDeletedCartsLeaveNoRow() {
+        // Arrange
+        store.update("alice@example.com", lines -> lines.add(1L, 1, 100));
+        store.update("bob@example.com", lines -> lines.add(1L, 1, 100));
+
+        // Act
+        store.update("alice@example.com", lines -> lines.without(1L));
+        store.delete("bob@example.com");
+        store.delete("nobody@example.com");
+        entityManager.flush();
+
+        // Assert
+        assertEquals(0, cartRepository.count());
+        assertTrue(store.get("alice@example.com").isEmpty());
+    }
+}
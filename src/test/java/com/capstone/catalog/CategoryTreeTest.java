@@ -0,0 +1,92 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Category Tree Test
+ *
+ * Tests ordering, subtree ranges, breadcrumbs and product counts of the
+ * category tree snapshot.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class CategoryTreeTest {
+
+    private CategoryTree tree;
+
+    @BeforeEach
+    void setUp() {
+        Category electronics = category(1L, "Electronics", null, 0);
+        Category books = category(2L, "Books", null, 1);
+        Category smartphones = category(3L, "Smartphones", electronics, 0);
+        Category laptops = category(4L, "Laptops", electronics, 0);
+        Category gaming = category(5L, "Gaming Laptops", laptops, 0);
+        Category fiction = category(6L, "Fiction", books, 0);
+        fiction.setIsActive(false);
+        tree = CategoryTree.of(List.of(fiction, gaming, books, laptops, smartphones, electronics),
+                Map.of(3L, 2, 4L, 1, 5L, 3, 6L, 4));
+    }
+
+    @Test
+    void testPreOrderByDisplayOrderThenName() {
+        assertEquals(List.of(1L, 4L, 5L, 3L, 2L), ids(tree.categories()));
+        assertEquals(List.of(1L, 2L), ids(tree.roots()));
+        assertEquals(List.of(4L, 3L), ids(tree.children(1L)));
+        assertEquals(2, tree.get(5L).depth());
+    }
+
+    @Test
+    void testInactiveCategoryHiddenButKnown() {
+        assertFalse(tree.get(6L).active());
+        assertTrue(tree.children(2L).isEmpty());
+    }
+
+    @Test
+    void testSubtreeAndAncestors() {
+        assertEquals(Set.of(1L, 3L, 4L, 5L), tree.subtreeIds(List.of(1L)));
+        assertEquals(Set.of(4L, 5L, 2L, 6L), tree.subtreeIds(List.of(4L, 2L)));
+        assertTrue(tree.isAncestorOrSelf(1L, 5L));
+        assertTrue(tree.isAncestorOrSelf(4L, 4L));
+        assertFalse(tree.isAncestorOrSelf(5L, 1L));
+        assertFalse(tree.isAncestorOrSelf(2L, 3L));
+    }
+
+    @Test
+    void testBreadcrumb() {
+        assertEquals(List.of(1L, 4L, 5L), ids(tree.breadcrumb(5L)));
+        assertTrue(tree.breadcrumb(99L).isEmpty());
+    }
+
+    @Test
+    void testProductCountsRollUp() {
+        assertEquals(6, tree.get(1L).productCount());
+        assertEquals(4, tree.get(4L).productCount());
+        assertEquals(4, tree.get(2L).productCount());
+
+        CategoryTree updated = tree.withProductCounts(Map.of(3L, 1));
+
+        assertEquals(1, updated.get(1L).productCount());
+        assertEquals(6, tree.get(1L).productCount());
+        assertEquals(Map.of(3L, 1, 1L, 1), updated.rollUpCounts(Map.of(3L, 1)));
+    }
+
+    private static List<Long> ids(List<CategoryNode> nodes) {
+        return nodes.stream().map(CategoryNode::id).toList();
+    }
+
+    private static Category category(Long id, String name, Category parent, int displayOrder) {
+        Category category = new Category(name, "", parent);
+        category.setId(id);
+        category.setDisplayOrder(displayOrder);
+        return category;
+    }
+}
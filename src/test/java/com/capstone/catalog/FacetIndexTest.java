@@ -0,0 +1,178 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Facet Index Test
+ *
+ * Tests combined filtering and multi-select facet counts over the
+ * in-memory bitmaps.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class FacetIndexTest {
+
+    private FacetIndex index;
+    private Category phones;
+    private Category books;
+
+    @BeforeEach
+    void setUp() {
+        phones = category(1L, "Smartphones");
+        books = category(2L, "Books");
+        index = new FacetIndex();
+        index.rebuild(List.of(
+                product(1L, phones, "999.00", "4.6", 10, true),
+                product(2L, phones, "199.99", "3.2", 0, false),
+                product(3L, books, "12.50", "4.9", 5, false),
+                product(4L, books, "24.99", "2.0", 3, true)));
+    }
+
+    @Test
+    void testNoFilterReturnsWholeCatalog() {
+        FacetIndex.Result result = filter(null, FacetFilter.NONE);
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), result.productIds());
+        assertEquals(4, result.totalCount());
+        assertEquals(2, result.counts().categoryCount(1L));
+        assertEquals(2, result.counts().categoryCount(2L));
+        assertEquals(3, result.counts().inStock());
+        assertEquals(2, result.counts().featured());
+    }
+
+    @Test
+    void testFiltersAreCombined() {
+        FacetFilter filter = new FacetFilter(Set.of(1L, 2L), null, null, 4, true, false);
+
+        assertEquals(List.of(3L, 1L), filter(null, filter).productIds());
+    }
+
+    @Test
+    void testCountsIgnoreTheirOwnFacet() {
+        FacetFilter filter = new FacetFilter(Set.of(2L), null, null, null, false, false);
+
+        FacetCounts counts = filter(null, filter).counts();
+
+        // Selecting books must not hide how many phones there are
+        assertEquals(2, counts.categoryCount(1L));
+        assertEquals(2, counts.priceBucketCount(PriceBucket.UNDER_25));
+        assertEquals(0, counts.priceBucketCount(PriceBucket.FROM_500_TO_1000));
+        assertEquals(1, counts.minRatingCount(4));
+        assertEquals(2, counts.inStock());
+    }
+
+    @Test
+    void testPriceRangeInsideBucket() {
+        FacetFilter filter = new FacetFilter(Set.of(), new BigDecimal("20"), new BigDecimal("200"), null, false, false);
+
+        assertEquals(List.of(4L, 2L), filter(null, filter).productIds());
+    }
+
+    @Test
+    void testCandidatesKeepTheirOrder() {
+        FacetFilter filter = new FacetFilter(Set.of(), null, null, null, false, true);
+
+        assertEquals(List.of(4L, 1L), filter(List.of(4L, 3L, 1L, 99L), filter).productIds());
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        index.update(product(2L, books, "5.00", "5.0", 1, false));
+        index.remove(1L);
+
+        FacetIndex.Result result = filter(null, new FacetFilter(Set.of(2L), null, null, null, false, false));
+
+        assertEquals(List.of(4L, 3L, 2L), result.productIds());
+        assertEquals(0, result.counts().categoryCount(1L));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testPagesFollowSortKeyAndCursor() {
+        FacetIndex.Result first = index.page(null, FacetFilter.NONE, ProductSort.PRICE_LOW, null, 3);
+        FacetIndex.Result second = index.page(null, FacetFilter.NONE, ProductSort.PRICE_LOW, first.next(), 3);
+
+        assertEquals(List.of(3L, 4L, 2L), first.productIds());
+        assertEquals(new CatalogCursor(19_999, 2L), first.next());
+        assertEquals(List.of(1L), second.productIds());
+        assertNull(second.next());
+        assertEquals(4, second.totalCount());
+    }
+
+    @Test
+    void testWrittenViewsReorderPopular() {
+        index.viewsAdded(Map.of(3L, 5L, 2L, 2L));
+
+        FacetIndex.Result result = index.page(null, FacetFilter.NONE, ProductSort.POPULAR, null, 10);
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), result.productIds());
+    }
+
+    @Test
+    void testRatingSortBreaksTiesById() {
+        index.update(product(5L, books, "30.00", "4.9", 1, false));
+
+        FacetIndex.Result first = index.page(null, FacetFilter.NONE, ProductSort.RATING, null, 1);
+        FacetIndex.Result second = index.page(null, FacetFilter.NONE, ProductSort.RATING, first.next(), 2);
+
+        assertEquals(List.of(3L), first.productIds());
+        assertEquals(List.of(5L, 1L), second.productIds());
+    }
+
+    @Test
+    void testRelevancePagesKeepCandidatePositions() {
+        List<Long> candidates = List.of(4L, 2L, 3L, 1L);
+        FacetFilter filter = new FacetFilter(Set.of(), null, null, null, true, false);
+
+        FacetIndex.Result first = index.page(candidates, filter, ProductSort.RELEVANCE, null, 2);
+        FacetIndex.Result second = index.page(candidates, filter, ProductSort.RELEVANCE, first.next(), 2);
+
+        assertEquals(List.of(4L, 3L), first.productIds());
+        assertEquals(List.of(1L), second.productIds());
+        assertNull(second.next());
+    }
+
+    @Test
+    void testInvalidFilterIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FacetFilter(Set.of(), new BigDecimal("10"), new BigDecimal("5"), null, false, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FacetFilter(Set.of(), null, null, 6, false, false));
+    }
+
+    private FacetIndex.Result filter(List<Long> candidates, FacetFilter filter) {
+        return index.page(candidates, filter, ProductSort.RELEVANCE, null, 100);
+    }
+
+    private Category category(Long id, String name) {
+        Category category = new Category(name, name);
+        category.setId(id);
+        return category;
+    }
+
+    private Product product(Long id, Category category, String price, String rating, int stock, boolean featured) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle("Product " + id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(price));
+        product.setAverageRating(new BigDecimal(rating));
+        product.setStockQuantity(stock);
+        product.setIsFeatured(featured);
+        product.setIsActive(true);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(id));
+        return product;
+    }
+}
@@ -0,0 +1,148 @@
+package com.capstone.catalog;
+
+import com.capstone.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Frequently Bought Together Test
+ *
+ * Tests the rebuild from order history, incremental updates, combining the
+ * lists of a cart and removing products.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class FrequentlyBoughtTogetherTest {
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private FrequentlyBoughtTogether alsoBought;
+
+    @BeforeEach
+    void setUp() {
+        alsoBought = new FrequentlyBoughtTogether(orderItemRepository);
+    }
+
+    @Test
+    void testRebuildCountsOrdersContainingBothProducts() {
+        // Arrange: order 10 has 1, 2, 3; order 11 has 1, 2; order 12 has 1, 3, 3; order 13 only 4
+        when(orderItemRepository.findOrderProductPairs()).thenReturn(pairs(
+                10L, 1L, 10L, 2L, 10L, 3L,
+                11L, 1L, 11L, 2L,
+                12L, 1L, 12L, 3L, 12L, 3L,
+                13L, 4L));
+
+        // Act
+        alsoBought.rebuildFromHistory();
+
+        // Assert
+        assertEquals(List.of(2L, 3L), alsoBought.alsoBought(1L, 10));
+        assertEquals(List.of(1L, 3L), alsoBought.alsoBought(2L, 10));
+        assertEquals(List.of(1L), alsoBought.alsoBought(3L, 1));
+        assertEquals(List.of(), alsoBought.alsoBought(4L, 10));
+    }
+
+    @Test
+    void testRebuildOverManyOrdersMatchesSequentialCounts() {
+        // Arrange: enough orders for the parallel workers to each take a share
+        List<Object[]> pairs = new ArrayList<>();
+        for (long order = 1; order <= 2_000; order++) {
+            pairs.add(new Object[] {order, 1L});
+            pairs.add(new Object[] {order, order % 2 == 0 ? 2L : 3L});
+            if (order % 5 == 0) {
+                pairs.add(new Object[] {order, 4L});
+            }
+        }
+        when(orderItemRepository.findOrderProductPairs()).thenReturn(pairs);
+
+        // Act
+        alsoBought.rebuildFromHistory();
+
+        // Assert: 1 with 2 and 3 in 1000 orders each, with 4 in 400
+        assertEquals(List.of(2L, 3L, 4L), alsoBought.alsoBought(1L, 10));
+        assertEquals(List.of(1L, 2L, 3L), alsoBought.alsoBought(4L, 10));
+    }
+
+    @Test
+    void testRecordOrderOutsideTransactionAppliesImmediately() {
+        // Act
+        alsoBought.recordOrder(List.of(5L, 6L));
+        alsoBought.recordOrder(List.of(5L, 7L));
+        alsoBought.recordOrder(List.of(5L, 7L, 7L));
+        alsoBought.recordOrder(List.of(8L));
+
+        // Assert
+        assertEquals(List.of(7L, 6L), alsoBought.alsoBought(5L, 10));
+        assertEquals(List.of(5L), alsoBought.alsoBought(6L, 10));
+        assertEquals(List.of(), alsoBought.alsoBought(8L, 10));
+    }
+
+    @Test
+    void testCartCombinesListsAndSkipsChosenProducts() {
+        // Arrange
+        alsoBought.recordOrder(List.of(1L, 2L, 3L));
+        alsoBought.recordOrder(List.of(1L, 3L));
+        alsoBought.recordOrder(List.of(2L, 4L));
+        alsoBought.recordOrder(List.of(2L, 4L));
+        alsoBought.recordOrder(List.of(1L, 4L));
+
+        // Act
+        List<Long> forCart = alsoBought.alsoBought(List.of(1L, 2L), 10);
+
+        // Assert: 4 scores 3 (two with 2, one with 1), 3 scores 3 as well, ties by ID
+        assertEquals(List.of(3L, 4L), forCart);
+        assertEquals(List.of(3L), alsoBought.alsoBought(List.of(1L, 2L), 1));
+    }
+
+    @Test
+    void testRemovedProductDisappearsFromEveryList() {
+        // Arrange
+        alsoBought.recordOrder(List.of(1L, 2L, 3L));
+
+        // Act
+        alsoBought.remove(2L);
+
+        // Assert
+        assertEquals(List.of(), alsoBought.alsoBought(2L, 10));
+        assertEquals(List.of(3L), alsoBought.alsoBought(1L, 10));
+        assertEquals(List.of(1L), alsoBought.alsoBought(3L, 10));
+    }
+
+    @Test
+    void testNeighbourListIsBounded() {
+        // Arrange
+        for (long id = 2; id <= FrequentlyBoughtTogether.TOP_K + 6; id++) {
+            for (int i = 0; i < id; i++) {
+                alsoBought.recordOrder(List.of(1L, id));
+            }
+        }
+
+        // Act
+        List<Long> top = alsoBought.alsoBought(1L, 100);
+
+        // Assert
+        assertEquals(FrequentlyBoughtTogether.TOP_K, top.size());
+        assertEquals(FrequentlyBoughtTogether.TOP_K + 6, top.get(0));
+    }
+
+    // Helper methods
+    private static List<Object[]> pairs(long... orderAndProduct) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (int i = 0; i < orderAndProduct.length; i += 2) {
+            pairs.add(new Object[] {orderAndProduct[i], orderAndProduct[i + 1]});
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,87 @@
+package com.capstone.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Long Int Map Test
+ *
+ * Tests counting, growth and removal against a boxed map.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class LongIntMapTest {
+
+    @Test
+    void testAddAndGet() {
+        // Arrange
+        LongIntMap map = new LongIntMap();
+
+        // Act
+        map.add(7L, 2);
+        map.add(7L, 3);
+        map.add(9L, 1);
+
+        // Assert
+        assertEquals(5, map.get(7L));
+        assertEquals(1, map.get(9L));
+        assertEquals(0, map.get(8L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testRejectsNonPositiveKeys() {
+        LongIntMap map = new LongIntMap();
+
+        assertThrows(IllegalArgumentException.class, () -> map.add(0L, 1));
+        assertEquals(0, map.get(-1L));
+    }
+
+    @Test
+    void testMatchesHashMapThroughGrowthAndRemoval() {
+        // Arrange
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act: a small key range forces long probe runs and many removals inside them
+        for (int i = 0; i < 20_000; i++) {
+            long key = 1 + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, 0), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.add(key, 1);
+                expected.merge(key, 1, Integer::sum);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, count) -> assertEquals(count, map.get(key)));
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), map.keys());
+    }
+
+    @Test
+    void testAddAllMergesCounts() {
+        // Arrange
+        LongIntMap left = new LongIntMap();
+        left.add(1L, 2);
+        LongIntMap right = new LongIntMap();
+        right.add(1L, 3);
+        right.add(2L, 4);
+
+        // Act
+        left.addAll(right);
+
+        // Assert
+        assertEquals(5, left.get(1L));
+        assertEquals(4, left.get(2L));
+    }
+}
@@ -0,0 +1,167 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Product Rankings Test
+ *
+ * Tests slicing of the pre-sorted rankings and their incremental maintenance.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class ProductRankingsTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private ProductRankings rankings;
+    private Category phones;
+    private Category books;
+
+    @BeforeEach
+    void setUp() {
+        phones = category(1L);
+        books = category(2L);
+        rankings = new ProductRankings();
+        rankings.rebuild(List.of(
+                product(1L, phones, "999.00", "4.60", 300, true),
+                product(2L, phones, "199.99", "3.20", 50, false),
+                product(3L, books, "12.50", "4.90", 120, false),
+                product(4L, books, "24.99", "2.00", 10, true),
+                product(5L, phones, "199.99", "4.10", 80, false)));
+    }
+
+    @Test
+    void testEverySortOrder() {
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(null, ProductSort.NEWEST));
+        assertEquals(List.of(3L, 4L, 2L, 5L, 1L), ids(null, ProductSort.PRICE_LOW));
+        assertEquals(List.of(1L, 2L, 5L, 4L, 3L), ids(null, ProductSort.PRICE_HIGH));
+        assertEquals(List.of(3L, 1L, 5L, 2L, 4L), ids(null, ProductSort.RATING));
+        assertEquals(List.of(1L, 3L, 5L, 2L, 4L), ids(null, ProductSort.POPULAR));
+        assertEquals(List.of(1L, 5L, 2L), ids(1L, ProductSort.POPULAR));
+    }
+
+    @Test
+    void testNewestFollowsCreationTimeNotId() {
+        // A node with a later ID block created product 6 before the others
+        Product early = product(6L, phones, "5.00", "1.00", 0, false);
+        early.setCreatedAt(CREATED);
+        rankings.update(early);
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L, 6L), ids(null, ProductSort.NEWEST));
+    }
+
+    @Test
+    void testCursorWalksThroughCategory() {
+        List<Long> seen = new ArrayList<>();
+        CatalogCursor cursor = null;
+        do {
+            ProductRankings.Slice slice = rankings.page(1L, ProductSort.PRICE_HIGH, cursor, 1);
+            assertEquals(3, slice.totalCount());
+            seen.addAll(slice.productIds());
+            cursor = slice.next();
+        } while (cursor != null);
+
+        assertEquals(List.of(1L, 2L, 5L), seen);
+    }
+
+    @Test
+    void testUpdateMovesProduct() {
+        rankings.update(product(2L, books, "5.00", "3.20", 50, false));
+
+        assertEquals(List.of(1L, 5L), ids(1L, ProductSort.PRICE_HIGH));
+        assertEquals(List.of(2L, 3L, 4L), ids(2L, ProductSort.PRICE_LOW));
+    }
+
+    @Test
+    void testRemoveAndFeatured() {
+        assertEquals(List.of(4L, 1L), rankings.featured(10));
+
+        rankings.remove(4L);
+
+        assertEquals(List.of(1L), rankings.featured(10));
+        assertEquals(List.of(3L), ids(2L, ProductSort.NEWEST));
+        assertTrue(ids(99L, ProductSort.NEWEST).isEmpty());
+    }
+
+    @Test
+    void testWrittenViewsReorderPopular() {
+        rankings.viewsAdded(Map.of(4L, 400L, 2L, 60L, 99L, 1L));
+
+        assertEquals(List.of(4L, 1L, 3L, 2L, 5L), ids(null, ProductSort.POPULAR));
+        assertEquals(List.of(1L, 2L, 5L), ids(1L, ProductSort.POPULAR));
+        assertEquals(List.of(4L, 1L), rankings.featured(10));
+        assertEquals(List.of(3L, 4L, 2L, 5L, 1L), ids(null, ProductSort.PRICE_LOW));
+    }
+
+    @Test
+    void testViewsOfManyProductsResortEveryRanking() {
+        // Arrange: more products than are moved one by one
+        int count = ProductRankings.INCREMENTAL_LIMIT + 10;
+        List<Product> products = new ArrayList<>();
+        Map<Long, Long> views = new HashMap<>();
+        for (long id = 1; id <= count; id++) {
+            products.add(product(id, id % 2 == 0 ? phones : books, "10.00", "3.00", (int) id, false));
+            views.put(id, 2 * (count - id));
+        }
+        rankings.rebuild(products);
+
+        // Act: the lowest IDs gain the most views
+        rankings.viewsAdded(views);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), rankings.page(null, ProductSort.POPULAR, null, 3).productIds());
+        assertEquals(List.of(2L, 4L, 6L), rankings.page(1L, ProductSort.POPULAR, null, 3).productIds());
+    }
+
+    @Test
+    void testSliceMatchesFacetIndexPaging() {
+        FacetIndex facets = new FacetIndex();
+        facets.rebuild(List.of(
+                product(1L, phones, "999.00", "4.60", 300, true),
+                product(2L, phones, "199.99", "3.20", 50, false),
+                product(5L, phones, "199.99", "4.10", 80, false)));
+
+        FacetIndex.Result fromFacets = facets.page(null, FacetFilter.NONE, ProductSort.PRICE_LOW, null, 2);
+        ProductRankings.Slice fromRankings = rankings.page(1L, ProductSort.PRICE_LOW, null, 2);
+
+        assertEquals(fromFacets.productIds(), fromRankings.productIds());
+        assertEquals(fromFacets.next(), fromRankings.next());
+    }
+
+    private List<Long> ids(Long categoryId, ProductSort sort) {
+        return rankings.page(categoryId, sort, null, 10).productIds();
+    }
+
+    private Category category(Long id) {
+        Category category = new Category("Category " + id, "");
+        category.setId(id);
+        return category;
+    }
+
+    private Product product(Long id, Category category, String price, String rating, int views, boolean featured) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle("Product " + id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(price));
+        product.setAverageRating(new BigDecimal(rating));
+        product.setViewCount(views);
+        product.setIsFeatured(featured);
+        product.setIsActive(true);
+        product.setCreatedAt(CREATED.plusDays(id));
+        return product;
+    }
+}
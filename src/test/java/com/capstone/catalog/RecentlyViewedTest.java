@@ -0,0 +1,84 @@
+package com.capstone.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recently Viewed Test
+ *
+ * Tests ordering, de-duplication and the bounded ring.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class RecentlyViewedTest {
+
+    @Test
+    void testMostRecentFirst() {
+        // Arrange
+        RecentlyViewed recentlyViewed = new RecentlyViewed();
+
+        // Act
+        recentlyViewed.record(1L);
+        recentlyViewed.record(2L);
+        recentlyViewed.record(3L);
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L), recentlyViewed.productIds());
+    }
+
+    @Test
+    void testViewingAgainMovesToFront() {
+        // Arrange
+        RecentlyViewed recentlyViewed = new RecentlyViewed();
+        recentlyViewed.record(1L);
+        recentlyViewed.record(2L);
+        recentlyViewed.record(3L);
+
+        // Act
+        recentlyViewed.record(2L);
+        recentlyViewed.record(2L);
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L), recentlyViewed.productIds());
+    }
+
+    @Test
+    void testOldestFallsOutWhenFull() {
+        // Arrange
+        RecentlyViewed recentlyViewed = new RecentlyViewed();
+
+        // Act
+        for (long id = 1; id <= RecentlyViewed.CAPACITY + 3; id++) {
+            recentlyViewed.record(id);
+        }
+
+        // Assert
+        List<Long> expected = LongStream.iterate(RecentlyViewed.CAPACITY + 3, id -> id - 1)
+                .limit(RecentlyViewed.CAPACITY).boxed().toList();
+        assertEquals(expected, recentlyViewed.productIds());
+    }
+
+    @Test
+    void testMoveToFrontAcrossTheWrapAround() {
+        // Arrange: the ring has wrapped, so the oldest entry sits after the head in the array
+        RecentlyViewed recentlyViewed = new RecentlyViewed();
+        for (long id = 1; id <= RecentlyViewed.CAPACITY + 2; id++) {
+            recentlyViewed.record(id);
+        }
+
+        // Act
+        recentlyViewed.record(3L);
+
+        // Assert
+        List<Long> ids = recentlyViewed.productIds();
+        assertEquals(RecentlyViewed.CAPACITY, ids.size());
+        assertEquals(3L, ids.get(0));
+        assertEquals(4L, ids.get(ids.size() - 1));
+        assertEquals(ids.size(), ids.stream().distinct().count());
+    }
+}
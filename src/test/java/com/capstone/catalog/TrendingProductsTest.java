@@ -0,0 +1,124 @@
+package com.capstone.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Trending Products Test
+ *
+ * Tests weighting of activity, expiry of old buckets and the bounded top list.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class TrendingProductsTest {
+
+    private static final long MINUTE = 60_000;
+
+    private AtomicLong now;
+    private TrendingProducts trending;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000 * MINUTE);
+        // One hour window in six ten-minute buckets
+        trending = new TrendingProducts(60 * MINUTE, 6, now::get);
+    }
+
+    @Test
+    void testRanksByWeightedActivity() {
+        // Arrange
+        for (int i = 0; i < 7; i++) {
+            trending.recordView(1L);
+        }
+        trending.recordCartAdd(2L);
+        trending.recordView(2L);
+        trending.recordOrderLine(3L, 1);
+
+        // Act
+        trending.refresh();
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), trending.top(10));
+        assertEquals(List.of(3L), trending.top(1));
+    }
+
+    @Test
+    void testTopIsStableUntilRefresh() {
+        // Arrange
+        trending.recordView(1L);
+
+        // Assert
+        assertEquals(List.of(), trending.top(10));
+        trending.refresh();
+        assertEquals(List.of(1L), trending.top(10));
+    }
+
+    @Test
+    void testOldActivityLeavesTheWindow() {
+        // Arrange
+        trending.recordOrderLine(1L, 2);
+        now.addAndGet(30 * MINUTE);
+        trending.recordView(2L);
+        trending.recordView(2L);
+
+        // Act
+        now.addAndGet(35 * MINUTE);
+        trending.refresh();
+
+        // Assert
+        assertEquals(List.of(2L), trending.top(10));
+        assertEquals(1, trending.activeProducts());
+    }
+
+    @Test
+    void testIdleProductsAreDropped() {
+        // Arrange
+        trending.recordView(1L);
+
+        // Act
+        now.addAndGet(2 * 60 * MINUTE);
+        trending.refresh();
+
+        // Assert
+        assertEquals(List.of(), trending.top(10));
+        assertEquals(0, trending.activeProducts());
+    }
+
+    @Test
+    void testTopListIsBounded() {
+        // Arrange
+        for (long id = 1; id <= TrendingProducts.TOP_K + 5; id++) {
+            for (int i = 0; i < id; i++) {
+                trending.recordView(id);
+            }
+        }
+
+        // Act
+        trending.refresh();
+
+        // Assert
+        List<Long> top = trending.top(100);
+        assertEquals(TrendingProducts.TOP_K, top.size());
+        assertEquals(TrendingProducts.TOP_K + 5, top.get(0));
+    }
+
+    @Test
+    void testRemovedProductLeavesTopList() {
+        // Arrange
+        trending.recordView(1L);
+        trending.recordView(2L);
+        trending.refresh();
+
+        // Act
+        trending.remove(1L);
+
+        // Assert
+        assertEquals(List.of(2L), trending.top(10));
+    }
+}
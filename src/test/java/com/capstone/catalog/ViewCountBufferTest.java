@@ -0,0 +1,163 @@
+package com.capstone.catalog;
+
+import com.capstone.domain.Product;
+import com.capstone.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * View Count Buffer Test
+ *
+ * Tests aggregation of buffered views, batched flushing, retry after a
+ * failed flush and that written views reach the popularity ranking.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class ViewCountBufferTest {
+
+    private ProductRepository productRepository;
+    private ProductRankings rankings;
+    private SimpleMeterRegistry meterRegistry;
+    private ViewCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        rankings = new ProductRankings();
+        rankings.rebuild(List.of(product(1L, 10), product(2L, 12)));
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new ViewCountBuffer(productRepository, new ProductIndexUpdater(productRepository, List.of(rankings)),
+                meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesAggregatedDeltasInOneBatch() {
+        // Arrange
+        buffer.record(1L);
+        buffer.record(1L);
+        buffer.record(1L);
+        buffer.record(2L);
+
+        // Act
+        int products = buffer.flush();
+
+        // Assert
+        ArgumentCaptor<Map<Long, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(productRepository, times(1)).addViewCounts(deltas.capture());
+        assertEquals(Map.of(1L, 3L, 2L, 1L), deltas.getValue());
+        assertEquals(2, products);
+        assertEquals(0, buffer.pendingViews());
+    }
+
+    @Test
+    void testFlushWithoutViewsSkipsDatabase() {
+        // Arrange
+        buffer.record(1L);
+        buffer.flush();
+
+        // Act
+        int products = buffer.flush();
+
+        // Assert
+        assertEquals(0, products);
+        verify(productRepository, times(1)).addViewCounts(anyMap());
+    }
+
+    @Test
+    void testFailedFlushKeepsViews() {
+        // Arrange
+        buffer.record(1L);
+        buffer.record(1L);
+        doThrow(new IllegalStateException("database unavailable")).when(productRepository).addViewCounts(anyMap());
+
+        // Act
+        int products = buffer.flush();
+
+        // Assert
+        assertEquals(0, products);
+        assertEquals(2, buffer.pendingViews(1L));
+        assertEquals(List.of(2L, 1L), popular());
+    }
+
+    @Test
+    void testFlushedViewsReorderPopular() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            buffer.record(1L);
+        }
+        assertEquals(List.of(2L, 1L), popular());
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), popular());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConcurrentViewsAreNotLost() throws InterruptedException {
+        // Arrange
+        List<Long> flushed = new ArrayList<>();
+        doAnswer(invocation -> {
+            flushed.add(((Map<Long, Long>) invocation.getArgument(0)).get(1L));
+            return null;
+        }).when(productRepository).addViewCounts(anyMap());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    buffer.record(1L);
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            buffer.flush();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        buffer.flush();
+
+        // Assert
+        assertEquals(40_000, flushed.stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testPendingViewsGauge() {
+        // Arrange
+        buffer.record(1L);
+        buffer.record(2L);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("products.views.pending").gauge().value());
+        assertTrue(meterRegistry.get("products.views.flush.lag").gauge().value() >= 0);
+    }
+
+    private List<Long> popular() {
+        return rankings.page(null, ProductSort.POPULAR, null, 10).productIds();
+    }
+
+    private static Product product(Long id, int views) {
+        Product product = new Product();
+        product.setId(id);
+        product.setViewCount(views);
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -1,11 +1,25 @@
 package com.capstone.controller;
 
+import com.capstone.catalog.CatalogPage;
+import com.capstone.catalog.CatalogSearchResult;
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.FacetCounts;
+import com.capstone.catalog.FacetFilter;
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.catalog.ProductSort;
 import com.capstone.domain.Category;
 import com.capstone.domain.Product;
+import com.capstone.domain.User;
 import com.capstone.repository.CategoryRepository;
 import com.capstone.repository.ProductRepository;
+import com.capstone.review.ReviewSort;
+import com.capstone.review.ReviewSummary;
+import com.capstone.review.ReviewView;
 import com.capstone.service.CategoryService;
 import com.capstone.service.ProductService;
+import com.capstone.service.RecentlyViewedService;
+import com.capstone.service.ReviewService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +30,14 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +64,12 @@ class CatalogControllerTest {
     @MockBean
     private CategoryService categoryService;
     
+    @MockBean
+    private ReviewService reviewService;
+
+    @MockBean
+    private RecentlyViewedService recentlyViewedService;
+    
     @MockBean
     private ProductRepository productRepository;
     
@@ -58,10 +83,11 @@ class CatalogControllerTest {
     @WithMockUser
     void testCatalogPageWithoutParameters() throws Exception {
         // Mock service methods
-        List<Product> activeProducts = new ArrayList<>();
+        List<ProductCard> activeProducts = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.getActiveProducts()).thenReturn(activeProducts);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog(null, false, FacetFilter.NONE, ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(activeProducts, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog"))
                 .andExpect(status().isOk())
@@ -78,10 +104,11 @@ class CatalogControllerTest {
     @WithMockUser
     void testCatalogPageWithSearchQuery() throws Exception {
         // Mock service methods
-        List<Product> searchResults = new ArrayList<>();
+        List<ProductCard> searchResults = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.searchProducts("laptop")).thenReturn(searchResults);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog("laptop", false, FacetFilter.NONE, ProductSort.RELEVANCE, null, null))
+                .thenReturn(new CatalogSearchResult(searchResults, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog")
                         .param("query", "laptop"))
@@ -101,15 +128,17 @@ class CatalogControllerTest {
     void testCatalogPageWithCategoryFilter() throws Exception {
         // Mock service methods
         Long categoryId = 1L;
-        List<Product> categoryProducts = new ArrayList<>();
-        List<Category> activeCategories = new ArrayList<>();
+        List<ProductCard> categoryProducts = new ArrayList<>();
         Category category = new Category();
         category.setId(categoryId);
         category.setName("Test Category");
+        CategoryTree tree = CategoryTree.of(List.of(category), Map.of());
         
-        when(productService.getProductsByCategory(categoryId)).thenReturn(categoryProducts);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
-        when(categoryService.getCategoryById(categoryId)).thenReturn(category);
+        when(productService.browseCatalog(null, false,
+                new FacetFilter(Set.of(categoryId), null, null, null, false, false),
+                ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(categoryProducts, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(tree);
         
         mockMvc.perform(get("/catalog")
                         .param("categoryId", "1"))
@@ -117,8 +146,100 @@ class CatalogControllerTest {
                 .andExpect(view().name("catalog"))
                 .andExpect(model().attribute("title", "Product Catalog"))
                 .andExpect(model().attribute("products", categoryProducts))
-                .andExpect(model().attribute("categories", activeCategories))
-                .andExpect(model().attribute("selectedCategory", category));
+                .andExpect(model().attribute("categories", tree.categories()))
+                .andExpect(model().attribute("selectedCategory", tree.get(categoryId)));
+    }
+
+    /**
+     * Test catalog page with several filters combined
+     */
+    @Test
+    @WithMockUser
+    void testCatalogPageWithCombinedFilters() throws Exception {
+        // Mock service methods
+        List<ProductCard> filteredProducts = new ArrayList<>();
+        FacetCounts facets = new FacetCounts(Map.of(1L, 3, 2L, 1), Map.of(), Map.of(4, 2), 2, 1);
+        FacetFilter filter = new FacetFilter(Set.of(1L, 2L), new BigDecimal("10.0"), new BigDecimal("500.0"),
+                4, true, false);
+        when(productService.browseCatalog("phone", false, filter, ProductSort.RELEVANCE, null, null))
+                .thenReturn(new CatalogSearchResult(filteredProducts, facets, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(new ArrayList<>(), Map.of()));
+        
+        mockMvc.perform(get("/catalog")
+                        .param("query", "phone")
+                        .param("categoryId", "1", "2")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "500")
+                        .param("minRating", "4")
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("catalog"))
+                .andExpect(model().attribute("products", filteredProducts))
+                .andExpect(model().attribute("facets", facets))
+                .andExpect(model().attribute("selectedCategoryIds", Set.of(1L, 2L)))
+                .andExpect(model().attributeDoesNotExist("selectedCategory"));
+    }
+
+    /**
+     * Test out-of-range ratings are clamped or ignored instead of failing the page
+     */
+    @Test
+    @WithMockUser
+    void testCatalogPageWithOutOfRangeRating() throws Exception {
+        // Mock service methods
+        List<ProductCard> ratedProducts = new ArrayList<>();
+        FacetFilter fiveStars = new FacetFilter(Set.of(), null, null, 5, false, false);
+        when(productService.browseCatalog(null, false, fiveStars, ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(ratedProducts, FacetCounts.EMPTY, 0, null));
+        when(productService.browseCatalog(null, false, FacetFilter.NONE, ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(new ArrayList<>(), FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(new ArrayList<>(), Map.of()));
+        
+        mockMvc.perform(get("/catalog")
+                        .param("minRating", "6"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("products", ratedProducts))
+                .andExpect(model().attribute("minRating", 5));
+        mockMvc.perform(get("/catalog")
+                        .param("minRating", "0"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("minRating", org.hamcrest.Matchers.nullValue()));
+    }
+
+    /**
+     * Test negative, non-numeric and inverted prices never fail the page
+     */
+    @Test
+    @WithMockUser
+    void testCatalogPageWithInvalidPriceRange() throws Exception {
+        // Mock service methods
+        FacetFilter swapped = new FacetFilter(Set.of(), BigDecimal.valueOf(10.0), BigDecimal.valueOf(50.0),
+                null, false, false);
+        FacetFilter upToTen = new FacetFilter(Set.of(), null, BigDecimal.valueOf(10.0), null, false, false);
+        when(productService.browseCatalog(null, false, swapped, ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(new ArrayList<>(), FacetCounts.EMPTY, 0, null));
+        when(productService.browseCatalog(null, false, upToTen, ProductSort.NEWEST, null, null))
+                .thenReturn(new CatalogSearchResult(new ArrayList<>(), FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(new ArrayList<>(), Map.of()));
+        
+        mockMvc.perform(get("/catalog")
+                        .param("minPrice", "50")
+                        .param("maxPrice", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("minPrice", 10.0))
+                .andExpect(model().attribute("maxPrice", 50.0));
+        mockMvc.perform(get("/catalog")
+                        .param("minPrice", "-5")
+                        .param("maxPrice", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("minPrice", org.hamcrest.Matchers.nullValue()));
+        mockMvc.perform(get("/catalog")
+                        .param("minPrice", "NaN")
+                        .param("maxPrice", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("minPrice", org.hamcrest.Matchers.nullValue()));
+        verify(productService, Mockito.times(2))
+                .browseCatalog(null, false, upToTen, ProductSort.NEWEST, null, null);
     }
 
     /**
@@ -128,10 +249,11 @@ class CatalogControllerTest {
     @WithMockUser
     void testCatalogPageWithSorting() throws Exception {
         // Mock service methods
-        List<Product> activeProducts = new ArrayList<>();
+        List<ProductCard> activeProducts = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.getActiveProducts()).thenReturn(activeProducts);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog(null, false, FacetFilter.NONE, ProductSort.PRICE_LOW, null, null))
+                .thenReturn(new CatalogSearchResult(activeProducts, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog")
                         .param("sort", "price_low"))
@@ -139,7 +261,8 @@ class CatalogControllerTest {
                 .andExpect(view().name("catalog"))
                 .andExpect(model().attribute("title", "Product Catalog"))
                 .andExpect(model().attribute("products", activeProducts))
-                .andExpect(model().attribute("categories", activeCategories));
+                .andExpect(model().attribute("categories", activeCategories))
+                .andExpect(model().attribute("sort", ProductSort.PRICE_LOW));
     }
 
     /**
@@ -149,18 +272,22 @@ class CatalogControllerTest {
     @WithMockUser
     void testCatalogPageWithPagination() throws Exception {
         // Mock service methods
-        List<Product> activeProducts = new ArrayList<>();
+        List<ProductCard> activeProducts = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.getActiveProducts()).thenReturn(activeProducts);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog(null, false, FacetFilter.NONE, ProductSort.NEWEST, "MTA6NQ", 12))
+                .thenReturn(new CatalogSearchResult(activeProducts, FacetCounts.EMPTY, 30, "MjA6Mw"));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog")
-                        .param("page", "2"))
+                        .param("cursor", "MTA6NQ")
+                        .param("size", "12"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("catalog"))
                 .andExpect(model().attribute("title", "Product Catalog"))
                 .andExpect(model().attribute("products", activeProducts))
-                .andExpect(model().attribute("categories", activeCategories));
+                .andExpect(model().attribute("categories", activeCategories))
+                .andExpect(model().attribute("totalCount", 30))
+                .andExpect(model().attribute("nextCursor", "MjA6Mw"));
     }
 
     /**
@@ -170,10 +297,11 @@ class CatalogControllerTest {
     @WithMockUser
     void testSearchProducts() throws Exception {
         // Mock service methods
-        List<Product> searchResults = new ArrayList<>();
+        List<ProductCard> searchResults = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.searchProducts("smartphone")).thenReturn(searchResults);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog("smartphone", false, FacetFilter.NONE, ProductSort.RELEVANCE, null, null))
+                .thenReturn(new CatalogSearchResult(searchResults, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog")
                         .param("query", "smartphone"))
@@ -192,10 +320,11 @@ class CatalogControllerTest {
     @WithMockUser
     void testSearchProductsWithPagination() throws Exception {
         // Mock service methods
-        List<Product> searchResults = new ArrayList<>();
+        List<ProductCard> searchResults = new ArrayList<>();
         List<Category> activeCategories = new ArrayList<>();
-        when(productService.searchProducts("smartphone")).thenReturn(searchResults);
-        when(categoryService.getActiveCategories()).thenReturn(activeCategories);
+        when(productService.browseCatalog("smartphone", false, FacetFilter.NONE, ProductSort.RELEVANCE, null, null))
+                .thenReturn(new CatalogSearchResult(searchResults, FacetCounts.EMPTY, 0, null));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(activeCategories, Map.of()));
         
         mockMvc.perform(get("/catalog")
                         .param("query", "smartphone")
@@ -204,4 +333,59 @@ class CatalogControllerTest {
                 .andExpect(view().name("catalog"))
                 .andExpect(model().attribute("searchQuery", "smartphone"));
     }
+
+    /**
+     * Test product details breadcrumb comes from the category tree
+     */
+    @Test
+    @WithMockUser
+    void testProductDetailsBreadcrumb() throws Exception {
+        // Mock service methods
+        Category electronics = new Category("Electronics", "Devices");
+        electronics.setId(1L);
+        Category laptops = new Category("Laptops", "Portable computers", electronics);
+        laptops.setId(5L);
+        CategoryTree tree = CategoryTree.of(List.of(electronics, laptops), Map.of(5L, 1));
+        ProductDetailView product = detailView(5L, ReviewSummary.of(null, 0, new int[5]));
+        when(productService.getProductDetails(7L)).thenReturn(product);
+        when(categoryService.getCategoryTree()).thenReturn(tree);
+        
+        mockMvc.perform(get("/product/7"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("product/details"))
+                .andExpect(model().attribute("breadcrumb", List.of(tree.get(1L), tree.get(5L))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("/catalog/category/1")));
+        verify(recentlyViewedService).recordView(7L);
+    }
+
+    /**
+     * Test product details render the review summary instead of the reviews collection
+     */
+    @Test
+    @WithMockUser
+    void testProductDetailsShowsReviewSummary() throws Exception {
+        // Mock service methods
+        ReviewView review = new ReviewView(3L, "Fast and light", "Battery lasts all day", 5, 0,
+                "John", "Doe", true, LocalDateTime.of(2024, 1, 15, 10, 0));
+        ReviewSummary summary = ReviewSummary.of(new BigDecimal("4.50"), 2, new int[] {0, 0, 0, 1, 1});
+        when(productService.getProductDetails(7L)).thenReturn(detailView(null, summary));
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(List.of(), Map.of()));
+        when(reviewService.getReviews(7L, ReviewSort.HELPFUL, "abc", null))
+                .thenReturn(new CatalogPage<>(List.of(review), "next"));
+        
+        mockMvc.perform(get("/product/7").param("reviewSort", "helpful").param("reviewCursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("reviewSummary", summary))
+                .andExpect(model().attribute("reviewSort", ReviewSort.HELPFUL))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Fast and light")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("John Doe")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("(2 reviews)")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString(
+                        "/product/7?reviewSort=helpful&amp;reviewCursor=next")));
+    }
+
+    private static ProductDetailView detailView(Long categoryId, ReviewSummary ratings) {
+        return new ProductDetailView(7L, "MacBook Air", "Thin and light", new BigDecimal("1199.00"), null, null,
+                List.of(), 3, false, categoryId, "Jane Smith", 10, LocalDateTime.of(2024, 1, 1, 9, 0), ratings);
+    }
 }
@@ -1,5 +1,7 @@
 package com.capstone.controller;
 
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.ProductCard;
 import com.capstone.domain.Category;
 import com.capstone.domain.Product;
 import com.capstone.repository.CategoryRepository;
@@ -15,8 +17,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -57,11 +61,11 @@ class HomeControllerTest {
     @WithMockUser
     void testHomePage() throws Exception {
         // Подготовка моков
-        List<Product> featuredProducts = new ArrayList<>();
+        List<ProductCard> featuredProducts = new ArrayList<>();
         List<Category> categories = new ArrayList<>();
         
         when(productService.getFeaturedProducts()).thenReturn(featuredProducts);
-        when(categoryService.getActiveCategories()).thenReturn(categories);
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(categories, Map.of()));
         
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
@@ -78,11 +82,11 @@ class HomeControllerTest {
     @WithMockUser
     void testHomePageWithHomePath() throws Exception {
         // Подготовка моков
-        List<Product> featuredProducts = new ArrayList<>();
+        List<ProductCard> featuredProducts = new ArrayList<>();
         List<Category> categories = new ArrayList<>();
         
         when(productService.getFeaturedProducts()).thenReturn(featuredProducts);
-        when(categoryService.getActiveCategories()).thenReturn(categories);
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.of(categories, Map.of()));
         
         mockMvc.perform(get("/home"))
                 .andExpect(status().isOk())
@@ -92,6 +96,27 @@ class HomeControllerTest {
                 .andExpect(model().attribute("categories", categories));
     }
 
+    /**
+     * Test trending products rail on the home page
+     */
+    @Test
+    @WithMockUser
+    void testHomePageShowsTrendingProducts() throws Exception {
+        // Подготовка моков
+        List<ProductCard> trendingProducts = List.of(new ProductCard(3L, "Wireless Earbuds",
+                new BigDecimal("59.99"), null, "/images/earbuds.png", new BigDecimal("4.50"), true));
+        
+        when(productService.getFeaturedProducts()).thenReturn(List.of());
+        when(productService.getTrendingProducts()).thenReturn(trendingProducts);
+        when(categoryService.getCategoryTree()).thenReturn(CategoryTree.EMPTY);
+        
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("trendingProducts", trendingProducts))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Trending Now")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Wireless Earbuds")));
+    }
+
     /**
      * Test about page access
      */
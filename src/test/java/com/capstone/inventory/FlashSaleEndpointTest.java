@@ -0,0 +1,183 @@
+package com.capstone.inventory;
+
+import com.capstone.domain.Inventory;
+import com.capstone.repository.InventoryRepository;
+import com.capstone.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Flash Sale Endpoint Test
+ *
+ * Tests that only HTTP Basic administrators reach the endpoint, without a
+ * CSRF token and never through a browser session, and that starting and
+ * ending sales while buyers reserve neither loses nor oversells units.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlashSaleEndpointTest {
+
+    private static final int UNITS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh user per lookup: the credentials of an authenticated one are erased
+        String password = passwordEncoder.encode("secret");
+        when(userDetailsService.loadUserByUsername("admin")).thenAnswer(invocation -> User.withUsername("admin")
+                .password(password).roles("ADMIN").build());
+        when(userDetailsService.loadUserByUsername("customer")).thenAnswer(invocation -> User.withUsername("customer")
+                .password(password).roles("CUSTOMER").build());
+
+        // One product with plenty of unreserved stock, loaded into the engine again
+        productId = new TransactionTemplate(transactionManager).execute(status -> {
+            Inventory inventory = inventoryRepository.findAll().get(0);
+            inventory.setCurrentStock(UNITS);
+            inventory.setReservedStock(0);
+            return inventory.getProduct().getId();
+        });
+        stockReservationEngine.reconcile();
+    }
+
+    @Test
+    void testOnlyBasicAdministratorsReachTheEndpoint() throws Exception {
+        // Arrange: a browser session of a signed-in administrator
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(new UsernamePasswordAuthenticationToken("admin", null,
+                        AuthorityUtils.createAuthorityList("ROLE_ADMIN"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/flashsale")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/flashsale/{productId}", productId).session(session))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/flashsale").with(httpBasic("customer", "secret")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/flashsale").with(httpBasic("admin", "wrong")))
+                .andExpect(status().isUnauthorized());
+        assertTrue(stockReservationEngine.flashSales().isEmpty());
+    }
+
+    @Test
+    void testAdministratorStartsListsAndEndsASaleWithoutCsrfToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/actuator/flashsale/{productId}", productId).with(httpBasic("admin", "secret"))
+                        .contentType("application/json").content("{\"shards\": 4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(productId))
+                .andExpect(jsonPath("$.shards").value(4))
+                .andExpect(jsonPath("$.available").value(UNITS));
+        mockMvc.perform(get("/actuator/flashsale").with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(productId));
+        mockMvc.perform(delete("/actuator/flashsale/{productId}", productId).with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        assertEquals(UNITS, stockReservationEngine.available(productId).getAsInt());
+    }
+
+    @Test
+    void testStartingAndEndingDuringReservationsKeepsEveryUnit() throws Exception {
+        // Arrange: every buyer keeps its first units, then reserves and cancels until the admin is done
+        int buyers = 4;
+        int kept = 50;
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        for (int b = 0; b < buyers; b++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; !done.get(); i++) {
+                    try {
+                        stockReservationEngine.reserve(Map.of(productId, 1));
+                    } catch (InsufficientStockException e) {
+                        refused.incrementAndGet();
+                        continue;
+                    }
+                    if (i < kept) {
+                        sold.incrementAndGet();
+                    } else {
+                        stockReservationEngine.release(Map.of(productId, 1));
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act: switch the product in and out of flash-sale mode while the buyers run
+        start.countDown();
+        for (int round = 0; round < 10; round++) {
+            mockMvc.perform(post("/actuator/flashsale/{productId}", productId).with(httpBasic("admin", "secret"))
+                            .contentType("application/json").content("{}"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/actuator/flashsale/{productId}", productId).with(httpBasic("admin", "secret")))
+                    .andExpect(status().isOk());
+        }
+        done.set(true);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert: stock never ran short, and every unit is either kept or available again
+        assertEquals(0, refused.get());
+        assertEquals(buyers * kept, sold.get());
+        assertEquals(UNITS - sold.get(), stockReservationEngine.available(productId).getAsInt());
+        assertTrue(stockReservationEngine.flashSales().isEmpty());
+    }
+}
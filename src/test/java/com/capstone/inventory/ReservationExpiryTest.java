@@ -0,0 +1,154 @@
+package com.capstone.inventory;
+
+import com.capstone.domain.Order;
+import com.capstone.domain.OrderItem;
+import com.capstone.domain.Product;
+import com.capstone.repository.OrderRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reservation Expiry Test
+ *
+ * Tests that expired pending orders are cancelled and their stock released,
+ * that orders leaving the pending state stop their clock and that the
+ * schedule is rebuilt from the pending orders.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class ReservationExpiryTest {
+
+    private static final long TTL_MINUTES = 30;
+
+    private OrderRepository orderRepository;
+    private StockReservationEngine stockReservationEngine;
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationExpiry expiry;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        stockReservationEngine = mock(StockReservationEngine.class);
+        meterRegistry = new SimpleMeterRegistry();
+        expiry = new ReservationExpiry(orderRepository, stockReservationEngine,
+                mock(PlatformTransactionManager.class), meterRegistry, TTL_MINUTES, 1_000);
+    }
+
+    @Test
+    void testExpiredOrdersAreCancelledAndTheirStockReleased() {
+        // Arrange: both orders ran out a minute ago, one of them was confirmed in the meantime
+        LocalDateTime placedAt = LocalDateTime.now().minusMinutes(TTL_MINUTES + 1);
+        Order pending = order(1L, Map.of(10L, 2, 11L, 1));
+        expiry.schedule(1L, placedAt);
+        expiry.schedule(2L, placedAt);
+        when(orderRepository.findWithItemsByIdInAndStatus(anyCollection(), eq(Order.OrderStatus.PENDING)))
+                .thenReturn(List.of(pending));
+
+        // Act
+        int cancelled = expiry.expire(System.currentTimeMillis() + 1_000);
+
+        // Assert
+        assertEquals(1, cancelled);
+        assertEquals(Order.OrderStatus.CANCELLED, pending.getOrderStatus());
+        verify(stockReservationEngine).release(Map.of(10L, 2, 11L, 1));
+        assertEquals(0, expiry.scheduled());
+        Timer lag = meterRegistry.get("inventory.reservations.expiry.lag").timer();
+        assertEquals(2, lag.count());
+        assertTrue(lag.max(TimeUnit.SECONDS) >= 60);
+        assertEquals(1.0, meterRegistry.get("inventory.reservations.expired").counter().count());
+    }
+
+    @Test
+    void testOrdersWithinTheirTtlAndCancelledOrdersAreLeftAlone() {
+        // Arrange
+        expiry.schedule(1L, LocalDateTime.now());
+        expiry.schedule(2L, LocalDateTime.now().minusHours(1));
+        expiry.cancel(2L);
+
+        // Act
+        int cancelled = expiry.expire(System.currentTimeMillis() + 60_000);
+
+        // Assert
+        assertEquals(0, cancelled);
+        assertEquals(1, expiry.scheduled());
+        verifyNoInteractions(stockReservationEngine);
+        verify(orderRepository, never()).findWithItemsByIdInAndStatus(anyCollection(), any());
+    }
+
+    @Test
+    void testFailedExpiryIsRetried() {
+        // Arrange
+        Order pending = order(1L, Map.of(10L, 1));
+        expiry.schedule(1L, LocalDateTime.now().minusHours(1));
+        when(orderRepository.findWithItemsByIdInAndStatus(anyCollection(), eq(Order.OrderStatus.PENDING)))
+                .thenThrow(new RuntimeException("Database down"))
+                .thenReturn(List.of(pending));
+
+        // Act
+        int first = expiry.expire(System.currentTimeMillis() + 1_000);
+        int second = expiry.expire(System.currentTimeMillis() + 2_000);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(1, second);
+        verify(stockReservationEngine).release(Map.of(10L, 1));
+    }
+
+    @Test
+    void testRebuildSchedulesPendingOrdersInBatches() {
+        // Arrange: more overdue orders than fit in one batch, and one still within its TTL
+        int overdue = ReservationExpiry.BATCH_SIZE + 20;
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= overdue; id++) {
+            rows.add(new Object[] {id, LocalDateTime.now().minusDays(1)});
+        }
+        rows.add(new Object[] {999L, LocalDateTime.now()});
+        when(orderRepository.findIdAndCreatedAtByStatus(Order.OrderStatus.PENDING)).thenReturn(rows);
+        when(orderRepository.findWithItemsByIdInAndStatus(anyCollection(), eq(Order.OrderStatus.PENDING)))
+                .thenAnswer(invocation -> {
+                    List<Order> orders = new ArrayList<>();
+                    for (Object id : invocation.<Collection<?>>getArgument(0)) {
+                        orders.add(order((Long) id, Map.of(10L, 1)));
+                    }
+                    return orders;
+                });
+
+        // Act
+        expiry.rebuild();
+        int cancelled = expiry.expire(System.currentTimeMillis() + 1_000);
+
+        // Assert
+        assertEquals(overdue, cancelled);
+        assertEquals(1, expiry.scheduled());
+        verify(orderRepository, times(2)).findWithItemsByIdInAndStatus(anyCollection(), any());
+        verify(stockReservationEngine).release(Map.of(10L, ReservationExpiry.BATCH_SIZE));
+        verify(stockReservationEngine).release(Map.of(10L, 20));
+    }
+
+    private static Order order(Long id, Map<Long, Integer> quantities) {
+        Order order = new Order();
+        order.setId(id);
+        quantities.forEach((productId, quantity) -> {
+            Product product = new Product();
+            product.setId(productId);
+            order.addOrderItem(new OrderItem(quantity, BigDecimal.ONE, product));
+        });
+        return order;
+    }
+}
@@ -0,0 +1,72 @@
+package com.capstone.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sharded Stock Test
+ *
+ * Tests taking across shards, rebalancing and that a buyer is never turned
+ * away while units are left, even when others give units back meanwhile.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class ShardedStockTest {
+
+    @Test
+    void testTakeRebalancesBeforeSellingOut() {
+        // Arrange: 10 units over 8 shards, no shard holds more than 2
+        ShardedStock stock = new ShardedStock(8, 10);
+
+        // Act & Assert
+        assertEquals(ShardedStock.Take.TAKEN, stock.take(6));
+        assertEquals(ShardedStock.Take.SOLD_OUT, stock.take(5));
+        assertEquals(ShardedStock.Take.TAKEN, stock.take(4));
+        assertEquals(0, stock.units());
+        assertEquals(ShardedStock.Take.SOLD_OUT, stock.take(1));
+        assertEquals(0, stock.close());
+        assertEquals(ShardedStock.Take.CLOSED, stock.take(1));
+    }
+
+    @Test
+    void testNoFalseSoldOutWhileUnitsAreGivenBack() throws InterruptedException {
+        // Arrange: each buyer holds at most 20 units, so 20 are always left in the shards
+        int threads = 8;
+        int quantity = 20;
+        int units = (threads + 1) * quantity;
+        ShardedStock stock = new ShardedStock(16, units);
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act: every buyer takes a unit and gives it back, over and over
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100_000; i++) {
+                    if (stock.take(quantity) == ShardedStock.Take.TAKEN) {
+                        stock.put(quantity);
+                    } else {
+                        soldOut.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(0, soldOut.get());
+        assertEquals(units, stock.units());
+    }
+}
@@ -0,0 +1,323 @@
+package com.capstone.inventory;
+
+import com.capstone.domain.Inventory;
+import com.capstone.domain.Order;
+import com.capstone.domain.Product;
+import com.capstone.repository.InventoryRepository;
+import com.capstone.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Stock Reservation Engine Test
+ *
+ * Tests all-or-nothing reservations, concurrent buyers of one product,
+ * write-behind to the inventory rows, reconciliation on startup, loading
+ * products seen later, the create hook, restocking and flash-sale mode.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class StockReservationEngineTest {
+
+    private InventoryRepository inventoryRepository;
+    private OrderItemRepository orderItemRepository;
+    private StockReservationEngine engine;
+    private Inventory phone;
+    private Inventory laptop;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        engine = new StockReservationEngine(inventoryRepository, orderItemRepository,
+                mock(PlatformTransactionManager.class));
+        phone = inventory(1L, 10, 0);
+        laptop = inventory(2L, 1, 0);
+        when(inventoryRepository.findAll()).thenReturn(List.of(phone, laptop));
+        when(inventoryRepository.findByProductIdIn(anyCollection())).thenReturn(List.of(phone, laptop));
+        engine.reconcile();
+    }
+
+    @Test
+    void testReserveTakesAllLinesOrNone() {
+        // Act
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> engine.reserve(Map.of(1L, 3, 2L, 2)));
+        engine.reserve(Map.of(1L, 3, 2L, 1));
+
+        // Assert
+        assertEquals(List.of(2L), e.getProductIds());
+        assertEquals(7, engine.available(1L).getAsInt());
+        assertEquals(0, engine.available(2L).getAsInt());
+    }
+
+    @Test
+    void testUntrackedProductsNeverRunOut() {
+        // Act
+        engine.reserve(Map.of(99L, 1_000));
+
+        // Assert
+        assertTrue(engine.available(99L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> engine.reserve(Map.of(1L, 0)));
+    }
+
+    @Test
+    void testProductsSeenLaterAreLoadedOnFirstUse() {
+        // Arrange: the row of product 3 was created after startup, product 99 has none
+        when(inventoryRepository.findByProductId(3L)).thenReturn(Optional.of(inventory(3L, 5, 1)));
+
+        // Act
+        engine.reserve(Map.of(3L, 2, 99L, 1));
+        engine.reserve(Map.of(3L, 1, 99L, 1));
+
+        // Assert
+        assertEquals(1, engine.available(3L).getAsInt());
+        assertTrue(engine.available(99L).isEmpty());
+        verify(inventoryRepository, times(1)).findByProductId(3L);
+        verify(inventoryRepository, times(1)).findByProductId(99L);
+    }
+
+    @Test
+    void testCreatedInventoryIsTracked() {
+        // Arrange: the product was looked up before it had a row
+        engine.reserve(Map.of(99L, 1));
+        when(inventoryRepository.findByProductId(99L)).thenReturn(Optional.of(inventory(99L, 3, 0)));
+
+        // Act: outside a transaction the hook applies at once
+        engine.inventoryCreated(99L);
+
+        // Assert
+        assertEquals(3, engine.available(99L).getAsInt());
+    }
+
+    @Test
+    void testLoadsBeforeTheWebServerStarts() {
+        // Act
+        engine.start();
+
+        // Assert: the web server starts 1024 phases ahead of its graceful shutdown
+        assertTrue(engine.isRunning());
+        assertTrue(engine.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        verify(inventoryRepository, times(2)).findAll();
+        engine.stop();
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    void testConcurrentBuyersNeverOversell() throws InterruptedException {
+        // Arrange
+        phone = inventory(1L, 1_000, 0);
+        when(inventoryRepository.findAll()).thenReturn(List.of(phone, laptop));
+        engine.reconcile();
+        int threads = 16;
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act: every buyer tries 100 times; half of them start with the single laptop in the cart too
+        for (int t = 0; t < threads; t++) {
+            boolean withLaptop = t % 2 == 1;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        engine.reserve(withLaptop && i == 0 ? Map.of(2L, 1, 1L, 1) : Map.of(1L, 1));
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        // Sold out, or the single laptop is gone
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1_000, sold.get());
+        assertEquals(0, engine.available(1L).getAsInt());
+        assertEquals(0, engine.available(2L).getAsInt());
+    }
+
+    @Test
+    void testFlushWritesCollectedChangesToTheInventoryRows() {
+        // Arrange
+        engine.reserve(Map.of(1L, 3));
+        engine.reserve(Map.of(1L, 2, 2L, 1));
+        engine.consume(Map.of(1L, 3));
+        engine.release(Map.of(2L, 1));
+
+        // Act
+        int products = engine.flush();
+
+        // Assert: the laptop was reserved and released again, so its row is left alone
+        assertEquals(1, products);
+        assertEquals(7, phone.getCurrentStock());
+        assertEquals(2, phone.getReservedStock());
+        assertEquals(5, phone.getAvailableStock());
+        assertEquals(1, laptop.getAvailableStock());
+        assertEquals(5, engine.available(1L).getAsInt());
+        assertEquals(0, engine.flush());
+    }
+
+    @Test
+    void testRestockPutsConsumedUnitsBack() {
+        // Arrange: an order took 3 phones out of stock, and that was written
+        engine.reserve(Map.of(1L, 3));
+        engine.consume(Map.of(1L, 3));
+        engine.flush();
+
+        // Act: the order is cancelled
+        engine.restock(Map.of(1L, 3));
+        int products = engine.flush();
+
+        // Assert
+        assertEquals(1, products);
+        assertEquals(10, phone.getCurrentStock());
+        assertEquals(0, phone.getReservedStock());
+        assertEquals(10, engine.available(1L).getAsInt());
+    }
+
+    @Test
+    void testFailedFlushKeepsTheChanges() {
+        // Arrange
+        engine.reserve(Map.of(1L, 4));
+        when(inventoryRepository.findByProductIdIn(anyCollection()))
+                .thenThrow(new RuntimeException("Database down"))
+                .thenReturn(List.of(phone));
+
+        // Act
+        int first = engine.flush();
+        int second = engine.flush();
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(4, phone.getReservedStock());
+    }
+
+    @Test
+    void testReconcileTakesReservedUnitsFromPendingOrders() {
+        // Arrange: the last write of 2 reserved phones was lost, the laptop row is right
+        phone = inventory(1L, 10, 0);
+        laptop = inventory(2L, 1, 1);
+        when(inventoryRepository.findAll()).thenReturn(List.of(phone, laptop));
+        List<Object[]> pending = new ArrayList<>();
+        pending.add(new Object[] {1L, 2L});
+        pending.add(new Object[] {2L, 1L});
+        when(orderItemRepository.sumQuantityByProductForStatus(Order.OrderStatus.PENDING)).thenReturn(pending);
+
+        // Act
+        engine.reconcile();
+
+        // Assert
+        assertEquals(2, phone.getReservedStock());
+        assertEquals(8, engine.available(1L).getAsInt());
+        assertEquals(0, engine.available(2L).getAsInt());
+    }
+
+    @Test
+    void testFlashSaleBuyersNeverOversell() throws InterruptedException {
+        // Arrange
+        phone = inventory(1L, 1_000, 0);
+        when(inventoryRepository.findAll()).thenReturn(List.of(phone, laptop));
+        when(inventoryRepository.findByProductIdIn(anyCollection())).thenReturn(List.of(phone, laptop));
+        engine.reconcile();
+        engine.startFlashSale(1L, 16);
+        int threads = 16;
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act: every buyer tries 100 times, one or two units at a time
+        for (int t = 0; t < threads; t++) {
+            int quantity = t % 2 + 1;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        engine.reserve(Map.of(1L, quantity));
+                        sold.addAndGet(quantity);
+                    } catch (InsufficientStockException e) {
+                        // Sold out
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        int products = engine.flush();
+
+        // Assert: every unit sold once, and the row only sees the real reservations
+        assertEquals(1_000, sold.get());
+        assertEquals(0, engine.available(1L).getAsInt());
+        assertEquals(1, products);
+        assertEquals(1_000, phone.getReservedStock());
+        assertTrue(engine.endFlashSale(1L));
+        assertEquals(0, engine.available(1L).getAsInt());
+    }
+
+    @Test
+    void testFlashSaleRebalancesAndCollapsesBack() {
+        // Arrange: 10 phones over 8 shards, no shard holds more than 2
+        engine.startFlashSale(1L, 8);
+
+        // Act
+        engine.reserve(Map.of(1L, 6));
+        assertThrows(InsufficientStockException.class, () -> engine.reserve(Map.of(1L, 5)));
+        assertThrows(InsufficientStockException.class, () -> engine.reserve(Map.of(1L, 2, 2L, 2)));
+        engine.release(Map.of(1L, 2));
+
+        // Assert: the failed cart gave its phones back, the released ones went back to the sale
+        StockReservationEngine.FlashSale sale = engine.flashSales().get(0);
+        assertEquals(6, sale.available());
+        assertTrue(sale.rebalances() >= 1);
+        assertTrue(engine.endFlashSale(1L));
+        assertFalse(engine.endFlashSale(1L));
+        assertTrue(engine.flashSales().isEmpty());
+        assertEquals(6, engine.available(1L).getAsInt());
+        engine.reserve(Map.of(1L, 6));
+        assertEquals(0, engine.available(1L).getAsInt());
+        assertEquals(1, engine.flush());
+        assertEquals(10, phone.getReservedStock());
+    }
+
+    @Test
+    void testFlashSaleNeedsATrackedProductWithoutASale() {
+        // Act
+        engine.startFlashSale(1L, 4);
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> engine.startFlashSale(1L, 4));
+        assertThrows(IllegalArgumentException.class, () -> engine.startFlashSale(99L, 4));
+        assertThrows(IllegalArgumentException.class, () -> engine.startFlashSale(2L, 0));
+    }
+
+    private static Inventory inventory(Long productId, int stock, int reserved) {
+        Product product = new Product();
+        product.setId(productId);
+        Inventory inventory = new Inventory(product, stock);
+        inventory.setReservedStock(reserved);
+        return inventory;
+    }
+}
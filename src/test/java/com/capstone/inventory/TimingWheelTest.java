@@ -0,0 +1,88 @@
+package com.capstone.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timing Wheel Test
+ *
+ * Tests expiry on the right tick across all levels, cancelling, replacing
+ * deadlines and the overflow list.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testKeysExpireOnTheirTick() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        wheel.schedule(1L, START + 2_500);
+        wheel.schedule(2L, START + 1_000);
+
+        // Act
+        List<TimingWheel.Expired> first = wheel.advance(START + 2_000);
+        List<TimingWheel.Expired> second = wheel.advance(START + 3_000);
+
+        // Assert
+        assertEquals(List.of(new TimingWheel.Expired(2L, START + 1_000)), first);
+        assertEquals(List.of(new TimingWheel.Expired(1L, START + 2_500)), second);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testLongDeadlinesCascadeDownAndExpireOnTime() {
+        // Arrange: one deadline per level, plus one past the top level
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        long[] delays = {30L, 64L * 10, 64L * 64 * 10, 64L * 64 * 64 * 10, 64L * 64 * 64 * 64 * 2};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, START + delays[i] * TICK);
+        }
+
+        // Act & Assert: nothing expires one tick early, each key expires on its own tick
+        for (int i = 0; i < delays.length; i++) {
+            long deadline = START + delays[i] * TICK;
+            assertTrue(wheel.advance(deadline - TICK).isEmpty(), "key " + i + " expired early");
+            assertEquals(List.of(new TimingWheel.Expired(i, deadline)), wheel.advance(deadline));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelledAndReplacedKeysDoNotExpire() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        wheel.schedule(1L, START + 5_000);
+        wheel.schedule(2L, START + 5_000);
+        wheel.schedule(3L, START + 5_000);
+
+        // Act
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        wheel.schedule(2L, START + 900_000);
+        List<TimingWheel.Expired> expired = wheel.advance(START + 10_000);
+
+        // Assert
+        assertEquals(List.of(new TimingWheel.Expired(3L, START + 5_000)), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testPastDeadlinesExpireOnTheNextTick() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        wheel.schedule(1L, START - 60_000);
+
+        // Act & Assert
+        assertTrue(wheel.advance(START + 999).isEmpty());
+        assertEquals(List.of(new TimingWheel.Expired(1L, START - 60_000)), wheel.advance(START + 1_000));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(0, START));
+    }
+}
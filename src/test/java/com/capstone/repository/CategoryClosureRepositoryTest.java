@@ -0,0 +1,127 @@
+package com.capstone.repository;
+
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.domain.Category;
+import com.capstone.domain.CategoryClosure;
+import com.capstone.service.impl.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Category Closure Repository Test
+ *
+ * Tests that the closure table follows inserts and moves in the category
+ * tree, and that a soft-deleted category is whole again once reactivated.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class CategoryClosureRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoryClosureRepository closureRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long electronics;
+    private Long computers;
+    private Long laptops;
+    private Long books;
+
+    @BeforeEach
+    void setUp() {
+        electronics = add("Electronics", null);
+        computers = add("Computers", electronics);
+        laptops = add("Laptops", computers);
+        books = add("Books", null);
+    }
+
+    @Test
+    void testDescendantsIncludeWholeSubtree() {
+        assertEquals(Set.of(electronics, computers, laptops), descendants(electronics));
+        assertEquals(Set.of(laptops), descendants(laptops));
+        assertEquals(Set.of(electronics, computers, laptops, books), Set.copyOf(
+            closureRepository.findDescendantIds(List.of(electronics, books))));
+    }
+
+    @Test
+    void testDepthOfPaths() {
+        List<CategoryClosure> paths = closureRepository.findAll().stream()
+            .filter(path -> path.getDepth() > 0)
+            .toList();
+
+        assertEquals(3, paths.size());
+        assertEquals(2, paths.stream()
+            .filter(path -> path.getAncestorId().equals(electronics) && path.getDescendantId().equals(laptops))
+            .findFirst().orElseThrow().getDepth());
+    }
+
+    @Test
+    void testMoveSubtree() {
+        // Act - move Computers (with Laptops) from Electronics to Books
+        closureRepository.unlinkSubtree(closureRepository.findDescendantIds(List.of(computers)));
+        closureRepository.linkSubtree(computers, books);
+
+        // Assert
+        assertEquals(Set.of(electronics), descendants(electronics));
+        assertEquals(Set.of(books, computers, laptops), descendants(books));
+        assertEquals(Set.of(computers, laptops), descendants(computers));
+    }
+
+    @Test
+    void testReactivatedCategoryIsBackInItsSubtree() {
+        // Arrange
+        CategoryTreeIndex treeIndex = mock(CategoryTreeIndex.class);
+        when(treeIndex.current()).thenAnswer(invocation -> CategoryTree.of(categoryRepository.findAll(), Map.of()));
+        CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryRepository, closureRepository, treeIndex);
+        categoryService.deleteCategory(laptops);
+
+        // Act - reactivate Laptops, then move it under Books
+        Category reactivated = new Category("Laptops", "", entityManager.find(Category.class, computers));
+        reactivated.setIsActive(true);
+        categoryService.updateCategory(laptops, reactivated);
+        Set<Long> underElectronics = descendants(electronics);
+        Category moved = new Category("Laptops", "", entityManager.find(Category.class, books));
+        moved.setIsActive(true);
+        categoryService.updateCategory(laptops, moved);
+
+        // Assert
+        assertEquals(Set.of(electronics, computers, laptops), underElectronics);
+        assertEquals(Set.of(electronics, computers), descendants(electronics));
+        assertEquals(Set.of(books, laptops), descendants(books));
+        assertEquals(Set.of(laptops), descendants(laptops));
+    }
+
+    private Set<Long> descendants(Long categoryId) {
+        return Set.copyOf(closureRepository.findDescendantIds(List.of(categoryId)));
+    }
+
+    private Long add(String name, Long parentId) {
+        Category parent = parentId != null ? entityManager.find(Category.class, parentId) : null;
+        Long id = entityManager.persistAndFlush(new Category(name, "", parent)).getId();
+        closureRepository.insertSelf(id);
+        if (parentId != null) {
+            closureRepository.linkSubtree(id, parentId);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,152 @@
+package com.capstone.repository;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Order;
+import com.capstone.domain.OrderItem;
+import com.capstone.domain.Product;
+import com.capstone.domain.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Order Repository Test - Tests the Data Access Layer
+ *
+ * Tests the locking lookups that keep a status change and the expiry of a
+ * reservation from both acting on the same pending order.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testExpiryLookupLocksPendingOrdersWithTheirLines() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long[] ids = transaction.execute(status -> createOrders());
+
+        try {
+            // Act
+            List<Order> orders = transaction.execute(status -> {
+                List<Order> found = orderRepository.findWithItemsByIdInAndStatus(List.of(ids),
+                        Order.OrderStatus.PENDING);
+                found.forEach(order -> order.getOrderItems().size());
+                return found;
+            });
+
+            // Assert: the confirmed order is left out
+            assertEquals(1, orders.size());
+            assertEquals(ids[0], orders.get(0).getId());
+            assertEquals(1, orders.get(0).getOrderItems().size());
+        } finally {
+            transaction.executeWithoutResult(status -> deleteAll());
+        }
+    }
+
+    @Test
+    void testStatusChangeWaitsForTheExpiryAndSeesItsResult() throws Exception {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long orderId = transaction.execute(status -> createOrders())[0];
+        CountDownLatch locked = new CountDownLatch(1);
+
+        try {
+            // Act: the expiry locks and cancels the order while a confirmation asks for it
+            CompletableFuture<Void> expiry = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                orderRepository.findWithItemsByIdInAndStatus(List.of(orderId), Order.OrderStatus.PENDING)
+                        .forEach(order -> order.setOrderStatus(Order.OrderStatus.CANCELLED));
+                entityManager.flush();
+                locked.countDown();
+                sleep(300);
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            Order.OrderStatus seen = transaction.execute(status ->
+                    orderRepository.findForUpdateById(orderId).orElseThrow().getOrderStatus());
+            expiry.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(Order.OrderStatus.CANCELLED, seen);
+        } finally {
+            transaction.executeWithoutResult(status -> deleteAll());
+        }
+    }
+
+    // Helper methods
+    private Long[] createOrders() {
+        User customer = new User();
+        customer.setEmail("customer@example.com");
+        customer.setPasswordHash("hashedpassword");
+        customer.setFirstName("Test");
+        customer.setLastName("Customer");
+        entityManager.persist(customer);
+
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setIsActive(true);
+        entityManager.persist(category);
+
+        Product product = new Product();
+        product.setTitle("Phone");
+        product.setPrice(new BigDecimal("199.99"));
+        product.setCategory(category);
+        product.setSeller(customer);
+        entityManager.persist(product);
+
+        Order pending = order("ORD-1", customer, product, Order.OrderStatus.PENDING);
+        Order confirmed = order("ORD-2", customer, product, Order.OrderStatus.CONFIRMED);
+        return new Long[] {pending.getId(), confirmed.getId()};
+    }
+
+    private Order order(String orderNumber, User customer, Product product, Order.OrderStatus status) {
+        Order order = new Order(orderNumber, customer);
+        order.setOrderStatus(status);
+        order.setCreatedAt(LocalDateTime.now());
+        OrderItem item = new OrderItem(1, product.getPrice(), product);
+        item.setCreatedAt(LocalDateTime.now());
+        order.addOrderItem(item);
+        entityManager.persist(order);
+        return order;
+    }
+
+    private void deleteAll() {
+        for (String entity : List.of("OrderItem", "Order", "Product", "Category", "User")) {
+            entityManager.createQuery("DELETE FROM " + entity).executeUpdate();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
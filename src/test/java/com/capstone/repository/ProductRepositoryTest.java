@@ -1,8 +1,14 @@
 package com.capstone.repository;
 
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductDetailView;
 import com.capstone.domain.Product;
 import com.capstone.domain.Category;
+import com.capstone.domain.Inventory;
+import com.capstone.domain.ProductImage;
 import com.capstone.domain.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +17,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +50,9 @@ class ProductRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
     private Category testCategory;
     private Product testProduct1;
     private Product testProduct2;
@@ -62,6 +74,7 @@ class ProductRepositoryTest {
         testCategory.setDescription("Electronic devices and gadgets");
         testCategory.setIsActive(true);
         testCategory = entityManager.persistAndFlush(testCategory);
+        categoryClosureRepository.insertSelf(testCategory.getId());
 
         // Create test products
         testProduct1 = new Product();
@@ -195,9 +208,9 @@ class ProductRepositoryTest {
 
         // Assert
         assertNotNull(products);
-        // Note: findFeaturedProducts returns active products ordered by creation date, not by isFeatured flag
-        assertTrue(products.size() > 0);
-        assertTrue(products.stream().allMatch(p -> p.getIsActive()));
+        assertEquals(1, products.size());
+        assertEquals("Laptop", products.get(0).getTitle());
+        assertTrue(products.stream().allMatch(p -> p.getIsActive() && p.getIsFeatured()));
     }
 
     @Test
@@ -248,4 +261,130 @@ class ProductRepositoryTest {
         assertNotNull(products);
         assertEquals(0, products.size());
     }
+
+    @Test
+    void testFindByCategorySubtree() {
+        // Arrange
+        Product tablet = productInSubcategory("Tablets", "Tablet", "449.00");
+
+        // Act
+        List<Product> inParent = productRepository.findByCategorySubtree(testCategory.getId());
+        List<Product> inChild = productRepository.findByCategorySubtree(tablet.getCategory().getId());
+
+        // Assert
+        assertEquals(3, inParent.size());
+        assertEquals(List.of(tablet.getId()), inChild.stream().map(Product::getId).toList());
+        assertEquals(2, productRepository.findByCategoryId(testCategory.getId()).size());
+    }
+
+    @Test
+    void testFindCardsByIdIn() {
+        // Act
+        List<ProductCard> cards = productRepository.findCardsByIdIn(List.of(testProduct1.getId(), 999L));
+
+        // Assert
+        assertEquals(1, cards.size());
+        ProductCard card = cards.get(0);
+        assertEquals(testProduct1.getId(), card.id());
+        assertEquals("Laptop", card.title());
+        assertEquals(0, new BigDecimal("999.99").compareTo(card.price()));
+        assertFalse(card.inStock());
+    }
+
+    @Test
+    void testAddViewCounts() {
+        // Act
+        productRepository.addViewCounts(Map.of(testProduct1.getId(), 5L, testProduct2.getId(), 1L, 999L, 3L));
+        productRepository.addViewCounts(Map.of(testProduct1.getId(), 2L));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(7, productRepository.findById(testProduct1.getId()).orElseThrow().getViewCount());
+        assertEquals(1, productRepository.findById(testProduct2.getId()).orElseThrow().getViewCount());
+    }
+
+    @Test
+    void testFindDetailViewInTwoStatements() {
+        // Arrange
+        Product product = entityManager.find(Product.class, testProduct1.getId());
+        product.addRating(5);
+        product.addRating(4);
+        ProductImage image = new ProductImage("https://example.com/laptop.jpg", "Laptop front", product);
+        image.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(image);
+        Inventory inventory = new Inventory(product, 3);
+        inventory.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(inventory);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ProductDetailView view = productRepository.findDetailView(testProduct1.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("Laptop", view.title());
+        assertEquals("Test Seller", view.sellerName());
+        assertEquals(testCategory.getId(), view.categoryId());
+        assertEquals(List.of(new ProductDetailView.Image("https://example.com/laptop.jpg", "Laptop front")), view.images());
+        assertTrue(view.lowStock());
+        assertEquals(2, view.reviewCount());
+        assertEquals(new BigDecimal("4.50"), view.averageRating());
+    }
+
+    @Test
+    void testFindDetailViewOfMissingProduct() {
+        assertTrue(productRepository.findDetailView(999L).isEmpty());
+    }
+
+    @Test
+    void testBulkInsertTakesPooledIdsAndBatches() {
+        // Arrange
+        Category category = entityManager.find(Category.class, testCategory.getId());
+        User seller = entityManager.find(User.class, testSeller.getId());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = new Product();
+            product.setTitle("Bulk " + i);
+            product.setPrice(new BigDecimal("1.00"));
+            product.setCategory(category);
+            product.setSeller(seller);
+            products.add(product);
+        }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        productRepository.saveAll(products);
+        entityManager.flush();
+
+        // Assert: at most two sequence calls for new ID blocks and one insert batch per 50 rows
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Statements: " + statistics.getPrepareStatementCount());
+        for (int i = 1; i < products.size(); i++) {
+            assertEquals(products.get(i - 1).getId() + 1, products.get(i).getId());
+        }
+    }
+
+    private Product productInSubcategory(String categoryName, String title, String price) {
+        Category child = new Category(categoryName, "", entityManager.find(Category.class, testCategory.getId()));
+        child = entityManager.persistAndFlush(child);
+        categoryClosureRepository.insertSelf(child.getId());
+        categoryClosureRepository.linkSubtree(child.getId(), testCategory.getId());
+
+        Product product = new Product();
+        product.setTitle(title);
+        product.setPrice(new BigDecimal(price));
+        product.setCategory(child);
+        product.setSeller(entityManager.find(User.class, testSeller.getId()));
+        product.setIsActive(true);
+        product = entityManager.persistAndFlush(product);
+        entityManager.clear();
+        return product;
+    }
 }
@@ -0,0 +1,178 @@
+package com.capstone.repository;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import com.capstone.domain.Review;
+import com.capstone.domain.User;
+import com.capstone.review.ReviewView;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Review Repository Test - Tests the Data Access Layer
+ *
+ * Tests the keyset paginated review projections, the rating counts used
+ * to repair the product aggregates and that saving a review leaves the
+ * product's reviews unloaded.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ReviewRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private Product product;
+    private User reviewer;
+    private Review oldest;
+    private Review helpful;
+    private Review newest;
+
+    @BeforeEach
+    void setUp() {
+        reviewer = new User();
+        reviewer.setEmail("reviewer@example.com");
+        reviewer.setPasswordHash("hashedpassword");
+        reviewer.setFirstName("Rita");
+        reviewer.setLastName("Reviewer");
+        reviewer = entityManager.persistAndFlush(reviewer);
+
+        Category category = new Category();
+        category.setName("Books");
+        category.setIsActive(true);
+        category = entityManager.persistAndFlush(category);
+
+        product = new Product();
+        product.setTitle("Effective Java");
+        product.setPrice(new BigDecimal("39.99"));
+        product.setCategory(category);
+        product.setSeller(reviewer);
+        product = entityManager.persistAndFlush(product);
+
+        oldest = createReview(4, 0, true);
+        helpful = createReview(2, 7, true);
+        createReview(1, 9, false);
+        newest = createReview(5, 3, true);
+    }
+
+    @Test
+    void testNewestViewsIncludeReviewerName() {
+        // Act
+        List<ReviewView> views = reviewRepository.findNewestViews(product.getId(), Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(newest.getId(), helpful.getId(), oldest.getId()), ids(views));
+        assertEquals("Rita Reviewer", views.get(0).authorName());
+        assertEquals(3, views.get(0).helpfulCount());
+    }
+
+    @Test
+    void testNewestViewsContinueAfterCursor() {
+        // Act
+        List<ReviewView> views = reviewRepository.findNewestViews(product.getId(), newest.getId(), PageRequest.of(0, 1));
+
+        // Assert
+        assertEquals(List.of(helpful.getId()), ids(views));
+    }
+
+    @Test
+    void testMostHelpfulViewsSkipUnapprovedReviews() {
+        // Act
+        List<ReviewView> first = reviewRepository.findMostHelpfulViews(product.getId(), Integer.MAX_VALUE, Long.MAX_VALUE,
+                PageRequest.of(0, 2));
+        List<ReviewView> next = reviewRepository.findMostHelpfulViews(product.getId(), 3, newest.getId(),
+                PageRequest.of(0, 2));
+
+        // Assert
+        assertEquals(List.of(helpful.getId(), newest.getId()), ids(first));
+        assertEquals(List.of(oldest.getId()), ids(next));
+    }
+
+    @Test
+    void testRatedViewsInBothDirections() {
+        // Act
+        List<ReviewView> highest = reviewRepository.findHighestRatedViews(product.getId(), Integer.MAX_VALUE,
+                Long.MAX_VALUE, PageRequest.of(0, 10));
+        List<ReviewView> lowestAfterFirst = reviewRepository.findLowestRatedViews(product.getId(), 2,
+                helpful.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(newest.getId(), oldest.getId(), helpful.getId()), ids(highest));
+        assertEquals(List.of(oldest.getId(), newest.getId()), ids(lowestAfterFirst));
+    }
+
+    @Test
+    void testCountApprovedByRating() {
+        // Act
+        List<Object[]> counts = reviewRepository.countApprovedByRating(product.getId());
+
+        // Assert
+        assertEquals(3, counts.size());
+        assertTrue(counts.stream().allMatch(row -> (Long) row[1] == 1L));
+    }
+
+    @Test
+    void testSavingReviewDoesNotLoadProductReviews() {
+        // Arrange: a managed product whose reviews were never read, as in ReviewService.addReview
+        entityManager.clear();
+        Product managed = entityManager.find(Product.class, product.getId());
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Review review = new Review();
+        review.setReviewTitle("Review 3");
+        review.setRating(3);
+        review.setIsApproved(true);
+        review.setUser(entityManager.find(User.class, reviewer.getId()));
+        review.setCreatedAt(LocalDateTime.now());
+
+        // Act
+        review.setProduct(managed);
+        managed.addRating(review.getRating());
+        reviewRepository.save(review);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertFalse(Hibernate.isInitialized(managed.getReviews()));
+        assertEquals(4, reviewRepository.countApprovedByRating(product.getId()).size());
+    }
+
+    // Helper methods
+    private Review createReview(int rating, int helpfulCount, boolean approved) {
+        Review review = new Review();
+        review.setReviewTitle("Review " + rating);
+        review.setReviewContent("Rated " + rating);
+        review.setRating(rating);
+        review.setHelpfulCount(helpfulCount);
+        review.setIsApproved(approved);
+        review.setUser(reviewer);
+        review.setProduct(product);
+        review.setCreatedAt(LocalDateTime.now());
+        return entityManager.persistAndFlush(review);
+    }
+
+    private static List<Long> ids(List<ReviewView> views) {
+        return views.stream().map(ReviewView::id).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.capstone.search;
+
+import com.capstone.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Product Search Index Test
+ *
+ * Tests tokenization, BM25 ranking and incremental maintenance of the
+ * in-memory inverted index.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1L, "Laptop", "High-performance laptop"),
+                product(2L, "Smartphone", "Latest smartphone model"),
+                product(3L, "Laptop Sleeve", "Protective sleeve for any laptop")));
+    }
+
+    @Test
+    void testSearchIsCaseInsensitive() {
+        List<Long> results = index.search("LAPTOP", 10);
+
+        assertEquals(2, results.size());
+        assertTrue(results.containsAll(List.of(1L, 3L)));
+    }
+
+    @Test
+    void testTitleMatchOutranksDescriptionMatch() {
+        index.update(product(4L, "Carry Case", "Fits a smartphone"));
+
+        List<Long> results = index.search("smartphone", 10);
+
+        assertEquals(List.of(2L, 4L), results);
+    }
+
+    @Test
+    void testMoreMatchingTermsRankHigher() {
+        List<Long> results = index.search("laptop sleeve", 10);
+
+        assertEquals(3L, results.get(0));
+    }
+
+    @Test
+    void testUpdateReplacesPreviousTerms() {
+        index.update(product(2L, "Tablet", "Portable tablet device"));
+
+        assertTrue(index.search("smartphone", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("tablet", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertEquals(List.of(3L), index.search("laptop", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testNoMatchAndBlankQuery() {
+        assertTrue(index.search("nonexistent", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.search("laptop", 1).size());
+    }
+
+    private Product product(Long id, String title, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setIsActive(true);
+        return product;
+    }
+}
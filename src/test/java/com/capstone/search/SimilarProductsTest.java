@@ -0,0 +1,138 @@
+package com.capstone.search;
+
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import com.capstone.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Similar Products Test
+ *
+ * Tests TF-IDF neighbours from text and category path, the bounded lists and
+ * incremental maintenance when products are edited or removed.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SimilarProductsTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private Category laptops;
+    private Category phones;
+    private Category kitchen;
+    private CategoryTreeIndex categoryTreeIndex;
+    private SimilarProducts similar;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        Category electronics = category(1L, "Electronics", null);
+        laptops = category(2L, "Laptops", electronics);
+        phones = category(3L, "Phones", electronics);
+        kitchen = category(4L, "Kitchen", null);
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics, laptops, phones, kitchen));
+
+        products = new ArrayList<>(List.of(
+                product(1L, "Ultrabook Laptop", "Thin laptop with long battery life", laptops),
+                product(2L, "Gaming Laptop", "Laptop with a fast graphics card", laptops),
+                product(3L, "Smartphone", "Phone with a long battery life", phones),
+                product(4L, "Chef Knife", "Steel kitchen knife", kitchen)));
+        categoryTreeIndex = new CategoryTreeIndex(categoryRepository);
+        similar = new SimilarProducts(categoryTreeIndex);
+        categoryTreeIndex.rebuild(products);
+        similar.rebuild(products);
+    }
+
+    @Test
+    void testRanksSharedTitleAndCategoryFirst() {
+        assertEquals(List.of(2L, 3L), similar.similarTo(1L, 10));
+        assertEquals(List.of(2L), similar.similarTo(1L, 1));
+    }
+
+    @Test
+    void testCategoryPathRelatesProductsWithoutSharedWords() {
+        // Arrange: shares no word with the others, only the Electronics > Phones path
+        Product tablet = product(5L, "Tablet", "Big screen", phones);
+
+        // Act
+        similar.update(tablet);
+
+        // Assert
+        assertEquals(3L, similar.similarTo(5L, 10).get(0));
+        assertFalse(similar.similarTo(5L, 10).contains(4L));
+    }
+
+    @Test
+    void testUnrelatedProductHasNoNeighbours() {
+        assertEquals(List.of(), similar.similarTo(4L, 10));
+        assertEquals(List.of(), similar.similarTo(99L, 10));
+    }
+
+    @Test
+    void testEditedProductMovesBetweenLists() {
+        // Act: the knife becomes a laptop stand
+        similar.update(product(4L, "Laptop Stand", "Aluminium stand for any laptop", laptops));
+
+        // Assert
+        assertTrue(similar.similarTo(4L, 10).containsAll(List.of(1L, 2L)));
+        assertTrue(similar.similarTo(1L, 10).contains(4L));
+        assertTrue(similar.similarTo(2L, 10).contains(4L));
+    }
+
+    @Test
+    void testRemovedProductLeavesEveryList() {
+        // Act
+        similar.remove(2L);
+
+        // Assert
+        assertEquals(List.of(), similar.similarTo(2L, 10));
+        assertEquals(List.of(3L), similar.similarTo(1L, 10));
+    }
+
+    @Test
+    void testNeighbourListIsBounded() {
+        // Arrange
+        for (long id = 10; id < 10 + SimilarProducts.TOP_K + 5; id++) {
+            products.add(product(id, "Laptop Bag " + id, "Padded laptop bag", laptops));
+        }
+
+        // Act
+        similar.rebuild(products);
+
+        // Assert
+        assertEquals(SimilarProducts.TOP_K, similar.similarTo(10L, 100).size());
+    }
+
+    // Helper methods
+    private static Category category(Long id, String name, Category parent) {
+        Category category = new Category(name, "", parent);
+        category.setId(id);
+        return category;
+    }
+
+    private static Product product(Long id, String title, String description, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCategory(category);
+        product.setIsActive(true);
+        return product;
+    }
+}
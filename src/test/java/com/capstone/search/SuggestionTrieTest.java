@@ -0,0 +1,158 @@
+package com.capstone.search;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import com.capstone.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Suggestion Trie Test
+ *
+ * Tests prefix completion, popularity ranking and incremental maintenance
+ * of the precomputed top suggestions.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+    private Category smartphones;
+    private Category laptops;
+
+    @BeforeEach
+    void setUp() {
+        smartphones = category(1L, "Smartphones");
+        laptops = category(2L, "Laptops");
+        OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+        List<Object[]> sales = new ArrayList<>();
+        sales.add(new Object[] {3L, 5L});
+        when(orderItemRepository.sumQuantityByProduct()).thenReturn(sales);
+
+        trie = new SuggestionTrie(orderItemRepository);
+        trie.rebuild(List.of(
+                product(1L, "iPhone 15 Pro", smartphones, 100),
+                product(2L, "MacBook Air M2", laptops, 50),
+                product(3L, "MacBook Pro 14", laptops, 10)));
+    }
+
+    @Test
+    void testPrefixOfAnyWordMatches() {
+        assertEquals(List.of("MacBook Air M2"), texts(trie.suggest("air", 10)));
+        assertEquals(List.of("MacBook Pro 14", "iPhone 15 Pro"), texts(trie.suggest("PRO", 10)));
+    }
+
+    @Test
+    void testSalesOutweighViews() {
+        // 10 views + 5 units sold beat 50 views
+        assertEquals(List.of("MacBook Pro 14", "MacBook Air M2"), texts(trie.suggest("mac", 10)));
+    }
+
+    @Test
+    void testCategoriesAreSuggested() {
+        List<Suggestion> suggestions = trie.suggest("lap", 10);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(Suggestion.Type.CATEGORY, suggestions.get(0).type());
+        assertEquals(2L, suggestions.get(0).id());
+    }
+
+    @Test
+    void testPrefixEndingInsideEdgeAndMultiWordPrefix() {
+        assertEquals(List.of("MacBook Air M2"), texts(trie.suggest("macbook a", 10)));
+        assertTrue(trie.suggest("macbook x", 10).isEmpty());
+        assertTrue(trie.suggest("z", 10).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdateReranksAndRemoveDrops() {
+        trie.update(product(2L, "MacBook Air M2", laptops, 1000));
+        assertEquals(List.of("MacBook Air M2", "MacBook Pro 14"), texts(trie.suggest("mac", 10)));
+
+        trie.remove(2L);
+        assertEquals(List.of("MacBook Pro 14"), texts(trie.suggest("mac", 10)));
+        assertTrue(trie.suggest("air", 10).isEmpty());
+    }
+
+    @Test
+    void testCategoryDisappearsWithItsLastProduct() {
+        trie.remove(1L);
+
+        assertTrue(trie.suggest("smart", 10).isEmpty());
+    }
+
+    @Test
+    void testEmptiedNodesArePruned() {
+        int nodes = trie.nodeCount();
+
+        trie.update(product(4L, "Galaxy Tab S9", laptops, 5));
+        trie.update(product(4L, "Galaxy Watch 6", smartphones, 5));
+        trie.remove(4L);
+
+        assertEquals(nodes, trie.nodeCount());
+        assertTrue(trie.suggest("gal", 10).isEmpty());
+        assertEquals(List.of("MacBook Air M2"), texts(trie.suggest("macbook a", 10)));
+    }
+
+    @Test
+    void testCommittedSalesRerankSuggestions() {
+        // 50 views + 4 units sold beat 10 views + 5 units sold
+        trie.recordSales(Map.of(2L, 4, 99L, 1));
+
+        assertEquals(List.of("MacBook Air M2", "MacBook Pro 14"), texts(trie.suggest("mac", 10)));
+        assertEquals(2L, trie.suggest("lap", 10).get(0).id());
+
+        trie.update(product(2L, "MacBook Air M2", laptops, 50));
+        assertEquals(List.of("MacBook Air M2", "MacBook Pro 14"), texts(trie.suggest("mac", 10)));
+    }
+
+    @Test
+    void testWrittenViewsRerankSuggestions() {
+        // 50 + 61 views beat 10 views + 5 units sold
+        trie.viewsAdded(Map.of(2L, 61L, 99L, 5L));
+
+        assertEquals(List.of("MacBook Air M2", "MacBook Pro 14"), texts(trie.suggest("mac", 10)));
+    }
+
+    @Test
+    void testTopSuggestionsAreCapped() {
+        for (long id = 10; id < 30; id++) {
+            trie.update(product(id, "Case " + id, smartphones, (int) id));
+        }
+
+        List<Suggestion> suggestions = trie.suggest("case", 20);
+
+        assertEquals(SuggestionTrie.TOP_K, suggestions.size());
+        assertEquals("Case 29", suggestions.get(0).text());
+        assertEquals(3, trie.suggest("case", 3).size());
+    }
+
+    private List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+
+    private Category category(Long id, String name) {
+        Category category = new Category(name, name);
+        category.setId(id);
+        return category;
+    }
+
+    private Product product(Long id, String title, Category category, int views) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setCategory(category);
+        product.setViewCount(views);
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,139 @@
+package com.capstone.search;
+
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Trigram Index Test
+ *
+ * Tests typo tolerant matching over product titles and category names.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Category smartphones = new Category("Smartphones", "Mobile phones");
+        Category laptops = new Category("Laptops", "Portable computers");
+        index = new TrigramIndex();
+        index.rebuild(List.of(
+                product(1L, "iPhone 15 Pro", smartphones),
+                product(2L, "MacBook Air M2", laptops),
+                product(3L, "Cotton T-Shirt", new Category("T-Shirts", "Casual t-shirts"))));
+    }
+
+    @Test
+    void testTranspositionMatches() {
+        assertEquals(List.of(1L), index.search("iphnoe", 10));
+    }
+
+    @Test
+    void testMissingLetterMatches() {
+        assertEquals(List.of(2L), index.search("macbok", 10));
+    }
+
+    @Test
+    void testCategoryNameMatches() {
+        assertEquals(List.of(1L), index.search("smartfones", 10));
+    }
+
+    @Test
+    void testMoreMatchingWordsRankFirst() {
+        index.update(product(4L, "MacBook Pro", new Category("Laptops", "Portable computers")));
+
+        List<Long> results = index.search("macbok ari", 10);
+
+        assertEquals(2L, results.get(0));
+        assertTrue(results.contains(4L));
+    }
+
+    @Test
+    void testUnrelatedQueryDoesNotMatch() {
+        assertTrue(index.search("refrigerator", 10).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertTrue(index.search("iphone", 10).isEmpty());
+    }
+
+    @Test
+    void testWordsOfRemovedAndRenamedProductsLeaveTheVocabulary() {
+        int vocabulary = index.vocabularySize();
+
+        // "iphone", "15", "pro" and "smartphones" were only used by product 1
+        index.remove(1L);
+        assertEquals(vocabulary - 4, index.vocabularySize());
+
+        index.update(product(1L, "Pixel 8", new Category("Smartphones", "Mobile phones")));
+        index.update(product(1L, "Pixel 9", new Category("Smartphones", "Mobile phones")));
+
+        assertEquals(vocabulary - 1, index.vocabularySize());
+        assertEquals(List.of(1L), index.search("pixle", 10));
+        assertTrue(index.search("iphnoe", 10).isEmpty());
+    }
+
+    @Test
+    void testEachQueryWordKeepsOnlyItsClosestVocabularyWords() {
+        // Arrange: more vocabulary words one edit away than a query word keeps
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= TrigramIndex.MAX_TERM_MATCHES + 4; id++) {
+            products.add(product(id, "speaker" + (char) ('a' + id), null));
+        }
+        index.rebuild(products);
+
+        // Act
+        List<Long> results = index.search("speaker", 100);
+
+        // Assert
+        assertEquals(TrigramIndex.MAX_TERM_MATCHES, results.size());
+    }
+
+    @Test
+    void testEachMatchedWordContributesAtMostTheLowestPostings() {
+        // Arrange: more products share the word than one match may visit
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= TrigramIndex.MAX_TERM_POSTINGS + 20; id++) {
+            products.add(product(id, "Headphones", null));
+        }
+        index.rebuild(products);
+
+        // Act
+        List<Long> results = index.search("headphnoes", TrigramIndex.MAX_TERM_POSTINGS * 2);
+
+        // Assert
+        assertEquals(TrigramIndex.MAX_TERM_POSTINGS, results.size());
+        assertEquals(1L, results.get(0));
+        assertEquals((long) TrigramIndex.MAX_TERM_POSTINGS, results.get(results.size() - 1));
+    }
+
+    @Test
+    void testEditDistance() {
+        assertEquals(0, TrigramIndex.editDistance("iphone", "iphone"));
+        assertEquals(1, TrigramIndex.editDistance("iphnoe", "iphone"));
+        assertEquals(1, TrigramIndex.editDistance("macbok", "macbook"));
+        assertEquals(3, TrigramIndex.editDistance("", "abc"));
+    }
+
+    private Product product(Long id, String title, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setCategory(category);
+        product.setIsActive(true);
+        return product;
+    }
+}
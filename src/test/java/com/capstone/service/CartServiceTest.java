@@ -0,0 +1,145 @@
+package com.capstone.service;
+
+import com.capstone.cart.CartItem;
+import com.capstone.cart.CartProduct;
+import com.capstone.cart.InMemoryCartStore;
+import com.capstone.catalog.TrendingProducts;
+import com.capstone.repository.ProductRepository;
+import com.capstone.service.impl.CartServiceImpl;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cart Service Test - Tests the Application Layer
+ *
+ * Runs the cart service against a real in-memory cart store with a mocked
+ * product repository.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private HttpSession httpSession;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    private InMemoryCartStore cartStore;
+    private CartServiceImpl cartService;
+
+    @BeforeEach
+    void setUp() {
+        cartStore = new InMemoryCartStore();
+        cartService = new CartServiceImpl(cartStore, productRepository, httpSession, trendingProducts);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("john.doe@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAddItemSnapshotsPriceOnce() {
+        // Arrange
+        when(productRepository.findPriceById(1L)).thenReturn(Optional.of(new BigDecimal("19.99")));
+
+        // Act
+        cartService.addItem(1L, 1);
+        cartService.addItem(1L, 2);
+
+        // Assert
+        verify(productRepository, times(1)).findPriceById(1L);
+        verify(trendingProducts, times(2)).recordCartAdd(1L);
+        assertEquals(3, cartStore.get("john.doe@example.com").quantity(0));
+        assertEquals(new BigDecimal("59.97"), cartService.getSummary().getSubtotal());
+        assertEquals(1, cartService.getItemCount());
+    }
+
+    @Test
+    void testAddUnknownProductIsIgnored() {
+        // Arrange
+        when(productRepository.findPriceById(9L)).thenReturn(Optional.empty());
+
+        // Act
+        cartService.addItem(9L, 1);
+
+        // Assert
+        assertTrue(cartStore.get("john.doe@example.com").isEmpty());
+        verify(trendingProducts, never()).recordCartAdd(any());
+    }
+
+    @Test
+    void testGetItemsInOneQueryAndSkipsDeletedProducts() {
+        // Arrange
+        when(productRepository.findPriceById(any())).thenReturn(Optional.of(new BigDecimal("5.00")));
+        cartService.addItem(1L, 2);
+        cartService.addItem(2L, 1);
+        when(productRepository.findCartProductsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new CartProduct(1L, "Laptop", "/laptop.png", "Electronics")));
+
+        // Act
+        List<CartItem> items = cartService.getItems();
+
+        // Assert
+        assertEquals(1, items.size());
+        assertEquals("Laptop", items.get(0).getTitle());
+        assertEquals("Electronics", items.get(0).getCategoryName());
+        assertEquals(new BigDecimal("10.00"), items.get(0).getSubtotal());
+    }
+
+    @Test
+    void testUpdateRemoveAndClear() {
+        // Arrange
+        when(productRepository.findPriceById(any())).thenReturn(Optional.of(new BigDecimal("5.00")));
+        cartService.addItem(1L, 1);
+        cartService.addItem(2L, 1);
+
+        // Act
+        cartService.updateQuantity(1L, 0);
+        cartService.updateQuantity(2L, 4);
+        cartService.removeItem(1L);
+
+        // Assert
+        assertEquals(new BigDecimal("20.00"), cartService.getSummary().getSubtotal());
+        cartService.clear();
+        assertEquals(0, cartStore.size());
+        assertEquals(0, cartService.getSummary().getTotalCents());
+    }
+
+    @Test
+    void testAnonymousVisitorUsesSessionCart() {
+        // Arrange
+        SecurityContextHolder.clearContext();
+        when(httpSession.getId()).thenReturn("abc");
+        when(productRepository.findPriceById(1L)).thenReturn(Optional.of(new BigDecimal("5.00")));
+
+        // Act
+        cartService.addItem(1L, 1);
+
+        // Assert
+        assertEquals(1, cartStore.get("session:abc").size());
+    }
+}
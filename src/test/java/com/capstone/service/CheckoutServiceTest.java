@@ -0,0 +1,166 @@
+package com.capstone.service;
+
+import com.capstone.cart.CartItem;
+import com.capstone.cart.CartLines;
+import com.capstone.cart.CartProduct;
+import com.capstone.cart.CartSummary;
+import com.capstone.catalog.FrequentlyBoughtTogether;
+import com.capstone.catalog.TrendingProducts;
+import com.capstone.domain.Category;
+import com.capstone.domain.Order;
+import com.capstone.domain.Product;
+import com.capstone.domain.User;
+import com.capstone.inventory.InsufficientStockException;
+import com.capstone.inventory.ReservationExpiry;
+import com.capstone.inventory.StockReservationEngine;
+import com.capstone.search.SuggestionTrie;
+import com.capstone.service.impl.CheckoutServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checkout Service Test
+ *
+ * Tests that an order and all of its lines are written with a fixed number
+ * of statements, whatever the size of the cart.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CheckoutServiceImpl.class)
+class CheckoutServiceTest {
+
+    private static final int LINES = 50;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private CartService cartService;
+
+    @MockBean
+    private TrendingProducts trendingProducts;
+
+    @MockBean
+    private FrequentlyBoughtTogether frequentlyBoughtTogether;
+
+    @MockBean
+    private StockReservationEngine stockReservationEngine;
+
+    @MockBean
+    private ReservationExpiry reservationExpiry;
+
+    @MockBean
+    private SuggestionTrie suggestionTrie;
+
+    private final List<CartItem> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User customer = new User();
+        customer.setEmail("customer@example.com");
+        customer.setPasswordHash("hashedpassword");
+        customer.setFirstName("Test");
+        customer.setLastName("Customer");
+        entityManager.persist(customer);
+
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setIsActive(true);
+        entityManager.persist(category);
+
+        long subtotalCents = 0;
+        for (int i = 1; i <= LINES; i++) {
+            Product product = new Product();
+            product.setTitle("Product " + i);
+            product.setPrice(new BigDecimal("10.00").add(BigDecimal.valueOf(i)));
+            product.setCategory(category);
+            product.setSeller(customer);
+            product.setIsActive(true);
+            entityManager.persist(product);
+            int quantity = i % 3 + 1;
+            items.add(new CartItem(new CartProduct(product.getId(), product.getTitle(), null, null),
+                    product.getPrice(), quantity));
+            subtotalCents += CartLines.toCents(product.getPrice()) * quantity;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        when(cartService.getItems()).thenReturn(items);
+        when(cartService.getSummary()).thenReturn(CartSummary.of(subtotalCents));
+    }
+
+    @Test
+    void testLargeOrderIsWrittenInAFewStatements() {
+        // Arrange
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Order order = checkoutService.createOrderFromCart("customer@example.com", "Test Customer",
+                "1 Main St", "Springfield", "IL", "62701", "USA");
+        entityManager.flush();
+
+        // Assert: customer and products lookups, two ID sequences and one batch insert per table
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "Statements: " + statistics.getPrepareStatementCount());
+        assertEquals(LINES + 1, statistics.getEntityInsertCount());
+        verify(stockReservationEngine).reserve(argThat(quantities -> quantities.size() == LINES));
+        verify(reservationExpiry).schedule(eq(order.getId()), notNull());
+        verify(cartService).clear();
+
+        entityManager.clear();
+        Order saved = entityManager.find(Order.class, order.getId());
+        assertEquals(LINES, saved.getOrderItems().size());
+        assertEquals(cartService.getSummary().getTotal(), saved.getTotalAmount());
+    }
+
+    @Test
+    void testOutOfStockCartPlacesNoOrder() {
+        // Arrange
+        doThrow(new InsufficientStockException(List.of(items.get(0).getId())))
+                .when(stockReservationEngine).reserve(anyMap());
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> checkoutService.createOrderFromCart(
+                "customer@example.com", "Test Customer", "1 Main St", "Springfield", "IL", "62701", "USA"));
+        entityManager.flush();
+        assertEquals(0L, entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(o) FROM Order o", Long.class).getSingleResult());
+        verify(cartService, never()).clear();
+    }
+
+    @Test
+    void testMissingProductFailsTheCheckout() {
+        // Arrange
+        items.add(new CartItem(new CartProduct(999_999L, "Gone", null, null), BigDecimal.ONE, 1));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> checkoutService.createOrderFromCart(
+                "customer@example.com", "Test Customer", "1 Main St", "Springfield", "IL", "62701", "USA"));
+        verify(cartService, never()).clear();
+    }
+}
@@ -0,0 +1,184 @@
+package com.capstone.service;
+
+import com.capstone.domain.Order;
+import com.capstone.domain.OrderItem;
+import com.capstone.domain.Product;
+import com.capstone.inventory.ReservationExpiry;
+import com.capstone.inventory.StockReservationEngine;
+import com.capstone.repository.OrderItemRepository;
+import com.capstone.repository.OrderRepository;
+import com.capstone.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Order Service Test - Tests the Application Layer
+ *
+ * Tests that status changes, cancellations and line changes keep the stock
+ * held by an order in step with its lines.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private StockReservationEngine stockReservationEngine;
+
+    @Mock
+    private ReservationExpiry reservationExpiry;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        order.setId(1L);
+        order.getOrderItems().add(item(10L, 1L, 2));
+        order.getOrderItems().add(item(11L, 2L, 1));
+        lenient().when(orderRepository.findForUpdateById(1L)).thenReturn(Optional.of(order));
+        lenient().when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testCancelPendingOrderReleasesItsReservation() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.PENDING);
+
+        // Act
+        Order cancelled = orderService.cancelOrder(1L);
+
+        // Assert
+        assertEquals(Order.OrderStatus.CANCELLED, cancelled.getOrderStatus());
+        verify(reservationExpiry).cancel(1L);
+        verify(stockReservationEngine).release(Map.of(1L, 2, 2L, 1));
+        verify(stockReservationEngine, never()).restock(anyMap());
+    }
+
+    @Test
+    void testCancelConfirmedOrderRestocksItsUnits() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.CONFIRMED);
+
+        // Act
+        orderService.cancelOrder(1L);
+
+        // Assert
+        verify(stockReservationEngine).restock(Map.of(1L, 2, 2L, 1));
+        verify(stockReservationEngine, never()).release(anyMap());
+    }
+
+    @Test
+    void testStatusChangeToCancelledRestocksAShippedOrder() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.SHIPPED);
+
+        // Act
+        orderService.updateOrderStatus(1L, Order.OrderStatus.CANCELLED);
+
+        // Assert
+        verify(stockReservationEngine).restock(Map.of(1L, 2, 2L, 1));
+    }
+
+    @Test
+    void testCancelDeliveredOrderLeavesStockAlone() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.DELIVERED);
+
+        // Act
+        orderService.cancelOrder(1L);
+
+        // Assert
+        verifyNoInteractions(stockReservationEngine);
+    }
+
+    @Test
+    void testAddLineToPendingOrderReservesIt() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.PENDING);
+
+        // Act
+        Order updated = orderService.addOrderItem(1L, item(null, 3L, 4));
+
+        // Assert
+        assertEquals(3, updated.getOrderItems().size());
+        verify(stockReservationEngine).reserve(Map.of(3L, 4));
+        verify(stockReservationEngine, never()).consume(anyMap());
+    }
+
+    @Test
+    void testAddLineToConfirmedOrderTakesItOutOfStock() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.CONFIRMED);
+
+        // Act
+        orderService.addOrderItem(1L, item(null, 3L, 4));
+
+        // Assert
+        verify(stockReservationEngine).reserve(Map.of(3L, 4));
+        verify(stockReservationEngine).consume(Map.of(3L, 4));
+    }
+
+    @Test
+    void testAddLineWithoutQuantityIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.addOrderItem(1L, item(null, 3L, 0)));
+        verifyNoInteractions(stockReservationEngine);
+    }
+
+    @Test
+    void testRemoveLineFromPendingOrderReleasesIt() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.PENDING);
+
+        // Act
+        Order updated = orderService.removeOrderItem(1L, 10L);
+
+        // Assert
+        assertEquals(1, updated.getOrderItems().size());
+        verify(stockReservationEngine).release(Map.of(1L, 2));
+    }
+
+    @Test
+    void testRemoveLineFromConfirmedOrderRestocksIt() {
+        // Arrange
+        order.setOrderStatus(Order.OrderStatus.CONFIRMED);
+
+        // Act
+        orderService.removeOrderItem(1L, 11L);
+
+        // Assert
+        verify(stockReservationEngine).restock(Map.of(2L, 1));
+    }
+
+    private static OrderItem item(Long id, Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        OrderItem item = new OrderItem(quantity, new BigDecimal("9.99"), product);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,273 @@
+package com.capstone.service;
+
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.catalog.FacetIndex;
+import com.capstone.catalog.FrequentlyBoughtTogether;
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductDetailView;
+import com.capstone.catalog.ProductIndexUpdater;
+import com.capstone.catalog.ProductRankings;
+import com.capstone.catalog.TrendingProducts;
+import com.capstone.catalog.ViewCountBuffer;
+import com.capstone.config.CacheConfig;
+import com.capstone.domain.Category;
+import com.capstone.domain.Product;
+import com.capstone.domain.User;
+import com.capstone.inventory.StockReservationEngine;
+import com.capstone.repository.CategoryClosureRepository;
+import com.capstone.repository.CategoryRepository;
+import com.capstone.repository.ProductRepository;
+import com.capstone.review.ReviewSummary;
+import com.capstone.search.ProductSearchIndex;
+import com.capstone.search.SimilarProducts;
+import com.capstone.search.SuggestionTrie;
+import com.capstone.search.TrigramIndex;
+import com.capstone.service.impl.CategoryServiceImpl;
+import com.capstone.service.impl.ProductServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Product Cache Test - Tests caching and eviction of the Application Layer
+ *
+ * Runs the real services behind the cache proxies with mocked repositories,
+ * so the repository call count shows whether a lookup hit the cache.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@SpringJUnitConfig(ProductCacheTest.Config.class)
+class ProductCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, ProductServiceImpl.class, CategoryServiceImpl.class})
+    static class Config {
+    }
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private CategoryClosureRepository closureRepository;
+
+    @MockBean
+    private ProductSearchIndex searchIndex;
+
+    @MockBean
+    private TrigramIndex trigramIndex;
+
+    @MockBean
+    private SuggestionTrie suggestionTrie;
+
+    @MockBean
+    private FacetIndex facetIndex;
+
+    @MockBean
+    private ProductRankings rankings;
+
+    @MockBean
+    private CategoryTreeIndex categoryTreeIndex;
+
+    @MockBean
+    private ProductIndexUpdater indexUpdater;
+
+    @MockBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockBean
+    private TrendingProducts trendingProducts;
+
+    @MockBean
+    private FrequentlyBoughtTogether frequentlyBoughtTogether;
+
+    @MockBean
+    private SimilarProducts similarProducts;
+
+    @MockBean
+    private ReviewService reviewService;
+
+    @MockBean
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        product = new Product();
+        product.setId(1L);
+        product.setTitle("Test Product");
+        product.setDescription("Test Description");
+        product.setPrice(new BigDecimal("99.99"));
+        product.setStockQuantity(10);
+        product.setIsActive(true);
+        product.setIsFeatured(false);
+        when(productRepository.findDetailView(1L)).thenReturn(Optional.of(detailView(1L)));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testProductDetailsServedFromCache() {
+        // Act
+        ProductDetailView first = productService.getProductDetails(1L);
+        ProductDetailView second = productService.getProductDetails(1L);
+
+        // Assert
+        assertSame(first, second);
+        verify(productRepository, times(1)).findDetailView(1L);
+    }
+
+    @Test
+    void testProductDetailsShowLiveStock() {
+        // Arrange: the cached view says 10 units, then the last ones are sold
+        when(stockReservationEngine.available(1L)).thenReturn(OptionalInt.of(3), OptionalInt.of(0));
+
+        // Act
+        ProductDetailView first = productService.getProductDetails(1L);
+        ProductDetailView second = productService.getProductDetails(1L);
+
+        // Assert
+        assertEquals(3, first.stockQuantity());
+        assertEquals(0, second.stockQuantity());
+        assertFalse(second.inStock());
+        assertEquals("Test Product", second.title());
+        verify(productRepository, times(1)).findDetailView(1L);
+    }
+
+    @Test
+    void testProductCardsLoadOnlyMissesInOneQuery() {
+        // Arrange
+        ProductCard first = new ProductCard(1L, "First", new BigDecimal("1.00"), null, null, null, 1);
+        ProductCard second = new ProductCard(2L, "Second", new BigDecimal("2.00"), null, null, null, 1);
+        when(productRepository.findCardsByIdIn(List.of(1L))).thenReturn(List.of(first));
+        when(productRepository.findCardsByIdIn(List.of(2L, 3L))).thenReturn(List.of(second));
+        productService.getProductCards(List.of(1L));
+
+        // Act
+        List<ProductCard> cards = productService.getProductCards(List.of(2L, 1L, 3L));
+
+        // Assert
+        assertEquals(List.of(second, first), cards);
+        verify(productRepository, times(1)).findCardsByIdIn(List.of(1L));
+        verify(productRepository, times(1)).findCardsByIdIn(List.of(2L, 3L));
+    }
+
+    @Test
+    void testMissingProductIsNotCached() {
+        // Arrange
+        when(productRepository.findDetailView(2L)).thenReturn(Optional.empty());
+
+        // Act
+        productService.getProductDetails(2L);
+        productService.getProductDetails(2L);
+
+        // Assert
+        verify(productRepository, times(2)).findDetailView(2L);
+    }
+
+    @Test
+    void testUpdateProductEvictsProduct() {
+        // Arrange
+        productService.getProductDetails(1L);
+        Product changes = newProduct("Updated Product");
+
+        // Act
+        productService.updateProduct(1L, changes);
+        productService.getProductDetails(1L);
+
+        // Assert
+        verify(productRepository, times(2)).findDetailView(1L);
+    }
+
+    @Test
+    void testViewCountDoesNotEvictProduct() {
+        // Arrange
+        productService.getProductDetails(1L);
+
+        // Act
+        productService.incrementViewCount(1L);
+        productService.getProductDetails(1L);
+
+        // Assert
+        verify(productRepository, times(1)).findDetailView(1L);
+    }
+
+    @Test
+    void testCreateProductEvictsFeaturedProducts() {
+        // Arrange
+        when(rankings.featured(anyInt())).thenReturn(List.of(1L));
+        productService.getFeaturedProducts();
+        productService.getFeaturedProducts();
+        verify(rankings, times(1)).featured(anyInt());
+        Product newProduct = newProduct("New Product");
+
+        // Act
+        productService.createProduct(newProduct);
+        productService.getFeaturedProducts();
+
+        // Assert
+        verify(rankings, times(2)).featured(anyInt());
+    }
+
+    @Test
+    void testCategoryListingsAreNotCached() {
+        // Arrange: listings return entities, which must not be shared between callers
+        Category category = new Category();
+        category.setId(5L);
+        category.setName("Books");
+        when(categoryRepository.findActiveCategories()).thenReturn(List.of(category));
+
+        // Act
+        categoryService.getActiveCategories();
+        categoryService.getActiveCategories();
+
+        // Assert
+        verify(categoryRepository, times(2)).findActiveCategories();
+    }
+
+    private static ProductDetailView detailView(Long id) {
+        return new ProductDetailView(id, "Test Product", "Test Description", new BigDecimal("99.99"), null, null,
+                List.of(), 10, false, 1L, "Test Seller", 0, null, ReviewSummary.of(null, 0, new int[5]));
+    }
+
+    private static Product newProduct(String title) {
+        Product newProduct = new Product();
+        newProduct.setTitle(title);
+        newProduct.setPrice(new BigDecimal("9.99"));
+        newProduct.setStockQuantity(5);
+        newProduct.setCategory(new Category());
+        newProduct.setSeller(new User());
+        return newProduct;
+    }
+}
@@ -1,22 +1,45 @@
 package com.capstone.service;
 
+import com.capstone.catalog.CatalogCursor;
+import com.capstone.catalog.CatalogPage;
+import com.capstone.catalog.CatalogSearchResult;
+import com.capstone.catalog.CategoryTree;
+import com.capstone.catalog.CategoryTreeIndex;
+import com.capstone.catalog.FacetCounts;
+import com.capstone.catalog.FacetFilter;
+import com.capstone.catalog.FacetIndex;
+import com.capstone.catalog.ProductCard;
+import com.capstone.catalog.ProductIndexUpdater;
+import com.capstone.catalog.ProductRankings;
+import com.capstone.catalog.ProductSort;
+import com.capstone.catalog.FrequentlyBoughtTogether;
+import com.capstone.catalog.TrendingProducts;
+import com.capstone.catalog.ViewCountBuffer;
 import com.capstone.domain.Product;
 import com.capstone.domain.Category;
 import com.capstone.domain.User;
 import com.capstone.repository.ProductRepository;
 import com.capstone.repository.CategoryRepository;
+import com.capstone.search.ProductSearchIndex;
+import com.capstone.search.SimilarProducts;
+import com.capstone.search.Suggestion;
+import com.capstone.search.SuggestionTrie;
+import com.capstone.search.TrigramIndex;
 import com.capstone.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.springframework.cache.CacheManager;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +62,45 @@ class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private SuggestionTrie suggestionTrie;
+
+    @Mock
+    private FacetIndex facetIndex;
+
+    @Mock
+    private ProductRankings rankings;
+
+    @Mock
+    private CategoryTreeIndex categoryTreeIndex;
+
+    @Mock
+    private ProductIndexUpdater indexUpdater;
+
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private FrequentlyBoughtTogether frequentlyBoughtTogether;
+
+    @Mock
+    private SimilarProducts similarProducts;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ReviewService reviewService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -51,6 +113,7 @@ class ProductServiceTest {
         // Create test category
         testCategory = new Category();
         testCategory.setId(1L);
+        lenient().when(categoryTreeIndex.current()).thenReturn(CategoryTree.EMPTY);
         testCategory.setName("Electronics");
         testCategory.setDescription("Electronic devices and gadgets");
 
@@ -91,17 +154,66 @@ class ProductServiceTest {
     @Test
     void testGetFeaturedProducts() {
         // Arrange
-        List<Product> expectedProducts = Arrays.asList(testProduct);
-        when(productRepository.findFeaturedProducts()).thenReturn(expectedProducts);
+        when(rankings.featured(anyInt())).thenReturn(List.of(testProduct.getId()));
+        when(productRepository.findCardsByIdIn(List.of(testProduct.getId()))).thenReturn(List.of(card(testProduct)));
 
         // Act
-        List<Product> actualProducts = productService.getFeaturedProducts();
+        List<ProductCard> actualProducts = productService.getFeaturedProducts();
 
         // Assert
         assertNotNull(actualProducts);
         assertEquals(1, actualProducts.size());
-        assertEquals(testProduct.getTitle(), actualProducts.get(0).getTitle());
-        verify(productRepository, times(1)).findFeaturedProducts();
+        assertEquals(testProduct.getTitle(), actualProducts.get(0).title());
+        verify(productRepository, never()).findFeaturedProducts();
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetTrendingProducts() {
+        // Arrange
+        Product other = new Product();
+        other.setId(2L);
+        other.setTitle("Other Product");
+        other.setPrice(new BigDecimal("5.00"));
+        when(trendingProducts.top(anyInt())).thenReturn(List.of(2L, testProduct.getId()));
+        when(productRepository.findCardsByIdIn(List.of(2L, testProduct.getId())))
+            .thenReturn(List.of(card(testProduct), card(other)));
+
+        // Act
+        List<ProductCard> actualProducts = productService.getTrendingProducts();
+
+        // Assert
+        assertEquals(List.of(2L, testProduct.getId()), actualProducts.stream().map(ProductCard::id).toList());
+    }
+
+    @Test
+    void testGetFrequentlyBoughtTogetherForCart() {
+        // Arrange
+        Product other = new Product();
+        other.setId(2L);
+        other.setTitle("Other Product");
+        other.setPrice(new BigDecimal("5.00"));
+        when(frequentlyBoughtTogether.alsoBought(eq(List.of(3L, 4L)), anyInt())).thenReturn(List.of(2L, testProduct.getId()));
+        when(productRepository.findCardsByIdIn(List.of(2L, testProduct.getId())))
+            .thenReturn(List.of(card(testProduct), card(other)));
+
+        // Act
+        List<ProductCard> actualProducts = productService.getFrequentlyBoughtTogether(List.of(3L, 4L));
+
+        // Assert
+        assertEquals(List.of(2L, testProduct.getId()), actualProducts.stream().map(ProductCard::id).toList());
+    }
+
+    @Test
+    void testGetFeaturedProductsFallsBackToNewest() {
+        // Arrange
+        when(rankings.featured(anyInt())).thenReturn(List.of());
+        when(rankings.page(isNull(), eq(ProductSort.NEWEST), isNull(), anyInt()))
+            .thenReturn(new ProductRankings.Slice(List.of(testProduct.getId()), null, 1));
+        when(productRepository.findCardsByIdIn(List.of(testProduct.getId()))).thenReturn(List.of(card(testProduct)));
+
+        // Act & Assert
+        assertEquals(List.of(card(testProduct)), productService.getFeaturedProducts());
     }
 
     @Test
@@ -109,7 +221,7 @@ class ProductServiceTest {
         // Arrange
         Long categoryId = 1L;
         List<Product> expectedProducts = Arrays.asList(testProduct);
-        when(productRepository.findByCategoryId(categoryId)).thenReturn(expectedProducts);
+        when(productRepository.findByCategorySubtree(categoryId)).thenReturn(expectedProducts);
 
         // Act
         List<Product> actualProducts = productService.getProductsByCategory(categoryId);
@@ -118,7 +230,7 @@ class ProductServiceTest {
         assertNotNull(actualProducts);
         assertEquals(1, actualProducts.size());
         assertEquals(testProduct.getTitle(), actualProducts.get(0).getTitle());
-        verify(productRepository, times(1)).findByCategoryId(categoryId);
+        verify(productRepository, times(1)).findByCategorySubtree(categoryId);
     }
 
     @Test
@@ -126,7 +238,8 @@ class ProductServiceTest {
         // Arrange
         String query = "test";
         List<Product> expectedProducts = Arrays.asList(testProduct);
-        when(productRepository.searchByQuery(query))
+        when(searchIndex.search(eq(query), anyInt())).thenReturn(List.of(testProduct.getId()));
+        when(productRepository.findAllById(List.of(testProduct.getId())))
             .thenReturn(expectedProducts);
 
         // Act
@@ -136,15 +249,158 @@ class ProductServiceTest {
         assertNotNull(actualProducts);
         assertEquals(1, actualProducts.size());
         assertEquals(testProduct.getTitle(), actualProducts.get(0).getTitle());
-        verify(productRepository, times(1))
-            .searchByQuery(query);
+        verify(productRepository, never()).searchByQuery(anyString());
+        verify(trigramIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void testFuzzySearchProducts() {
+        // Arrange
+        String query = "tset";
+        when(trigramIndex.search(eq(query), anyInt())).thenReturn(List.of(testProduct.getId()));
+        when(productRepository.findAllById(List.of(testProduct.getId())))
+            .thenReturn(List.of(testProduct));
+
+        // Act
+        List<Product> actualProducts = productService.searchProducts(query, true);
+
+        // Assert
+        assertEquals(1, actualProducts.size());
+        verify(searchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void testBrowseCatalogFiltersSearchResults() {
+        // Arrange
+        FacetFilter filter = new FacetFilter(Set.of(1L), null, null, null, true, false);
+        List<Long> matches = List.of(testProduct.getId(), 2L);
+        when(searchIndex.search(eq("test"), anyInt())).thenReturn(matches);
+        when(facetIndex.page(matches, filter, ProductSort.RELEVANCE, null, CatalogPage.DEFAULT_SIZE))
+            .thenReturn(new FacetIndex.Result(List.of(testProduct.getId()), FacetCounts.EMPTY, 1, null));
+        when(productRepository.findCardsByIdIn(List.of(testProduct.getId()))).thenReturn(List.of(card(testProduct)));
+
+        // Act
+        CatalogSearchResult result = productService.browseCatalog(" test ", false, filter, null, null, null);
+
+        // Assert
+        assertEquals(List.of(card(testProduct)), result.products());
+        assertSame(FacetCounts.EMPTY, result.facets());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void testBrowseCatalogWithoutQueryFiltersWholeCatalog() {
+        // Arrange
+        FacetFilter filter = new FacetFilter(Set.of(), null, null, 4, false, false);
+        CatalogCursor after = new CatalogCursor(1999, 7);
+        when(facetIndex.page(null, filter, ProductSort.PRICE_LOW, after, CatalogPage.MAX_SIZE))
+            .thenReturn(new FacetIndex.Result(List.of(), FacetCounts.EMPTY, 0, null));
+
+        // Act
+        CatalogSearchResult result = productService.browseCatalog(null, false, filter,
+            ProductSort.PRICE_LOW, after.encode(), 1000);
+
+        // Assert
+        assertTrue(result.products().isEmpty());
+        verifyNoInteractions(searchIndex, trigramIndex, productRepository, rankings);
+    }
+
+    @Test
+    void testBrowseCategoryReadsPreSortedRanking() {
+        // Arrange
+        FacetFilter filter = new FacetFilter(Set.of(1L), null, null, null, false, false);
+        CatalogCursor next = new CatalogCursor(9999, testProduct.getId());
+        when(rankings.page(1L, ProductSort.PRICE_LOW, null, CatalogPage.DEFAULT_SIZE))
+            .thenReturn(new ProductRankings.Slice(List.of(testProduct.getId()), next, 40));
+        when(facetIndex.counts(null, filter)).thenReturn(FacetCounts.EMPTY);
+        when(productRepository.findCardsByIdIn(List.of(testProduct.getId()))).thenReturn(List.of(card(testProduct)));
+
+        // Act
+        CatalogSearchResult result = productService.browseCatalog(null, false, filter, ProductSort.PRICE_LOW, null, null);
+
+        // Assert
+        assertEquals(List.of(card(testProduct)), result.products());
+        assertEquals(40, result.totalCount());
+        assertEquals(next.encode(), result.nextCursor());
+        verify(facetIndex, never()).page(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testBrowseParentCategoryCoversSubcategories() {
+        // Arrange - category 1 has subcategories 4 and 5
+        Category smartphones = new Category("Smartphones", "", testCategory);
+        smartphones.setId(4L);
+        Category laptops = new Category("Laptops", "", testCategory);
+        laptops.setId(5L);
+        when(categoryTreeIndex.current()).thenReturn(
+            CategoryTree.of(List.of(testCategory, smartphones, laptops), Map.of()));
+        FacetFilter subtree = new FacetFilter(Set.of(1L, 4L, 5L), null, null, null, false, false);
+        FacetCounts leafCounts = new FacetCounts(Map.of(4L, 2, 5L, 3), Map.of(),
+            Map.of(), 5, 0);
+        when(facetIndex.page(null, subtree, ProductSort.NEWEST, null, CatalogPage.DEFAULT_SIZE))
+            .thenReturn(new FacetIndex.Result(List.of(), leafCounts, 5, null));
+
+        // Act
+        CatalogSearchResult result = productService.browseCatalog(null, false,
+            new FacetFilter(Set.of(1L), null, null, null, false, false), ProductSort.NEWEST, null, null);
+
+        // Assert - the parent shows the products of its whole subtree
+        assertEquals(5, result.facets().categoryCount(1L));
+        assertEquals(3, result.facets().categoryCount(5L));
+        verifyNoInteractions(rankings);
+    }
+
+    @Test
+    void testInvalidCursorStartsAtFirstPage() {
+        // Arrange
+        FacetFilter filter = new FacetFilter(Set.of(1L), null, null, null, false, false);
+        when(rankings.page(1L, ProductSort.NEWEST, null, CatalogPage.DEFAULT_SIZE))
+            .thenReturn(new ProductRankings.Slice(List.of(testProduct.getId()), null, 1));
+        when(facetIndex.counts(null, filter)).thenReturn(FacetCounts.EMPTY);
+        when(productRepository.findCardsByIdIn(List.of(testProduct.getId()))).thenReturn(List.of(card(testProduct)));
+
+        // Act
+        CatalogSearchResult result = productService.browseCatalog(null, false, filter, ProductSort.NEWEST,
+            "not a cursor", null);
+
+        // Assert
+        assertEquals(List.of(card(testProduct)), result.products());
+    }
+
+    @Test
+    void testGetSearchSuggestions() {
+        // Arrange
+        List<Suggestion> suggestions = List.of(
+            new Suggestion("Test Product", Suggestion.Type.PRODUCT, testProduct.getId(), 5));
+        when(suggestionTrie.suggest("te", 8)).thenReturn(suggestions);
+
+        // Act & Assert
+        assertEquals(suggestions, productService.getSearchSuggestions("te", 8));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void testSearchFallsBackToFuzzyWhenNothingMatches() {
+        // Arrange
+        String query = "tset";
+        when(searchIndex.search(eq(query), anyInt())).thenReturn(List.of());
+        when(trigramIndex.search(eq(query), anyInt())).thenReturn(List.of(testProduct.getId()));
+        when(productRepository.findAllById(List.of(testProduct.getId())))
+            .thenReturn(List.of(testProduct));
+
+        // Act
+        List<Product> actualProducts = productService.searchProducts(query);
+
+        // Assert
+        assertEquals(1, actualProducts.size());
+        assertEquals(testProduct.getTitle(), actualProducts.get(0).getTitle());
     }
 
     @Test
     void testGetProductById() {
         // Arrange
         Long productId = 1L;
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findDetailsById(productId)).thenReturn(Optional.of(testProduct));
 
         // Act
         Product actualProduct = productService.getProductById(productId);
@@ -152,21 +408,21 @@ class ProductServiceTest {
         // Assert
         assertNotNull(actualProduct);
         assertEquals(testProduct.getTitle(), actualProduct.getTitle());
-        verify(productRepository, times(1)).findById(productId);
+        verify(productRepository, times(1)).findDetailsById(productId);
     }
 
     @Test
     void testGetProductByIdNotFound() {
         // Arrange
         Long productId = 999L;
-        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        when(productRepository.findDetailsById(productId)).thenReturn(Optional.empty());
 
         // Act
         Product actualProduct = productService.getProductById(productId);
 
         // Assert
         assertNull(actualProduct);
-        verify(productRepository, times(1)).findById(productId);
+        verify(productRepository, times(1)).findDetailsById(productId);
     }
 
     @Test
@@ -181,6 +437,7 @@ class ProductServiceTest {
         assertNotNull(actualProduct);
         assertEquals(testProduct.getTitle(), actualProduct.getTitle());
         verify(productRepository, times(1)).save(testProduct);
+        verify(indexUpdater, times(1)).productChanged(testProduct);
     }
 
     @Test
@@ -234,9 +491,31 @@ class ProductServiceTest {
         // Assert
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).save(testProduct);
+        verify(indexUpdater, times(1)).productRemoved(productId);
         assertFalse(testProduct.getIsActive());
     }
 
+    @Test
+    void testIncrementViewCountIsBuffered() {
+        // Act
+        productService.incrementViewCount(1L);
+
+        // Assert
+        verify(viewCountBuffer, times(1)).record(1L);
+        verify(trendingProducts, times(1)).recordView(1L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void testUpdateAverageRatingRecountsReviews() {
+        // Act
+        productService.updateAverageRating(1L);
+
+        // Assert
+        verify(reviewService, times(1)).recountRatings(1L);
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void testGetProductsByPriceRange() {
         // Arrange
@@ -270,4 +549,9 @@ class ProductServiceTest {
         assertEquals(testProduct.getTitle(), actualProducts.get(0).getTitle());
         verify(productRepository, times(1)).findActiveProducts();
     }
+
+    private static ProductCard card(Product product) {
+        return new ProductCard(product.getId(), product.getTitle(), product.getPrice(), product.getOriginalPrice(),
+            product.getImageUrl(), product.getAverageRating(), product.getStockQuantity());
+    }
 }
@@ -0,0 +1,293 @@
+package com.capstone.service;
+
+import com.capstone.catalog.CatalogCursor;
+import com.capstone.catalog.CatalogPage;
+import com.capstone.catalog.ProductIndexUpdater;
+import com.capstone.config.CacheConfig;
+import com.capstone.domain.Product;
+import com.capstone.domain.Review;
+import com.capstone.domain.User;
+import com.capstone.repository.ProductRepository;
+import com.capstone.repository.ReviewRepository;
+import com.capstone.repository.UserRepository;
+import com.capstone.review.ReviewSort;
+import com.capstone.review.ReviewView;
+import com.capstone.service.impl.ReviewServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Review Service Test - Tests the Application Layer
+ *
+ * Tests that adding, editing, approving and deleting reviews adjusts the
+ * product's rating aggregates without loading its reviews, and that the
+ * repair job fixes drifted aggregates.
+ *
+ * @author Capstone Student
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductIndexUpdater indexUpdater;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setId(1L);
+        product.setTitle("Test Product");
+        product.addRating(5);
+        product.addRating(3);
+    }
+
+    @Test
+    void testAddReviewUpdatesAggregates() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // Act
+        Review saved = reviewService.addReview(1L, 2L, newReview(1));
+
+        // Assert
+        assertSame(product, saved.getProduct());
+        assertSame(user, saved.getUser());
+        assertEquals(3, product.getReviewCount());
+        assertEquals(9L, product.getRatingSum());
+        assertEquals(new BigDecimal("3.00"), product.getAverageRating());
+        assertArrayEquals(new int[] {1, 0, 1, 0, 1}, product.getRatingHistogram());
+        assertTrue(product.getReviews().isEmpty());
+        verify(indexUpdater, times(1)).productChanged(product);
+        verify(cacheManager).getCache(CacheConfig.FEATURED_PRODUCTS);
+        verify(cache, times(2)).evict(1L);
+        verify(cache).clear();
+    }
+
+    @Test
+    void testAddReviewWithInvalidRating() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reviewService.addReview(1L, 2L, newReview(6)));
+        verifyNoInteractions(productRepository, reviewRepository);
+    }
+
+    @Test
+    void testUpdateReviewMovesRating() {
+        // Arrange
+        Review review = existingReview(3, true);
+        when(reviewRepository.findById(10L)).thenReturn(Optional.of(review));
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+        when(reviewRepository.save(review)).thenReturn(review);
+
+        // Act
+        reviewService.updateReview(10L, newReview(4));
+
+        // Assert
+        assertEquals(2, product.getReviewCount());
+        assertEquals(new BigDecimal("4.50"), product.getAverageRating());
+        assertArrayEquals(new int[] {0, 0, 0, 1, 1}, product.getRatingHistogram());
+    }
+
+    @Test
+    void testRejectAndApproveReview() {
+        // Arrange
+        Review review = existingReview(3, true);
+        when(reviewRepository.findById(10L)).thenReturn(Optional.of(review));
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+        when(reviewRepository.save(review)).thenReturn(review);
+
+        // Act & Assert
+        reviewService.setApproved(10L, false);
+        assertEquals(1, product.getReviewCount());
+        assertEquals(new BigDecimal("5.00"), product.getAverageRating());
+
+        reviewService.setApproved(10L, true);
+        assertEquals(2, product.getReviewCount());
+        assertEquals(new BigDecimal("4.00"), product.getAverageRating());
+    }
+
+    @Test
+    void testDeleteUnapprovedReviewKeepsAggregates() {
+        // Arrange
+        Review review = existingReview(1, false);
+        when(reviewRepository.findById(10L)).thenReturn(Optional.of(review));
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        reviewService.deleteReview(10L);
+
+        // Assert
+        verify(reviewRepository, times(1)).delete(review);
+        assertEquals(2, product.getReviewCount());
+        assertEquals(8L, product.getRatingSum());
+    }
+
+    @Test
+    void testDeleteReviewRemovesRating() {
+        // Arrange
+        Review review = existingReview(5, true);
+        when(reviewRepository.findById(10L)).thenReturn(Optional.of(review));
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        reviewService.deleteReview(10L);
+
+        // Assert
+        assertEquals(1, product.getReviewCount());
+        assertEquals(new BigDecimal("3.00"), product.getAverageRating());
+    }
+
+    @Test
+    void testRecountRatingsRepairsDrift() {
+        // Arrange
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(product));
+        when(reviewRepository.countApprovedByRating(1L)).thenReturn(List.of(
+                new Object[] {5, 2L}, new Object[] {3, 1L}));
+
+        // Act
+        boolean repaired = reviewService.recountRatings(1L);
+
+        // Assert
+        assertTrue(repaired);
+        assertEquals(3, product.getReviewCount());
+        assertEquals(13L, product.getRatingSum());
+        assertEquals(new BigDecimal("4.33"), product.getAverageRating());
+        verify(productRepository, times(1)).save(product);
+    }
+
+    @Test
+    void testRepairSkipsProductsInStep() {
+        // Arrange
+        Product unreviewed = new Product();
+        unreviewed.setId(2L);
+        when(reviewRepository.countApprovedByProductAndRating()).thenReturn(List.of(
+                new Object[] {1L, 5, 1L}, new Object[] {1L, 3, 1L}));
+        when(productRepository.findAll()).thenReturn(List.of(product, unreviewed));
+
+        // Act
+        int repaired = reviewService.repairRatingAggregates();
+
+        // Assert
+        assertEquals(0, repaired);
+        verify(productRepository, never()).findForUpdateById(any());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void testFirstReviewPageHasNextCursor() {
+        // Arrange
+        when(reviewRepository.findMostHelpfulViews(1L, Integer.MAX_VALUE, Long.MAX_VALUE, PageRequest.of(0, 6)))
+                .thenReturn(views(6));
+
+        // Act
+        CatalogPage<ReviewView> page = reviewService.getReviews(1L, ReviewSort.HELPFUL, null, null);
+
+        // Assert
+        assertEquals(5, page.items().size());
+        assertTrue(page.hasNext());
+        CatalogCursor next = CatalogCursor.decode(page.nextCursor());
+        assertEquals(15, next.key());
+        assertEquals(5L, next.id());
+    }
+
+    @Test
+    void testLastReviewPageContinuesAfterCursor() {
+        // Arrange
+        String cursor = new CatalogCursor(3, 40).encode();
+        when(reviewRepository.findLowestRatedViews(1L, 3, 40L, PageRequest.of(0, 6))).thenReturn(views(2));
+
+        // Act
+        CatalogPage<ReviewView> page = reviewService.getReviews(1L, ReviewSort.RATING_LOW, cursor, null);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testReviewPageSizeIsCapped() {
+        // Arrange
+        when(reviewRepository.findNewestViews(eq(1L), eq(Long.MAX_VALUE), any())).thenReturn(List.of());
+
+        // Act
+        reviewService.getReviews(1L, ReviewSort.NEWEST, null, 10_000);
+
+        // Assert
+        verify(reviewRepository).findNewestViews(1L, Long.MAX_VALUE, PageRequest.of(0, 21));
+    }
+
+    @Test
+    void testInvalidReviewCursorStartsAtFirstPage() {
+        // Arrange
+        when(reviewRepository.findNewestViews(1L, Long.MAX_VALUE, PageRequest.of(0, 6))).thenReturn(views(2));
+
+        // Act
+        CatalogPage<ReviewView> page = reviewService.getReviews(1L, ReviewSort.NEWEST, "not a cursor", null);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasNext());
+    }
+
+    // Helper methods
+    private static List<ReviewView> views(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new ReviewView(id, "Review", null, 4, (int) (20 - id), "Rita", null, false, null))
+                .toList();
+    }
+
+    private Review newReview(int rating) {
+        Review review = new Review();
+        review.setReviewTitle("Review");
+        review.setRating(rating);
+        return review;
+    }
+
+    private Review existingReview(int rating, boolean approved) {
+        Review review = newReview(rating);
+        review.setId(10L);
+        review.setIsApproved(approved);
+        review.setProduct(product);
+        return review;
+    }
+}